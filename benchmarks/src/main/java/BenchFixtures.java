@@ -0,0 +1,302 @@
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+
+/**
+ * Przygotowuje obiekty gry dla testów wydajności JMH.
+ * <p>
+ * Klasy gry leżą w pakiecie domyślnym, a JMH wymaga, żeby testy były w nazwanym pakiecie
+ * ({@code ecojumper.bench}). Ta klasa – również w pakiecie domyślnym – buduje stan gry
+ * i zwraca operacje jako interfejsy JDK ({@link IntSupplier}, {@link BooleanSupplier}),
+ * które testy pobierają przez refleksję tylko raz, w fazie {@code @Setup}.
+ * </p>
+ */
+public final class BenchFixtures {
+
+    /** Najmniejsza pozycja X nieruchomych obiektów – z dala od gracza (x = 100..180). */
+    private static final int FIRST_X = 300;
+
+    /** Klasa narzędziowa – brak instancji. */
+    private BenchFixtures() {}
+
+    /**
+     * Tworzy świat z podaną liczbą nieruchomych obiektów (połowa przeszkód, połowa odpadów)
+     * rozłożonych między graczem a prawą krawędzią ekranu.
+     *
+     * @param entities liczba obiektów
+     * @return przygotowany świat
+     */
+    static GameWorld populatedWorld(int entities) {
+        GameWorld world = new GameWorld();
+        populate(world, entities);
+        return world;
+    }
+
+    /**
+     * Restartuje poziom i rozmieszcza obiekty.
+     *
+     * @param world świat
+     * @param entities liczba obiektów
+     */
+    private static void populate(GameWorld world, int entities) {
+        world.startLevel(1, 42);
+        Player p = world.getPlayer();
+        int groundBaseline = p.getGroundY() + p.getSize();
+        int span = world.getWidth() - 100 - FIRST_X;
+        for (int i = 0; i < entities; i++) {
+            int x = FIRST_X + (int) ((long) i * span / Math.max(1, entities));
+            if (i % 2 == 0) {
+                Obstacle o = (i % 4 == 0) ? new OilSpill(x, groundBaseline) : new Cloud(x, 500);
+                o.setSpeed(0);
+                world.addObstacle(o);
+            } else {
+                TrashItem t = new TrashItem(x, groundBaseline - 52, 48, 48, TrashType.values()[i % 3]);
+                t.setSpeed(0);
+                world.addTrash(t);
+            }
+        }
+    }
+
+    /** Odstęp między kolejnymi obiektami strumienia (piksele). */
+    private static final int STREAM_SPACING = 64;
+
+    /**
+     * Restartuje poziom i ustawia "strumień" obiektów poruszających się z prędkością świata,
+     * od {@link #FIRST_X} w prawo, daleko poza ekran (jak w trybie bez końca z dużą liczbą obiektów).
+     * Chmury wiszą nad stojącym graczem, a odpady leżą wyżej niż jego zasięg, więc strumień
+     * nie kończy poziomu – robią to tylko obiekty generowane przez samą grę.
+     *
+     * @param world świat
+     * @param entities liczba obiektów
+     */
+    private static void populateStream(GameWorld world, int entities) {
+        world.startLevel(1, 42);
+        int speed = world.getWorldSpeed();
+        for (int i = 0; i < entities; i++) {
+            int x = FIRST_X + i * STREAM_SPACING;
+            if (i % 2 == 0) {
+                Obstacle o = new Cloud(x, 500);
+                o.setSpeed(speed);
+                world.addObstacle(o);
+            } else {
+                TrashItem t = new TrashItem(x, 200, 48, 48, TrashType.values()[i % 3]);
+                t.setSpeed(speed);
+                world.addTrash(t);
+            }
+        }
+    }
+
+    /**
+     * Krok symulacji odpowiadający dawnemu {@code GamePanel.actionPerformed}, ze strumieniem
+     * obiektów przewijanych przez planszę. Gdy poziom się zakończy albo strumień przewinie się
+     * w całości, świat jest przygotowywany od nowa.
+     *
+     * @param entities liczba obiektów w strumieniu
+     * @return operacja wykonująca jeden krok; zwraca numer stanu poziomu
+     */
+    public static IntSupplier tick(int entities) {
+        GameWorld world = new GameWorld();
+        populateStream(world, entities);
+        int threshold = entities / 2;
+        return () -> {
+            GameWorld.Status status = world.step(GameInput.NONE);
+            if (status != GameWorld.Status.RUNNING
+                    || world.getObstacles().size() + world.getTrashItems().size() < threshold) {
+                populateStream(world, entities);
+            }
+            return status.ordinal();
+        };
+    }
+
+    /**
+     * Krok symulacji zwykłego poziomu (obiekty generowane przez grę, gracz stoi w miejscu)
+     * do sprawdzania alokacji ({@code AllocationCheck}). Po końcu poziomu jest on rozpoczynany od nowa.
+     *
+     * @param level numer poziomu
+     * @return operacja wykonująca jeden krok; zwraca 0 dla kroku bez nowych obiektów i bez końca
+     *         poziomu (taki krok nie powinien alokować), a 1 w przeciwnym razie
+     */
+    public static IntSupplier steadyTick(int level) {
+        GameWorld world = new GameWorld();
+        world.startLevel(level, 42);
+        return () -> {
+            long spawned = world.getSpawned();
+            GameWorld.Status status = world.step(GameInput.NONE);
+            if (status != GameWorld.Status.RUNNING) {
+                world.startLevel(level, 42);
+                return 1;
+            }
+            return world.getSpawned() != spawned ? 1 : 0;
+        };
+    }
+
+    /**
+     * Sprawdzenie kolizji gracza ze wszystkimi obiektami przez {@code getBounds()} i nowe {@link Rectangle}.
+     *
+     * @param entities liczba obiektów na planszy
+     * @return operacja zwracająca liczbę kolizji
+     */
+    public static IntSupplier boundsIntersections(int entities) {
+        GameWorld world = populatedWorld(entities);
+        Player player = world.getPlayer();
+        return () -> countWithRectangles(player, world.getObstacles())
+                + countWithRectangles(player, world.getTrashItems());
+    }
+
+    /**
+     * Sprawdzenie kolizji gracza ze wszystkimi obiektami na współrzędnych (bez tworzenia obiektów),
+     * liniowo – bez siatki.
+     *
+     * @param entities liczba obiektów na planszy
+     * @return operacja zwracająca liczbę kolizji
+     */
+    public static IntSupplier coordinateIntersections(int entities) {
+        GameWorld world = populatedWorld(entities);
+        Player player = world.getPlayer();
+        return () -> countIntersecting(player, world.getObstacles())
+                + countIntersecting(player, world.getTrashItems());
+    }
+
+    /**
+     * Liczy kolizje gracza z obiektami magazynu dawnym sposobem – przez nowe {@link Rectangle}.
+     *
+     * @param player gracz
+     * @param store magazyn obiektów
+     * @return liczba kolizji
+     */
+    private static int countWithRectangles(Player player, EntityStore store) {
+        int hits = 0;
+        for (int i = 0; i < store.size(); i++) {
+            Rectangle r = new Rectangle(store.x(i), store.y(i), store.width(i), store.height(i));
+            if (player.getBounds().intersects(r)) hits++;
+        }
+        return hits;
+    }
+
+    /**
+     * Sprawdzenie kolizji gracza ze wszystkimi obiektami przez siatkę magazynów,
+     * tak jak w {@code GameWorld.step}.
+     *
+     * @param entities liczba obiektów na planszy
+     * @return operacja zwracająca liczbę kolizji
+     */
+    public static IntSupplier gridIntersections(int entities) {
+        GameWorld world = populatedWorld(entities);
+        Player player = world.getPlayer();
+        int[] out = new int[Math.max(16, entities)];
+        return () -> {
+            int px = player.getX(), py = player.getY(), ps = player.getSize();
+            return world.getObstacles().collectIntersecting(px, py, ps, ps, out)
+                    + world.getTrashItems().collectIntersecting(px, py, ps, ps, out);
+        };
+    }
+
+    /**
+     * Liczy kolizje gracza z obiektami magazynu na współrzędnych (liniowo).
+     *
+     * @param player gracz
+     * @param store magazyn obiektów
+     * @return liczba kolizji
+     */
+    private static int countIntersecting(Player player, EntityStore store) {
+        int px = player.getX(), py = player.getY(), ps = player.getSize();
+        int hits = 0;
+        for (int i = store.findIntersecting(0, px, py, ps, ps); i >= 0;
+             i = store.findIntersecting(i + 1, px, py, ps, ps)) {
+            hits++;
+        }
+        return hits;
+    }
+
+    /**
+     * Sprawdzenie wolnego miejsca dla nowej przeszkody przy prawej krawędzi
+     * przez siatkę magazynów (obszar jest wolny, sprawdzane są obiekty z komórek przy krawędzi).
+     *
+     * @param entities liczba obiektów na planszy
+     * @return operacja zwracająca wynik {@code isAreaFree}
+     */
+    public static BooleanSupplier isAreaFree(int entities) {
+        GameWorld world = populatedWorld(entities);
+        int x = world.getWidth();
+        return () -> world.isAreaFree(x, 466, OilSpill.WIDTH, OilSpill.HEIGHT);
+    }
+
+    /**
+     * Sprawdzenie wolnego miejsca dla nowej przeszkody przy prawej krawędzi liniowo, bez siatki
+     * (najgorszy przypadek – obszar jest wolny, więc sprawdzane są wszystkie obiekty).
+     *
+     * @param entities liczba obiektów na planszy
+     * @return operacja zwracająca informację, czy obszar jest wolny
+     */
+    public static BooleanSupplier isAreaFreeLinear(int entities) {
+        GameWorld world = populatedWorld(entities);
+        int x = world.getWidth();
+        return () -> world.getObstacles().findIntersecting(0, x, 466, OilSpill.WIDTH, OilSpill.HEIGHT) < 0
+                && world.getTrashItems().findIntersecting(0, x, 466, OilSpill.WIDTH, OilSpill.HEIGHT) < 0;
+    }
+
+    /**
+     * Narysowanie pełnej klatki (tło, obiekty, HUD) do obrazu poza ekranem.
+     *
+     * @param entities liczba obiektów na planszy
+     * @param width szerokość klatki
+     * @param height wysokość klatki
+     * @return operacja rysująca klatkę; zwraca kolor jednego piksela (żeby wynik był użyty)
+     */
+    public static IntSupplier paint(int entities, int width, int height) {
+        GameWorld world = populatedWorld(entities);
+        WorldRenderer renderer = new WorldRenderer();
+        BufferedImage frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        return () -> {
+            Graphics2D g = frame.createGraphics();
+            try {
+                renderer.render(g, world, width, height, 1.0);
+            } finally {
+                g.dispose();
+            }
+            return frame.getRGB(width / 2, height / 2);
+        };
+    }
+
+    /**
+     * Narysowanie samego tła planszy (warstwy paralaksy) w kolejnych, przesuniętych klatkach.
+     *
+     * @param width szerokość klatki
+     * @param height wysokość klatki
+     * @return operacja rysująca tło; zwraca kolor jednego piksela (żeby wynik był użyty)
+     */
+    public static IntSupplier background(int width, int height) {
+        ParallaxBackground background =
+                ParallaxBackground.forLevel(SpriteRegistry.get(SpriteRegistry.BACKGROUND), true);
+        BufferedImage frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = frame.createGraphics();
+        double[] scroll = {0};
+        return () -> {
+            scroll[0] += 5;
+            background.draw(g, scroll[0], width, height);
+            return frame.getRGB(width / 2, height - 1);
+        };
+    }
+
+    /**
+     * Narysowanie samego HUD na klatce poza ekranem, przy niezmienionych punktach i zdrowiu
+     * (taka klatka HUD nie powinna alokować pamięci – sprawdza to {@code AllocationCheck}).
+     *
+     * @return operacja rysująca HUD; zwraca kolor jednego piksela (żeby wynik był użyty)
+     */
+    public static IntSupplier hud() {
+        GameWorld world = populatedWorld(0);
+        WorldRenderer renderer = new WorldRenderer();
+        BufferedImage frame = new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = frame.createGraphics();
+        // odczyt piksela prosto z tablicy – getRGB alokuje tablicę na każdy piksel
+        int[] pixels = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+        return () -> {
+            renderer.drawHud(g, world);
+            return pixels[60 * 400 + 30];
+        };
+    }
+}
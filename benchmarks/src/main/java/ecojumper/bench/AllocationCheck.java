@@ -0,0 +1,121 @@
+package ecojumper.bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Sprawdzenie, że gorące ścieżki gry nie alokują pamięci: krok symulacji bez nowych obiektów
+ * i klatka HUD z niezmienionymi wartościami.
+ * <p>
+ * Każda operacja jest najpierw rozgrzewana (kompilator JIT), a potem wykonywana wielokrotnie
+ * z pomiarem {@code ThreadMXBean.getCurrentThreadAllocatedBytes()} przed i po każdym wywołaniu.
+ * Wywołania, które operacja sama oznaczy jako dozwolone do alokacji (wynik różny od 0 –
+ * np. krok z nowym obiektem), są pomijane. Jeśli w żadnej z {@link #ROUNDS} prób nie udało się
+ * wykonać serii bez alokacji, program kończy się kodem 1 – Maven uruchamia go w fazie {@code test}
+ * modułu {@code benchmarks}.
+ * </p>
+ *
+ * <pre>
+ * java -Djava.awt.headless=true -cp benchmarks/target/benchmarks.jar ecojumper.bench.AllocationCheck [tick] [hud]
+ * </pre>
+ */
+public final class AllocationCheck {
+
+    /** Liczba wywołań rozgrzewających przed pomiarem. */
+    private static final int WARMUP = 50_000;
+
+    /** Liczba mierzonych wywołań w jednej próbie. */
+    private static final int MEASURED = 20_000;
+
+    /** Liczba prób (kolejne dają czas na dokończenie kompilacji JIT). */
+    private static final int ROUNDS = 3;
+
+    /** Licznik alokacji bieżącego wątku. */
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** Klasa narzędziowa – brak instancji. */
+    private AllocationCheck() {}
+
+    /**
+     * Uruchamia sprawdzenia.
+     *
+     * @param args nazwy sprawdzeń ({@code tick}, {@code hud}); bez argumentów – wszystkie
+     * @throws ReflectiveOperationException gdy klas gry nie ma na ścieżce klas
+     */
+    public static void main(String[] args) throws ReflectiveOperationException {
+        List<String> names = args.length > 0 ? List.of(args) : List.of("tick", "hud");
+        List<String> failed = new ArrayList<>();
+        for (String name : names) {
+            IntSupplier op = switch (name) {
+                case "tick" -> Fixtures.create("steadyTick", 3);
+                case "hud" -> allowNone(Fixtures.create("hud"));
+                default -> throw new IllegalArgumentException("Nieznane sprawdzenie: " + name);
+            };
+            if (!check(name, op)) failed.add(name);
+        }
+        if (!failed.isEmpty()) {
+            System.out.println("Alokacje w: " + String.join(", ", failed));
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Opakowuje operację testu wydajności (zwracającą dowolny wynik) tak, żeby żadne jej wywołanie
+     * nie było pomijane.
+     *
+     * @param op operacja
+     * @return operacja zwracająca zawsze 0
+     */
+    private static IntSupplier allowNone(IntSupplier op) {
+        return () -> {
+            op.getAsInt();
+            return 0;
+        };
+    }
+
+    /**
+     * Rozgrzewa operację i sprawdza, czy jej wywołania nie alokują.
+     *
+     * @param name nazwa sprawdzenia (do komunikatów)
+     * @param op operacja; zwraca 0 dla wywołań, które nie powinny alokować
+     * @return true, jeśli w którejś próbie żadne mierzone wywołanie nie alokowało
+     *         (i było co najmniej jedno niepominięte)
+     */
+    private static boolean check(String name, IntSupplier op) {
+        for (int i = 0; i < WARMUP; i++) {
+            op.getAsInt();
+        }
+        // wywołanie samego licznika nie alokuje – sprawdzamy to tym samym pomiarem
+        long overhead = THREADS.getCurrentThreadAllocatedBytes();
+        overhead = THREADS.getCurrentThreadAllocatedBytes() - overhead;
+
+        long bytes = 0;
+        int counted = 0, allocating = 0;
+        for (int round = 1; round <= ROUNDS; round++) {
+            bytes = 0;
+            counted = 0;
+            allocating = 0;
+            for (int i = 0; i < MEASURED; i++) {
+                long before = THREADS.getCurrentThreadAllocatedBytes();
+                int skip = op.getAsInt();
+                long allocated = THREADS.getCurrentThreadAllocatedBytes() - before - overhead;
+                if (skip != 0) continue;
+                counted++;
+                if (allocated > 0) {
+                    allocating++;
+                    bytes += allocated;
+                }
+            }
+            if (counted == 0) break;
+            if (allocating == 0) {
+                System.out.printf("%s: OK – %d wywołań bez alokacji (próba %d)%n", name, counted, round);
+                return true;
+            }
+        }
+        System.out.printf("%s: BŁĄD – %d z %d wywołań alokowało (%d B)%n", name, allocating, counted, bytes);
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package ecojumper.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Punkt wejścia {@code benchmarks.jar}.
+ * <p>
+ * Uruchamia JMH z przekazanymi argumentami, a jeśli nie podano formatu wyników,
+ * zapisuje je jako JSON do {@code jmh-result-<wersja>.json}, żeby dało się porównywać
+ * wyniki między wydaniami.
+ * </p>
+ */
+public final class BenchmarkMain {
+
+    /** Klasa narzędziowa – brak instancji. */
+    private BenchmarkMain() {}
+
+    /**
+     * Uruchamia testy wydajności.
+     *
+     * @param args argumenty JMH (np. nazwa testu, {@code -f}, {@code -wi})
+     * @throws Exception błąd uruchomienia JMH
+     */
+    public static void main(String[] args) throws Exception {
+        List<String> jmhArgs = new ArrayList<>(Arrays.asList(args));
+        if (!jmhArgs.contains("-rf")) {
+            String version = BenchmarkMain.class.getPackage().getImplementationVersion();
+            jmhArgs.addAll(List.of("-rf", "json", "-rff",
+                    "jmh-result-" + (version != null ? version : "dev") + ".json"));
+        }
+        org.openjdk.jmh.Main.main(jmhArgs.toArray(new String[0]));
+    }
+}
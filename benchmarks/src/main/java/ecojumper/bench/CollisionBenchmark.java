@@ -0,0 +1,105 @@
+package ecojumper.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+
+/**
+ * Koszt sprawdzania kolizji: gracz kontra wszystkie obiekty ({@code getBounds().intersects},
+ * liniowo na współrzędnych i przez siatkę {@code SpatialGrid}) oraz {@code isAreaFree} dla nowego
+ * obiektu przy prawej krawędzi (przez siatkę i liniowo). Wersje z siatką powinny mieć niemal
+ * stały czas niezależnie od {@code entities}. Uruchomienie z {@code -prof gc} pokazuje alokacje na operację.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CollisionBenchmark {
+
+    /** Liczba nieruchomych obiektów na planszy. */
+    @Param({"4", "64", "256", "1024"})
+    public int entities;
+
+    /** Sprawdzenie kolizji gracza ze wszystkimi obiektami. */
+    private IntSupplier intersections;
+
+    /** Sprawdzenie kolizji gracza ze wszystkimi obiektami na współrzędnych (liniowo). */
+    private IntSupplier coordinateIntersections;
+
+    /** Sprawdzenie kolizji gracza z obiektami przez siatkę. */
+    private IntSupplier gridIntersections;
+
+    /** Sprawdzenie wolnego miejsca dla nowego obiektu (przez siatkę). */
+    private BooleanSupplier areaFree;
+
+    /** Sprawdzenie wolnego miejsca dla nowego obiektu (liniowo). */
+    private BooleanSupplier areaFreeLinear;
+
+    /**
+     * Przygotowuje świat gry.
+     *
+     * @throws ReflectiveOperationException gdy klasy gry nie ma na ścieżce klas
+     */
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        intersections = Fixtures.create("boundsIntersections", entities);
+        coordinateIntersections = Fixtures.create("coordinateIntersections", entities);
+        gridIntersections = Fixtures.create("gridIntersections", entities);
+        areaFree = Fixtures.create("isAreaFree", entities);
+        areaFreeLinear = Fixtures.create("isAreaFreeLinear", entities);
+    }
+
+    /**
+     * Kolizje gracza ze wszystkimi obiektami.
+     *
+     * @return liczba kolizji
+     */
+    @Benchmark
+    public int playerIntersections() {
+        return intersections.getAsInt();
+    }
+
+    /**
+     * Kolizje gracza ze wszystkimi obiektami na współrzędnych (bez tworzenia obiektów), liniowo.
+     *
+     * @return liczba kolizji
+     */
+    @Benchmark
+    public int playerIntersectionsLinear() {
+        return coordinateIntersections.getAsInt();
+    }
+
+    /**
+     * Kolizje gracza z obiektami przez siatkę.
+     *
+     * @return liczba kolizji
+     */
+    @Benchmark
+    public int playerIntersectionsGrid() {
+        return gridIntersections.getAsInt();
+    }
+
+    /**
+     * Sprawdzenie wolnego miejsca przy generowaniu obiektu.
+     *
+     * @return czy obszar jest wolny
+     */
+    @Benchmark
+    public boolean isAreaFree() {
+        return areaFree.getAsBoolean();
+    }
+
+    /**
+     * Sprawdzenie wolnego miejsca przy generowaniu obiektu, liniowo (dawny sposób).
+     *
+     * @return czy obszar jest wolny
+     */
+    @Benchmark
+    public boolean isAreaFreeLinear() {
+        return areaFreeLinear.getAsBoolean();
+    }
+}
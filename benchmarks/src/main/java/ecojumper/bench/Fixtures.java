@@ -0,0 +1,38 @@
+package ecojumper.bench;
+
+import java.lang.reflect.Method;
+
+/**
+ * Dostęp do {@code BenchFixtures} z pakietu domyślnego.
+ * <p>
+ * Klas z pakietu domyślnego nie da się zaimportować w nazwanym pakiecie, dlatego fabryki
+ * są wywoływane przez refleksję – jednorazowo, w fazie {@code @Setup}. Mierzony kod
+ * wywołuje już tylko zwrócone interfejsy JDK.
+ * </p>
+ */
+final class Fixtures {
+
+    /** Klasa narzędziowa – brak instancji. */
+    private Fixtures() {}
+
+    /**
+     * Wywołuje statyczną fabrykę {@code BenchFixtures.name(args)}.
+     *
+     * @param name nazwa metody fabrycznej
+     * @param args argumenty typu int
+     * @param <T> oczekiwany typ wyniku
+     * @return obiekt zwrócony przez fabrykę
+     * @throws ReflectiveOperationException gdy klasy lub metody nie ma na ścieżce klas
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T create(String name, int... args) throws ReflectiveOperationException {
+        Class<?>[] types = new Class<?>[args.length];
+        Object[] values = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            types[i] = int.class;
+            values[i] = args[i];
+        }
+        Method m = Class.forName("BenchFixtures").getMethod(name, types);
+        return (T) m.invoke(null, values);
+    }
+}
@@ -0,0 +1,50 @@
+package ecojumper.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Koszt jednego kroku symulacji ({@code GameWorld.step}, dawniej {@code GamePanel.actionPerformed})
+ * w zależności od liczby obiektów przewijanych przez planszę (strumień z prędkością świata,
+ * w większości jeszcze poza ekranem). Pozycje w układzie przewijania i siatka {@code SpatialGrid}
+ * sprawiają, że czas kroku powinien być niemal stały niezależnie od {@code entities}.
+ * Z {@code -prof gc} widać alokacje na krok – krok bez generowania nowych obiektów nie alokuje nic,
+ * więc {@code gc.alloc.rate.norm} pochodzi tylko z generowania obiektów i restartów poziomu.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class GameTickBenchmark {
+
+    /** Liczba obiektów w strumieniu. */
+    @Param({"16", "256", "4096"})
+    public int entities;
+
+    /** Operacja wykonująca jeden krok. */
+    private IntSupplier tick;
+
+    /**
+     * Przygotowuje świat gry.
+     *
+     * @throws ReflectiveOperationException gdy klasy gry nie ma na ścieżce klas
+     */
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        tick = Fixtures.create("tick", entities);
+    }
+
+    /**
+     * Jeden krok symulacji.
+     *
+     * @return stan poziomu po kroku
+     */
+    @Benchmark
+    public int tick() {
+        return tick.getAsInt();
+    }
+}
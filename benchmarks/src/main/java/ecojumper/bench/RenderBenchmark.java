@@ -0,0 +1,83 @@
+package ecojumper.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Koszt narysowania pełnej klatki gry (tło, obiekty, HUD) oraz samego tła i samego HUD
+ * do {@code BufferedImage} poza ekranem.
+ * Sprite'y są wczytywane z katalogu {@code assets/}, więc test należy uruchamiać z katalogu projektu.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+
+    /** Liczba nieruchomych obiektów na planszy. */
+    @Param({"4", "64"})
+    public int entities;
+
+    /** Szerokość klatki. */
+    @Param({"1000"})
+    public int width;
+
+    /** Wysokość klatki. */
+    @Param({"600"})
+    public int height;
+
+    /** Operacja rysująca klatkę. */
+    private IntSupplier paint;
+
+    /** Operacja rysująca samo tło. */
+    private IntSupplier background;
+
+    /** Operacja rysująca sam HUD. */
+    private IntSupplier hud;
+
+    /**
+     * Przygotowuje świat gry i obraz docelowy.
+     *
+     * @throws ReflectiveOperationException gdy klasy gry nie ma na ścieżce klas
+     */
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        paint = Fixtures.create("paint", entities, width, height);
+        background = Fixtures.create("background", width, height);
+        hud = Fixtures.create("hud");
+    }
+
+    /**
+     * Rysowanie jednej klatki.
+     *
+     * @return kolor środkowego piksela
+     */
+    @Benchmark
+    public int paintFrame() {
+        return paint.getAsInt();
+    }
+
+    /**
+     * Rysowanie samego tła planszy (po dwa kopiowania bez skalowania na warstwę).
+     *
+     * @return kolor jednego piksela tła
+     */
+    @Benchmark
+    public int paintBackground() {
+        return background.getAsInt();
+    }
+
+    /**
+     * Rysowanie samego HUD przy niezmienionych wartościach (jeden gotowy obraz).
+     *
+     * @return kolor jednego piksela HUD
+     */
+    @Benchmark
+    public int paintHud() {
+        return hud.getAsInt();
+    }
+}
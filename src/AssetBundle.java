@@ -0,0 +1,329 @@
+import javax.imageio.ImageIO;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Pakiet zasobów graficznych: jeden plik z indeksem i zdekodowanymi pikselami wszystkich obrazów
+ * z katalogu {@code assets/}.
+ * <p>
+ * Piksele są zapisane jako 32-bitowe ARGB z przemnożoną przezroczystością (jak
+ * {@link BufferedImage#TYPE_INT_ARGB_PRE}), więc wczytanie obrazu to skopiowanie rzędów
+ * z pliku odwzorowanego w pamięci ({@link FileChannel#map}) do obrazu – bez dekompresji PNG.
+ * Pakiet tworzy {@link #main(String[])}; gdy go nie ma, {@link SpriteRegistry} dekoduje
+ * pliki PNG jak dotąd.
+ * </p>
+ *
+ * <pre>
+ * Format (little-endian):
+ *   int    MAGIC "EJAB"
+ *   int    VERSION
+ *   int    liczba obrazów
+ *   obrazy: short długość nazwy, bajty nazwy (UTF-8), int szerokość, int wysokość, long przesunięcie pikseli
+ *   int    CRC32 nagłówka i indeksu
+ *   piksele (wyrównane do 4 bajtów): szerokość * wysokość int na obraz, rzędami
+ * </pre>
+ */
+public final class AssetBundle {
+
+    /** Znacznik początku pliku ("EJAB"). */
+    private static final int MAGIC = 0x454A4142;
+
+    /** Wersja formatu. */
+    private static final int VERSION = 1;
+
+    /** Domyślna nazwa pliku pakietu. */
+    public static final String FILE_NAME = "assets.ejb";
+
+    /**
+     * Plik pakietu – właściwość systemowa {@code ecojumper.bundle}
+     * (brak: {@value #FILE_NAME} w katalogu roboczym albo obok pliku JAR; pusta wartość wyłącza pakiet).
+     */
+    private static final String BUNDLE_PROPERTY = "ecojumper.bundle";
+
+    /**
+     * Położenie obrazu w pakiecie.
+     *
+     * @param width szerokość
+     * @param height wysokość
+     * @param offset przesunięcie pierwszego piksela w pliku
+     */
+    private record Entry(int width, int height, long offset) {}
+
+    /** Zawartość pliku odwzorowana w pamięci. */
+    private final ByteBuffer data;
+
+    /** Indeks obrazów według nazwy pliku. */
+    private final Map<String, Entry> index;
+
+    /** Plik pakietu. */
+    private final Path file;
+
+    /**
+     * Tworzy pakiet z odczytanego indeksu.
+     *
+     * @param file plik pakietu
+     * @param data zawartość pliku
+     * @param index indeks obrazów
+     */
+    private AssetBundle(Path file, ByteBuffer data, Map<String, Entry> index) {
+        this.file = file;
+        this.data = data;
+        this.index = index;
+    }
+
+    /**
+     * Odwzorowuje plik pakietu w pamięci i odczytuje jego indeks.
+     *
+     * @param file plik pakietu
+     * @return pakiet
+     * @throws IOException gdy pliku nie da się odczytać albo jest uszkodzony
+     */
+    public static AssetBundle open(Path file) throws IOException {
+        ByteBuffer data;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            data = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        try {
+            if (data.getInt() != MAGIC) throw new IOException("to nie jest pakiet zasobów");
+            if (data.getInt() != VERSION) throw new IOException("nieobsługiwana wersja pakietu");
+            int count = data.getInt();
+            if (count < 0 || count > data.remaining() / 18) throw new IOException("błędna liczba obrazów");
+
+            Map<String, Entry> index = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                byte[] name = new byte[Short.toUnsignedInt(data.getShort())];
+                data.get(name);
+                Entry e = new Entry(data.getInt(), data.getInt(), data.getLong());
+                long bytes = (long) e.width() * e.height() * 4;
+                if (e.width() <= 0 || e.height() <= 0 || e.offset() < 0 || e.offset() + bytes > data.capacity()) {
+                    throw new IOException("obraz poza plikiem");
+                }
+                index.put(new String(name, StandardCharsets.UTF_8), e);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(data.duplicate().position(0).limit(data.position()));
+            if (data.getInt() != (int) crc.getValue()) throw new IOException("błędna suma kontrolna indeksu");
+            return new AssetBundle(file, data, index);
+        } catch (RuntimeException e) {
+            // BufferUnderflowException itp. – plik ucięty
+            throw new IOException("uszkodzony pakiet: " + e, e);
+        }
+    }
+
+    /**
+     * Otwiera pakiet wskazany właściwością {@code ecojumper.bundle} albo domyślny
+     * ({@value #FILE_NAME} w katalogu roboczym lub obok pliku JAR z grą).
+     * Brak pakietu nie jest błędem; uszkodzony pakiet jest tylko zgłaszany na konsoli.
+     *
+     * @return pakiet lub {@code null}, gdy go nie ma (obrazy są wtedy dekodowane z plików PNG)
+     */
+    public static AssetBundle openDefault() {
+        String property = System.getProperty(BUNDLE_PROPERTY);
+        Path file = null;
+        if (property != null) {
+            if (!property.isEmpty()) file = Path.of(property);
+        } else {
+            for (Path candidate : defaultLocations()) {
+                if (Files.isRegularFile(candidate)) {
+                    file = candidate;
+                    break;
+                }
+            }
+        }
+        if (file == null) return null;
+        try {
+            return open(file);
+        } catch (IOException e) {
+            System.out.println("Nie udało się otworzyć pakietu zasobów " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Zwraca domyślne położenia pakietu: katalog roboczy i katalog z klasami gry (lub z plikiem JAR).
+     *
+     * @return kandydaci w kolejności sprawdzania
+     */
+    private static List<Path> defaultLocations() {
+        Path cwd = Path.of(FILE_NAME);
+        try {
+            Path code = Path.of(AssetBundle.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            Path dir = Files.isDirectory(code) ? code : code.getParent();
+            if (dir != null) return List.of(cwd, dir.resolve(FILE_NAME));
+        } catch (URISyntaxException | RuntimeException e) {
+            // brak informacji o położeniu klas – zostaje katalog roboczy
+        }
+        return List.of(cwd);
+    }
+
+    /**
+     * Zwraca plik pakietu.
+     *
+     * @return ścieżka pliku
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Zwraca liczbę obrazów w pakiecie.
+     *
+     * @return liczba obrazów
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Tworzy obraz z pikseli zapisanych w pakiecie. Piksele są kopiowane rzędami przez
+     * {@link WritableRaster#setDataElements}, więc obraz pozostaje zarządzany przez Java2D
+     * (może być trzymany w pamięci karty graficznej).
+     *
+     * @param name nazwa pliku obrazu w katalogu zasobów (np. {@code background.png})
+     * @return obraz typu {@link BufferedImage#TYPE_INT_ARGB_PRE} lub {@code null}, gdy nie ma go w pakiecie
+     */
+    public BufferedImage image(String name) {
+        Entry e = index.get(name);
+        if (e == null) return null;
+        BufferedImage img = new BufferedImage(e.width(), e.height(), BufferedImage.TYPE_INT_ARGB_PRE);
+        WritableRaster raster = img.getRaster();
+        IntBuffer pixels = data.duplicate().order(ByteOrder.LITTLE_ENDIAN)
+                .position(Math.toIntExact(e.offset())).slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        int[] row = new int[e.width()];
+        for (int y = 0; y < e.height(); y++) {
+            pixels.get(row);
+            raster.setDataElements(0, y, e.width(), 1, row);
+        }
+        return img;
+    }
+
+    /**
+     * Tworzy pakiet ze wszystkich plików PNG w katalogu (zapis przez plik tymczasowy,
+     * więc przerwany zapis nie psuje poprzedniego pakietu).
+     *
+     * @param dir katalog z obrazami
+     * @param out plik pakietu
+     * @return liczba spakowanych obrazów
+     * @throws IOException gdy odczyt lub zapis się nie powiedzie
+     */
+    public static int pack(Path dir, Path out) throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(dir)) {
+            files = list.filter(f -> f.getFileName().toString().toLowerCase().endsWith(".png")).sorted().toList();
+        }
+
+        String[] names = new String[files.size()];
+        BufferedImage[] images = new BufferedImage[files.size()];
+        int indexBytes = 12;
+        for (int i = 0; i < files.size(); i++) {
+            BufferedImage src = ImageIO.read(files.get(i).toFile());
+            if (src == null) throw new IOException("nie udało się zdekodować " + files.get(i));
+            names[i] = files.get(i).getFileName().toString();
+            images[i] = premultiplied(src);
+            indexBytes += 2 + names[i].getBytes(StandardCharsets.UTF_8).length + 16;
+        }
+        int dataStart = (indexBytes + 4 + 3) & ~3;
+
+        ByteBuffer header = ByteBuffer.allocate(dataStart).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(images.length);
+        long offset = dataStart;
+        for (int i = 0; i < images.length; i++) {
+            byte[] name = names[i].getBytes(StandardCharsets.UTF_8);
+            header.putShort((short) name.length).put(name);
+            header.putInt(images[i].getWidth()).putInt(images[i].getHeight()).putLong(offset);
+            offset += (long) images[i].getWidth() * images[i].getHeight() * 4;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(header.array(), 0, header.position());
+        header.putInt((int) crc.getValue());
+        header.position(0);
+
+        Path tmp = out.resolveSibling(out.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) ch.write(header);
+            for (BufferedImage img : images) {
+                int w = img.getWidth();
+                ByteBuffer rows = ByteBuffer.allocate(w * 4 * 64).order(ByteOrder.LITTLE_ENDIAN);
+                int[] row = new int[w];
+                for (int y = 0; y < img.getHeight(); y++) {
+                    img.getRaster().getDataElements(0, y, w, 1, row);
+                    rows.asIntBuffer().put(row);
+                    rows.position(rows.position() + w * 4);
+                    if (!rows.hasRemaining() || y == img.getHeight() - 1) {
+                        rows.flip();
+                        while (rows.hasRemaining()) ch.write(rows);
+                        rows.clear();
+                    }
+                }
+            }
+        }
+        Files.move(tmp, out, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return images.length;
+    }
+
+    /**
+     * Przerysowuje obraz do typu {@link BufferedImage#TYPE_INT_ARGB_PRE}.
+     *
+     * @param src obraz źródłowy
+     * @return obraz z przemnożoną przezroczystością
+     */
+    private static BufferedImage premultiplied(BufferedImage src) {
+        BufferedImage img = new BufferedImage(src.getWidth(), src.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = img.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(src, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return img;
+    }
+
+    /**
+     * Pakuje katalog zasobów i porównuje czas wczytania wszystkich obrazów z pakietu
+     * i z plików PNG.
+     * <pre>
+     * java -cp game/target/classes AssetBundle [katalog=assets] [plik=assets.ejb]
+     * </pre>
+     *
+     * @param args katalog z obrazami i plik pakietu
+     * @throws IOException gdy pakowanie się nie powiedzie
+     */
+    public static void main(String[] args) throws IOException {
+        Path dir = Path.of(args.length > 0 ? args[0] : "assets");
+        Path out = Path.of(args.length > 1 ? args[1] : FILE_NAME);
+
+        int count = pack(dir, out);
+        System.out.printf("Spakowano %d obrazów do %s (%.1f MB)%n", count, out, Files.size(out) / (1024.0 * 1024.0));
+
+        long start = System.nanoTime();
+        AssetBundle bundle = open(out);
+        for (String name : bundle.index.keySet()) bundle.image(name);
+        long bundleNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (String name : bundle.index.keySet()) ImageIO.read(dir.resolve(name).toFile());
+        long pngNanos = System.nanoTime() - start;
+
+        System.out.printf("Wczytanie wszystkich obrazów: pakiet %.1f ms, PNG %.1f ms%n", bundleNanos / 1e6, pngNanos / 1e6);
+    }
+}
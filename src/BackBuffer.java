@@ -0,0 +1,193 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * Trwały bufor klatki, w którym {@link WorldRenderer} składa obraz przed skopiowaniem na ekran.
+ * <p>
+ * Jeśli jest ekran, bufor jest obrazem {@link VolatileImage} w pamięci karty graficznej – rysowanie
+ * do niego i kopiowanie na ekran może wtedy w całości odbywać się na karcie. Zawartość takiego obrazu
+ * może przepaść (np. po zmianie trybu ekranu albo zablokowaniu sesji), więc przed każdą klatką bufor
+ * jest sprawdzany ({@link #validate}), a po klatce – czy zawartość przetrwała ({@link #contentsLost()});
+ * w obu przypadkach klatkę trzeba narysować w całości. Bez ekranu (testy, CI) albo przy
+ * {@code -Decojumper.volatile=false} bufor jest zwykłym obrazem {@link BufferedImage}.
+ * </p>
+ * <p>
+ * Bufor liczy odtworzenia zawartości i pamięta, czy sam jest akcelerowany
+ * ({@link ImageCapabilities#isAccelerated()}, sprawdzane przy utworzeniu i odtworzeniu) –
+ * {@link WorldRenderer} zlicza według tego kopiowania bufora na ekran ({@link BlitCounters#PRESENT}).
+ * </p>
+ */
+public final class BackBuffer {
+
+    /**
+     * Czy używać obrazu {@link VolatileImage} – właściwość systemowa {@code ecojumper.volatile}
+     * ({@code false} – zawsze {@link BufferedImage}).
+     */
+    private static final boolean VOLATILE =
+            Boolean.parseBoolean(System.getProperty("ecojumper.volatile", "true"));
+
+    /** Obraz bufora ({@link VolatileImage} albo {@link BufferedImage}). */
+    private Image image;
+
+    /** Obraz bufora, jeśli jest to {@link VolatileImage} (inaczej {@code null}). */
+    private VolatileImage volatileImage;
+
+    /** Kontekst graficzny {@link #image}, używany przez cały czas życia obrazu. */
+    private Graphics2D graphics;
+
+    /** Szerokość bufora. */
+    private int width;
+
+    /** Wysokość bufora. */
+    private int height;
+
+    /** Czy kopiowanie bufora na ekran jest akcelerowane (sprawdzane przy {@link #validate}). */
+    private boolean accelerated;
+
+    /** Liczba odtworzeń zawartości (utraconej albo niezgodnej z ekranem). */
+    private long restores;
+
+    /**
+     * Przygotowuje bufor do narysowania klatki: tworzy go, gdy go nie ma albo zmienił się rozmiar,
+     * odtwarza po utracie zawartości i tworzy na nowo, gdy nie pasuje już do konfiguracji ekranu
+     * (np. okno przeniesiono na inny monitor).
+     *
+     * @param gc konfiguracja graficzna ekranu (może być {@code null} – wtedy {@link BufferedImage})
+     * @param w szerokość klatki
+     * @param h wysokość klatki
+     * @return true, jeśli zawartość bufora jest nieaktualna i klatkę trzeba narysować w całości
+     */
+    public boolean validate(GraphicsConfiguration gc, int w, int h) {
+        if (image == null || width != w || height != h) {
+            create(gc, w, h);
+            return true;
+        }
+        if (volatileImage == null) return false;
+
+        int status = volatileImage.validate(gc);
+        if (status == VolatileImage.IMAGE_OK) return false;
+        restores++;
+        if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+            create(gc, w, h);
+        } else {
+            // IMAGE_RESTORED: obraz jest ten sam, ale jego piksele są nieokreślone
+            resetGraphics();
+            accelerated = volatileImage.getCapabilities().isAccelerated();
+        }
+        return true;
+    }
+
+    /**
+     * Tworzy obraz bufora o podanym rozmiarze.
+     *
+     * @param gc konfiguracja graficzna ekranu (może być {@code null})
+     * @param w szerokość
+     * @param h wysokość
+     */
+    private void create(GraphicsConfiguration gc, int w, int h) {
+        if (graphics != null) graphics.dispose();
+        graphics = null;
+        if (volatileImage != null) volatileImage.flush();
+        volatileImage = null;
+
+        if (VOLATILE && gc != null && !GraphicsEnvironment.isHeadless()) {
+            try {
+                volatileImage = gc.createCompatibleVolatileImage(w, h, Transparency.OPAQUE);
+                volatileImage.validate(gc);
+            } catch (RuntimeException e) {
+                System.out.println("Nie można utworzyć bufora VolatileImage: " + e.getMessage());
+                volatileImage = null;
+            }
+        }
+        if (volatileImage != null) {
+            image = volatileImage;
+            accelerated = volatileImage.getCapabilities().isAccelerated();
+        } else {
+            BufferedImage buffered = ScaledImageCache.createCompatible(w, h, Transparency.OPAQUE);
+            image = buffered;
+            accelerated = ScaledImageCache.isAccelerated(buffered, gc);
+        }
+        width = w;
+        height = h;
+        resetGraphics();
+    }
+
+    /**
+     * Tworzy nowy kontekst graficzny bufora (po utworzeniu albo odtworzeniu obrazu).
+     */
+    private void resetGraphics() {
+        if (graphics != null) graphics.dispose();
+        graphics = (Graphics2D) image.getGraphics();
+    }
+
+    /**
+     * Zwraca kontekst graficzny bufora; ważny do następnego {@link #validate}.
+     *
+     * @return kontekst graficzny
+     */
+    public Graphics2D graphics() {
+        return graphics;
+    }
+
+    /**
+     * Kopiuje prostokąt bufora w to samo miejsce na ekranie.
+     *
+     * @param screen kontekst graficzny ekranu
+     * @param x pozycja X prostokąta
+     * @param y pozycja Y prostokąta
+     * @param w szerokość prostokąta
+     * @param h wysokość prostokąta
+     */
+    public void copyTo(Graphics screen, int x, int y, int w, int h) {
+        screen.drawImage(image, x, y, x + w, y + h, x, y, x + w, y + h, null);
+    }
+
+    /**
+     * Informuje, czy od ostatniego {@link #validate} zawartość bufora przepadła – wtedy klatka
+     * skopiowana na ekran mogła być niepełna i trzeba ją narysować jeszcze raz.
+     *
+     * @return true, jeśli zawartość przepadła
+     */
+    public boolean contentsLost() {
+        return volatileImage != null && volatileImage.contentsLost();
+    }
+
+    /**
+     * Zwalnia obraz bufora; następny {@link #validate} utworzy go od nowa.
+     */
+    public void release() {
+        if (graphics != null) graphics.dispose();
+        if (volatileImage != null) volatileImage.flush();
+        graphics = null;
+        volatileImage = null;
+        image = null;
+    }
+
+    /**
+     * Informuje, czy bufor jest obrazem {@link VolatileImage}.
+     *
+     * @return true dla {@link VolatileImage}, false dla {@link BufferedImage}
+     */
+    public boolean isVolatile() {
+        return volatileImage != null;
+    }
+
+    /**
+     * Informuje, czy bufor był akcelerowany przy ostatnim utworzeniu albo odtworzeniu.
+     *
+     * @return true, jeśli kopiowanie bufora na ekran jest akcelerowane
+     */
+    public boolean isAccelerated() {
+        return accelerated;
+    }
+
+    /**
+     * Zwraca liczbę odtworzeń zawartości bufora.
+     *
+     * @return liczba odtworzeń
+     */
+    public long getRestores() {
+        return restores;
+    }
+}
@@ -0,0 +1,428 @@
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Wsadowy symulator poziomów uruchamiany z linii poleceń, bez wyświetlacza.
+ * <p>
+ * Symuluje N poziomów z zakresu trudności (te same wzory co w grze – {@link GameWorld#startLevel(int, long)})
+ * dla losowego lub skryptowego wejścia, rozdzielając przebiegi na wszystkie rdzenie
+ * przez {@link ForkJoinPool}. Na końcu wypisuje przepustowość (symulowane klatki na sekundę)
+ * oraz rozkład wyników: odsetek ukończonych poziomów, pozostałe zdrowie i punkty.
+ * </p>
+ *
+ * <pre>
+ * java BatchSimulator [--runs N] [--from L] [--to L] [--input random|idle|script:R*30,RJ,N*10]
+ *                     [--seed S] [--max-ticks T] [--threads P]
+ * </pre>
+ */
+public class BatchSimulator {
+
+    /** Liczba przebiegów, poniżej której zadanie nie jest już dzielone. */
+    private static final int LEAF_RUNS = 16;
+
+    /** Szerokość kubełka histogramu punktów. */
+    private static final int SCORE_BUCKET = 25;
+
+    /** Liczba kubełków histogramu punktów (ostatni zbiera wszystko powyżej). */
+    private static final int SCORE_BUCKETS = 16;
+
+    /**
+     * Źródło wejścia gracza dla pojedynczego przebiegu.
+     */
+    interface InputPolicy {
+        /**
+         * Zwraca maskę wejścia dla kolejnego kroku.
+         *
+         * @param world stan świata przed krokiem
+         * @param rnd generator losowy przebiegu
+         * @return maska {@link GameInput}
+         */
+        int next(GameWorld world, SplittableRandom rnd);
+    }
+
+    /** Liczba symulowanych przebiegów. */
+    private int runs = 10_000;
+    /** Najniższy symulowany poziom. */
+    private int fromLevel = 1;
+    /** Najwyższy symulowany poziom. */
+    private int toLevel = 8;
+    /** Ziarno bazowe – przebieg i dostaje ziarno {@code seed + i}. */
+    private long seed = 42;
+    /** Maksymalna liczba kroków jednego poziomu (po jej przekroczeniu przebieg jest przerywany). */
+    private int maxTicks = 60 * 60 * 5;
+    /** Opis źródła wejścia (do raportu). */
+    private String inputSpec = "random";
+    /** Źródło wejścia tworzone osobno dla każdego przebiegu. */
+    private Supplier<InputPolicy> policyFactory = BatchSimulator::randomPolicy;
+
+    /**
+     * Zbiorcze wyniki grupy przebiegów. Obiekty są łączone po zakończeniu zadań fork/join.
+     */
+    static class Stats {
+        /** Liczba przebiegów. */
+        long runs;
+        /** Liczba ukończonych poziomów. */
+        long completed;
+        /** Liczba przegranych poziomów. */
+        long gameOver;
+        /** Liczba przebiegów przerwanych po {@code maxTicks}. */
+        long timedOut;
+        /** Suma wykonanych kroków symulacji. */
+        long ticks;
+        /** Suma punktów. */
+        long scoreSum;
+        /** Suma pozostałego zdrowia w ukończonych poziomach. */
+        long healthSum;
+        /** Liczba obiektów wygenerowanych w zwolnionych miejscach puli. */
+        long poolHits;
+        /** Liczba obiektów, dla których pula zajęła nowe miejsce. */
+        long poolMisses;
+        /** Histogram pozostałego zdrowia w ukończonych poziomach (kubełki po 10). */
+        final long[] healthHistogram = new long[11];
+        /** Histogram punktów (kubełki po {@link #SCORE_BUCKET}). */
+        final long[] scoreHistogram = new long[SCORE_BUCKETS];
+        /** Liczba przebiegów na poziom (indeks = poziom). */
+        final long[] runsPerLevel;
+        /** Liczba ukończeń na poziom (indeks = poziom). */
+        final long[] completedPerLevel;
+
+        /**
+         * Tworzy puste statystyki.
+         *
+         * @param maxLevel najwyższy symulowany poziom
+         */
+        Stats(int maxLevel) {
+            runsPerLevel = new long[maxLevel + 1];
+            completedPerLevel = new long[maxLevel + 1];
+        }
+
+        /**
+         * Dodaje wynik pojedynczego przebiegu.
+         *
+         * @param world świat po zakończeniu przebiegu
+         */
+        void record(GameWorld world) {
+            runs++;
+            ticks += world.getTick();
+            scoreSum += world.getScore();
+            scoreHistogram[Math.min(SCORE_BUCKETS - 1, world.getScore() / SCORE_BUCKET)]++;
+            runsPerLevel[world.getLevel()]++;
+            switch (world.getStatus()) {
+                case LEVEL_COMPLETE -> {
+                    completed++;
+                    completedPerLevel[world.getLevel()]++;
+                    healthSum += world.getHealth();
+                    healthHistogram[Math.max(0, world.getHealth()) / 10]++;
+                }
+                case GAME_OVER -> gameOver++;
+                case RUNNING -> timedOut++;
+            }
+        }
+
+        /**
+         * Dołącza statystyki innej grupy przebiegów.
+         *
+         * @param o statystyki do dołączenia
+         * @return ten obiekt
+         */
+        Stats merge(Stats o) {
+            runs += o.runs;
+            completed += o.completed;
+            gameOver += o.gameOver;
+            timedOut += o.timedOut;
+            ticks += o.ticks;
+            scoreSum += o.scoreSum;
+            healthSum += o.healthSum;
+            poolHits += o.poolHits;
+            poolMisses += o.poolMisses;
+            for (int i = 0; i < healthHistogram.length; i++) healthHistogram[i] += o.healthHistogram[i];
+            for (int i = 0; i < scoreHistogram.length; i++) scoreHistogram[i] += o.scoreHistogram[i];
+            for (int i = 0; i < runsPerLevel.length; i++) {
+                runsPerLevel[i] += o.runsPerLevel[i];
+                completedPerLevel[i] += o.completedPerLevel[i];
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Zadanie fork/join symulujące przebiegi o indeksach {@code [from, to)}.
+     */
+    private class SimulationTask extends RecursiveTask<Stats> {
+        /** Pierwszy indeks przebiegu (włącznie). */
+        private final int from;
+        /** Ostatni indeks przebiegu (wyłącznie). */
+        private final int to;
+
+        /**
+         * Tworzy zadanie dla zakresu przebiegów.
+         *
+         * @param from pierwszy indeks (włącznie)
+         * @param to ostatni indeks (wyłącznie)
+         */
+        SimulationTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Dzieli zakres na połowy lub – dla małych zakresów – symuluje przebiegi po kolei
+         * na jednym, wielokrotnie używanym obiekcie {@link GameWorld}.
+         *
+         * @return statystyki zakresu
+         */
+        @Override
+        protected Stats compute() {
+            if (to - from <= LEAF_RUNS) {
+                Stats stats = new Stats(toLevel);
+                GameWorld world = new GameWorld();
+                for (int i = from; i < to; i++) {
+                    runLevel(world, i);
+                    stats.record(world);
+                }
+                // liczniki puli są sumaryczne dla obiektu świata używanego przez cały zakres
+                stats.poolHits += world.getPoolHits();
+                stats.poolMisses += world.getPoolMisses();
+                return stats;
+            }
+            int mid = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(from, mid);
+            left.fork();
+            Stats right = new SimulationTask(mid, to).compute();
+            return right.merge(left.join());
+        }
+    }
+
+    /**
+     * Symuluje jeden poziom od startu do ukończenia, przegranej lub limitu kroków.
+     *
+     * @param world świat (zostanie zresetowany)
+     * @param run indeks przebiegu – wyznacza poziom i ziarno
+     */
+    private void runLevel(GameWorld world, int run) {
+        int level = fromLevel + run % (toLevel - fromLevel + 1);
+        long runSeed = seed + run;
+        world.startLevel(level, runSeed);
+
+        SplittableRandom rnd = new SplittableRandom(runSeed);
+        InputPolicy policy = policyFactory.get();
+        while (world.getTick() < maxTicks
+                && world.step(policy.next(world, rnd)) == GameWorld.Status.RUNNING) {
+            // kroki wykonywane w warunku pętli
+        }
+    }
+
+    /**
+     * Tworzy źródło losowego wejścia: co 10–40 kroków losuje nowy kierunek ruchu,
+     * a skok wciska z prawdopodobieństwem 5% na krok.
+     *
+     * @return nowe źródło wejścia
+     */
+    static InputPolicy randomPolicy() {
+        return new InputPolicy() {
+            /** Bieżący kierunek ruchu. */
+            private int held = GameInput.NONE;
+            /** Liczba kroków do zmiany kierunku. */
+            private int hold = 0;
+
+            @Override
+            public int next(GameWorld world, SplittableRandom rnd) {
+                if (--hold <= 0) {
+                    held = switch (rnd.nextInt(3)) {
+                        case 0 -> GameInput.LEFT;
+                        case 1 -> GameInput.RIGHT;
+                        default -> GameInput.NONE;
+                    };
+                    hold = 10 + rnd.nextInt(31);
+                }
+                return rnd.nextInt(100) < 5 ? held | GameInput.JUMP : held;
+            }
+        };
+    }
+
+    /**
+     * Tworzy źródło wejścia odtwarzające cyklicznie skrypt (zob. {@link #parseScript(String)}).
+     *
+     * @param script maski wejścia, po jednej na krok
+     * @return nowe źródło wejścia
+     */
+    static InputPolicy scriptPolicy(int[] script) {
+        return new InputPolicy() {
+            /** Pozycja w skrypcie. */
+            private int pos = 0;
+
+            @Override
+            public int next(GameWorld world, SplittableRandom rnd) {
+                int input = script[pos];
+                pos = (pos + 1) % script.length;
+                return input;
+            }
+        };
+    }
+
+    /**
+     * Zamienia tekst skryptu na tablicę masek wejścia (po jednej na krok).
+     * Skrypt to lista kroków oddzielonych przecinkami, np. {@code R*30,RJ,N*10}:
+     * litery L/R/J oznaczają lewo/prawo/skok, N – brak klawiszy, a {@code *k} powtórzenie k razy.
+     *
+     * @param text skrypt, np. {@code R*30,RJ,N*10}
+     * @return maski wejścia
+     * @throws IllegalArgumentException gdy skrypt jest niepoprawny
+     */
+    static int[] parseScript(String text) {
+        int[] out = new int[16];
+        int n = 0;
+        for (String part : text.split(",")) {
+            String[] p = part.trim().split("\\*");
+            int repeat = p.length > 1 ? Integer.parseInt(p[1].trim()) : 1;
+            int mask = GameInput.NONE;
+            for (char c : p[0].trim().toUpperCase(Locale.ROOT).toCharArray()) {
+                switch (c) {
+                    case 'L' -> mask |= GameInput.LEFT;
+                    case 'R' -> mask |= GameInput.RIGHT;
+                    case 'J' -> mask |= GameInput.JUMP;
+                    case 'N' -> { }
+                    default -> throw new IllegalArgumentException("Nieznany klawisz w skrypcie: " + c);
+                }
+            }
+            for (int i = 0; i < repeat; i++) {
+                if (n == out.length) out = Arrays.copyOf(out, n * 2);
+                out[n++] = mask;
+            }
+        }
+        if (n == 0) throw new IllegalArgumentException("Pusty skrypt wejścia");
+        return Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Uruchamia wszystkie przebiegi na podanej puli i wypisuje raport.
+     *
+     * @param pool pula fork/join
+     */
+    void run(ForkJoinPool pool) {
+        long start = System.nanoTime();
+        Stats stats = pool.invoke(new SimulationTask(0, runs));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        report(stats, seconds, pool.getParallelism());
+    }
+
+    /**
+     * Wypisuje raport z przebiegów.
+     *
+     * @param s zebrane statystyki
+     * @param seconds czas symulacji w sekundach
+     * @param threads liczba wątków puli
+     */
+    private void report(Stats s, double seconds, int threads) {
+        System.out.printf(Locale.ROOT, "Przebiegi: %d (poziomy %d–%d, wejście: %s, wątki: %d)%n",
+                s.runs, fromLevel, toLevel, inputSpec, threads);
+        System.out.printf(Locale.ROOT, "Czas: %.2f s, %.0f poziomów/s, %.0f klatek/s%n",
+                seconds, s.runs / seconds, s.ticks / seconds);
+        System.out.printf(Locale.ROOT, "Ukończone: %.1f%%, przegrane: %.1f%%, przerwane: %.1f%%%n",
+                pct(s.completed, s.runs), pct(s.gameOver, s.runs), pct(s.timedOut, s.runs));
+        System.out.printf(Locale.ROOT, "Średnio punktów: %.1f, średnio zdrowia po ukończeniu: %.1f%n",
+                s.runs == 0 ? 0.0 : (double) s.scoreSum / s.runs,
+                s.completed == 0 ? 0.0 : (double) s.healthSum / s.completed);
+        System.out.printf(Locale.ROOT, "Pula obiektów: %d trafień, %d chybień (%.2f%% ponownie użytych miejsc)%n",
+                s.poolHits, s.poolMisses, pct(s.poolHits, s.poolHits + s.poolMisses));
+
+        System.out.println("Ukończenia według poziomu:");
+        for (int lvl = fromLevel; lvl <= toLevel; lvl++) {
+            System.out.printf(Locale.ROOT, "  poziom %2d: %6.1f%% z %d%n",
+                    lvl, pct(s.completedPerLevel[lvl], s.runsPerLevel[lvl]), s.runsPerLevel[lvl]);
+        }
+
+        System.out.println("Zdrowie po ukończeniu:");
+        for (int i = 0; i < s.healthHistogram.length; i++) {
+            if (s.healthHistogram[i] == 0) continue;
+            System.out.printf(Locale.ROOT, "  %3d–%3d: %6.1f%%%n",
+                    i * 10, Math.min(100, i * 10 + 9), pct(s.healthHistogram[i], s.completed));
+        }
+
+        System.out.println("Punkty:");
+        for (int i = 0; i < s.scoreHistogram.length; i++) {
+            if (s.scoreHistogram[i] == 0) continue;
+            String range = i == SCORE_BUCKETS - 1
+                    ? (i * SCORE_BUCKET) + "+"
+                    : (i * SCORE_BUCKET) + "–" + (i * SCORE_BUCKET + SCORE_BUCKET - 1);
+            System.out.printf(Locale.ROOT, "  %9s: %6.1f%%%n", range, pct(s.scoreHistogram[i], s.runs));
+        }
+    }
+
+    /**
+     * Oblicza procent.
+     *
+     * @param part część
+     * @param whole całość
+     * @return wartość procentowa (0, gdy całość jest zerowa)
+     */
+    private static double pct(long part, long whole) {
+        return whole == 0 ? 0.0 : 100.0 * part / whole;
+    }
+
+    /**
+     * Punkt wejścia symulatora wsadowego.
+     *
+     * @param args argumenty linii poleceń (opis w dokumentacji klasy)
+     */
+    public static void main(String[] args) {
+        BatchSimulator sim = new BatchSimulator();
+        int threads = Runtime.getRuntime().availableProcessors();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--runs" -> sim.runs = Integer.parseInt(value);
+                    case "--from" -> sim.fromLevel = Integer.parseInt(value);
+                    case "--to" -> sim.toLevel = Integer.parseInt(value);
+                    case "--seed" -> sim.seed = Long.parseLong(value);
+                    case "--max-ticks" -> sim.maxTicks = Integer.parseInt(value);
+                    case "--threads" -> threads = Integer.parseInt(value);
+                    case "--input" -> sim.setInput(value);
+                    default -> throw new IllegalArgumentException("Nieznany argument: " + args[i]);
+                }
+                i++;
+            }
+            if (sim.fromLevel < 1 || sim.toLevel < sim.fromLevel || sim.runs < 1) {
+                throw new IllegalArgumentException("Niepoprawny zakres poziomów lub liczba przebiegów");
+            }
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Użycie: java BatchSimulator [--runs N] [--from L] [--to L] "
+                    + "[--input random|idle|script:R*30,RJ,N*10] [--seed S] [--max-ticks T] [--threads P]");
+            System.exit(2);
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            sim.run(pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Ustawia źródło wejścia na podstawie opisu z linii poleceń.
+     *
+     * @param spec {@code random}, {@code idle} lub {@code script:...}
+     */
+    private void setInput(String spec) {
+        if (spec == null) throw new IllegalArgumentException("Brak wartości dla --input");
+        inputSpec = spec;
+        if (spec.equals("random")) {
+            policyFactory = BatchSimulator::randomPolicy;
+        } else if (spec.equals("idle")) {
+            policyFactory = () -> (world, rnd) -> GameInput.NONE;
+        } else if (spec.startsWith("script:")) {
+            int[] script = parseScript(spec.substring("script:".length()));
+            policyFactory = () -> scriptPolicy(script);
+        } else {
+            throw new IllegalArgumentException("Nieznane źródło wejścia: " + spec);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+import java.util.Arrays;
+
+/**
+ * Liczniki kopiowań obrazów (blitów) wykonanych przy rysowaniu klatki, osobno dla każdego
+ * rodzaju źródła i osobno akcelerowanych i programowych.
+ * <p>
+ * O tym, czy kopiowanie jest akcelerowane, decydują możliwości obrazu źródłowego
+ * ({@link java.awt.ImageCapabilities#isAccelerated()}). Ich odczyt tworzy nowy obiekt,
+ * więc {@link WorldRenderer} nie sprawdza ich przy każdym {@code drawImage}: obrazy
+ * z {@link ScaledImageCache} są sprawdzane przy utworzeniu i ponownie co kilkaset klatek
+ * ({@link ScaledImageCache#refreshAcceleration}), a tu trafia zapamiętany wynik. Liczniki są
+ * zwiększane w wątku rysującym, a odczytywane i zerowane przez nakładkę ({@link PerfOverlay})
+ * w tym samym wątku.
+ * </p>
+ */
+public final class BlitCounters {
+
+    /** Sprite'y gracza i obiektów planszy. */
+    public static final int SPRITE = 0;
+
+    /** Pasy warstw tła. */
+    public static final int BACKGROUND = 1;
+
+    /** Obraz HUD. */
+    public static final int HUD = 2;
+
+    /** Kopiowania prostokątów z bufora klatki na ekran ({@link BackBuffer}). */
+    public static final int PRESENT = 3;
+
+    /** Liczba rodzajów źródeł. */
+    public static final int SOURCES = 4;
+
+    /** Akcelerowane kopiowania według rodzaju źródła. */
+    private final long[] accelerated = new long[SOURCES];
+
+    /** Programowe kopiowania według rodzaju źródła. */
+    private final long[] software = new long[SOURCES];
+
+    /**
+     * Zlicza jedno kopiowanie.
+     *
+     * @param source rodzaj źródła ({@link #SPRITE}, {@link #BACKGROUND}, {@link #HUD}, {@link #PRESENT})
+     * @param isAccelerated czy obraz źródłowy był akcelerowany
+     */
+    public void record(int source, boolean isAccelerated) {
+        if (isAccelerated) {
+            accelerated[source]++;
+        } else {
+            software[source]++;
+        }
+    }
+
+    /**
+     * Zwraca liczbę akcelerowanych kopiowań od ostatniego {@link #reset()}.
+     *
+     * @param source rodzaj źródła
+     * @return liczba kopiowań
+     */
+    public long accelerated(int source) {
+        return accelerated[source];
+    }
+
+    /**
+     * Zwraca liczbę programowych kopiowań od ostatniego {@link #reset()}.
+     *
+     * @param source rodzaj źródła
+     * @return liczba kopiowań
+     */
+    public long software(int source) {
+        return software[source];
+    }
+
+    /**
+     * Zeruje wszystkie liczniki.
+     */
+    public void reset() {
+        Arrays.fill(accelerated, 0);
+        Arrays.fill(software, 0);
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * Sprawdzanie kolizji prostokątów na współrzędnych prymitywnych.
+ * <p>
+ * Zastępuje {@code new Rectangle(...).intersects(...)} w pętli symulacji – wynik jest taki sam
+ * jak {@link java.awt.Rectangle#intersects(java.awt.Rectangle)}, ale bez tworzenia obiektów,
+ * więc krok symulacji nie obciąża odśmiecacza pamięci.
+ * </p>
+ */
+public final class Bounds {
+
+    /** Klasa narzędziowa – brak instancji. */
+    private Bounds() {}
+
+    /**
+     * Sprawdza, czy dwa prostokąty mają część wspólną.
+     * Prostokąt o niedodatniej szerokości lub wysokości nie koliduje z niczym
+     * (tak jak w {@link java.awt.Rectangle}).
+     *
+     * @param ax pozycja X pierwszego prostokąta
+     * @param ay pozycja Y pierwszego prostokąta
+     * @param aw szerokość pierwszego prostokąta
+     * @param ah wysokość pierwszego prostokąta
+     * @param bx pozycja X drugiego prostokąta
+     * @param by pozycja Y drugiego prostokąta
+     * @param bw szerokość drugiego prostokąta
+     * @param bh wysokość drugiego prostokąta
+     * @return true, jeśli prostokąty się przecinają
+     */
+    public static boolean intersects(int ax, int ay, int aw, int ah,
+                                     int bx, int by, int bw, int bh) {
+        if (aw <= 0 || ah <= 0 || bw <= 0 || bh <= 0) return false;
+        // long – suma pozycji i rozmiaru nie może się przepełnić
+        return (long) ax + aw > bx && (long) bx + bw > ax
+                && (long) ay + ah > by && (long) by + bh > ay;
+    }
+}
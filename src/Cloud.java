@@ -1,6 +1,3 @@
-import javax.swing.*;
-import java.awt.*;
-
 /**
  * Przeszkoda typu chmura.
  * <p>
@@ -10,10 +7,14 @@ import java.awt.*;
  */
 public class Cloud extends Obstacle {
 
-    /**
-     * Obraz graficzny chmury
-     */
-    private Image sprite;
+    /** Szerokość chmury. */
+    public static final int WIDTH = 96;
+
+    /** Wysokość chmury. */
+    public static final int HEIGHT = 64;
+
+    /** Ile pikseli NAD linią ziemi wisi chmura. */
+    private static final int VERTICAL_OFFSET = 180;
 
     /**
      * Tworzy nową chmurę przeszkodę.
@@ -22,21 +23,17 @@ public class Cloud extends Obstacle {
      * @param groundBaselineY pozycja linii ziemi (referencja wysokości)
      */
     public Cloud(int startX, int groundBaselineY) {
-        super(startX, 0, 96, 64);
-
-        int verticalOffset = 180;   // ile NAD ziemią wisi chmura
-        this.y = groundBaselineY - verticalOffset;
-
-        sprite = new ImageIcon("assets/cloud.png").getImage();
+        super(startX, topY(groundBaselineY), WIDTH, HEIGHT);
     }
 
     /**
-     * Rysowanie przeszkody
-     * @param g obiekt Graphics używany do rysowania
+     * Zwraca pozycję Y chmury dla podanej linii ziemi
+     * (pozwala sprawdzić miejsce przed utworzeniem obiektu).
+     *
+     * @param groundBaselineY pozycja linii ziemi
+     * @return pozycja Y górnej krawędzi chmury
      */
-    @Override
-    public void draw(Graphics g) {
-        g.drawImage(sprite, x, y, width, height, null);
+    public static int topY(int groundBaselineY) {
+        return groundBaselineY - VERTICAL_OFFSET;
     }
 }
-
@@ -0,0 +1,348 @@
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.util.function.IntConsumer;
+
+/**
+ * Okno dialogowe i krótkie powiadomienia (toasty) rysowane bezpośrednio na planszy gry.
+ * <p>
+ * Zastępuje modalne okna {@link javax.swing.JOptionPane}, które zatrzymywały wątek EDT
+ * we własnej pętli zdarzeń. Dialog to stan: {@link #show} tylko zapamiętuje treść i przyciski,
+ * panel rysuje go w swoim {@code paint} ({@link #paint(Graphics, int, int)}) i przekazuje mu
+ * kliknięcia oraz klawisze. Wybór przycisku ukrywa dialog i wywołuje akcję – nic nie czeka
+ * na użytkownika, więc pętla gry i kolejka zdarzeń nigdy nie są blokowane.
+ * </p>
+ * <p>
+ * Toast wysuwa się z góry planszy, jest widoczny przez {@link #TOAST_NANOS} i znika
+ * z wygaszeniem. Panel, który go wyświetla, powinien przerysowywać {@link #toastBounds(int)},
+ * dopóki {@link #isToastActive()} zwraca true.
+ * </p>
+ * <p>
+ * Wszystkie metody są wywoływane z wątku EDT.
+ * </p>
+ */
+public final class DialogOverlay {
+
+    /** Czas wyświetlania toastu (ns). */
+    private static final long TOAST_NANOS = 1_600_000_000L;
+
+    /** Czas wysuwania toastu (ns). */
+    private static final long TOAST_SLIDE_NANOS = 150_000_000L;
+
+    /** Czas wygaszania toastu (ns). */
+    private static final long TOAST_FADE_NANOS = 400_000_000L;
+
+    /** Szerokość okna dialogowego. */
+    private static final int BOX_W = 440;
+
+    /** Szerokość przycisku. */
+    private static final int BUTTON_W = 170;
+
+    /** Wysokość przycisku. */
+    private static final int BUTTON_H = 36;
+
+    /** Odstęp między przyciskami. */
+    private static final int BUTTON_GAP = 20;
+
+    /** Wysokość wiersza treści. */
+    private static final int LINE_H = 22;
+
+    /** Wysokość toastu. */
+    private static final int TOAST_H = 40;
+
+    /** Odstęp toastu od górnej krawędzi planszy. */
+    private static final int TOAST_Y = 20;
+
+    /** Przyciemnienie planszy pod dialogiem. */
+    private static final Color SHADE = new Color(0, 0, 0, 120);
+
+    /** Tło okna dialogowego. */
+    private static final Color BOX_FILL = new Color(255, 255, 255, 235);
+
+    /** Ramka okna dialogowego. */
+    private static final Color BOX_BORDER = new Color(0, 0, 0, 140);
+
+    /** Tło wybranego przycisku. */
+    private static final Color BUTTON_SELECTED = new Color(60, 150, 70);
+
+    /** Tło pozostałych przycisków. */
+    private static final Color BUTTON_FILL = new Color(225, 225, 225);
+
+    /** Tło toastu. */
+    private static final Color TOAST_FILL = new Color(170, 30, 30);
+
+    /** Czcionka tytułu. */
+    private static final Font TITLE_FONT = new Font("Arial", Font.BOLD, 20);
+
+    /** Czcionka treści. */
+    private static final Font TEXT_FONT = new Font("Arial", Font.PLAIN, 15);
+
+    /** Czcionka przycisków i toastu. */
+    private static final Font BUTTON_FONT = new Font("Arial", Font.BOLD, 14);
+
+    /** Tytuł dialogu ({@code null}, gdy dialog jest ukryty). */
+    private String title;
+
+    /** Wiersze treści dialogu. */
+    private String[] lines = new String[0];
+
+    /** Etykiety przycisków. */
+    private String[] options = new String[0];
+
+    /** Akcja wywoływana z indeksem wybranego przycisku. */
+    private IntConsumer onChoice;
+
+    /** Indeks zaznaczonego przycisku (klawiatura, najechanie myszą). */
+    private int selected;
+
+    /** Obszary przycisków z ostatniego rysowania (do trafień kliknięć). */
+    private Rectangle[] buttons = new Rectangle[0];
+
+    /** Tekst toastu ({@code null}, gdy brak). */
+    private String toastText;
+
+    /** Czas pokazania toastu (ns). */
+    private long toastStart;
+
+    /**
+     * Pokazuje dialog (zastępuje poprzedni).
+     *
+     * @param title tytuł
+     * @param message treść (wiersze oddzielone {@code \n})
+     * @param onChoice akcja wywoływana z indeksem wybranego przycisku, po ukryciu dialogu
+     * @param options etykiety przycisków (co najmniej jedna)
+     */
+    public void show(String title, String message, IntConsumer onChoice, String... options) {
+        this.title = title;
+        this.lines = message.split("\n", -1);
+        this.options = options.clone();
+        this.onChoice = onChoice;
+        this.selected = 0;
+        this.buttons = new Rectangle[options.length];
+    }
+
+    /**
+     * Ukrywa dialog bez wywoływania akcji.
+     */
+    public void hide() {
+        title = null;
+        onChoice = null;
+    }
+
+    /**
+     * Informuje, czy dialog jest widoczny.
+     *
+     * @return true, jeśli dialog czeka na wybór
+     */
+    public boolean isVisible() {
+        return title != null;
+    }
+
+    /**
+     * Wybiera przycisk: ukrywa dialog i wywołuje akcję.
+     *
+     * @param option indeks przycisku
+     */
+    public void choose(int option) {
+        if (!isVisible() || option < 0 || option >= options.length) return;
+        IntConsumer action = onChoice;
+        hide();
+        action.accept(option);
+    }
+
+    /**
+     * Obsługuje klawisz: strzałki i TAB zmieniają zaznaczony przycisk, ENTER go wybiera.
+     *
+     * @param keyCode kod klawisza ({@link KeyEvent})
+     * @return true, jeśli wygląd dialogu się zmienił (trzeba go przerysować)
+     */
+    public boolean keyPressed(int keyCode) {
+        if (!isVisible()) return false;
+        switch (keyCode) {
+            case KeyEvent.VK_LEFT -> selected = (selected + options.length - 1) % options.length;
+            case KeyEvent.VK_RIGHT, KeyEvent.VK_TAB -> selected = (selected + 1) % options.length;
+            case KeyEvent.VK_ENTER -> choose(selected);
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Obsługuje kliknięcie: wybiera trafiony przycisk.
+     *
+     * @param x pozycja X kursora
+     * @param y pozycja Y kursora
+     * @return true, jeśli dialog jest widoczny (kliknięcie nie trafia do planszy pod nim)
+     */
+    public boolean click(int x, int y) {
+        if (!isVisible()) return false;
+        int hit = buttonAt(x, y);
+        if (hit >= 0) choose(hit);
+        return true;
+    }
+
+    /**
+     * Zaznacza przycisk pod kursorem.
+     *
+     * @param x pozycja X kursora
+     * @param y pozycja Y kursora
+     * @return true, jeśli zaznaczenie się zmieniło (trzeba przerysować dialog)
+     */
+    public boolean hover(int x, int y) {
+        if (!isVisible()) return false;
+        int hit = buttonAt(x, y);
+        if (hit < 0 || hit == selected) return false;
+        selected = hit;
+        return true;
+    }
+
+    /**
+     * Zwraca indeks przycisku pod kursorem.
+     *
+     * @param x pozycja X kursora
+     * @param y pozycja Y kursora
+     * @return indeks przycisku lub -1
+     */
+    private int buttonAt(int x, int y) {
+        for (int i = 0; i < buttons.length; i++) {
+            if (buttons[i] != null && buttons[i].contains(x, y)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Pokazuje toast (zastępuje poprzedni).
+     *
+     * @param text treść powiadomienia
+     */
+    public void toast(String text) {
+        toastText = text;
+        toastStart = System.nanoTime();
+    }
+
+    /**
+     * Informuje, czy toast jest jeszcze widoczny (animacja trwa).
+     *
+     * @return true, jeśli toast trzeba dalej przerysowywać
+     */
+    public boolean isToastActive() {
+        return toastText != null && System.nanoTime() - toastStart < TOAST_NANOS;
+    }
+
+    /**
+     * Zwraca obszar zajmowany przez toast (cała jego droga wysuwania).
+     *
+     * @param w szerokość planszy
+     * @return obszar do przerysowania
+     */
+    public Rectangle toastBounds(int w) {
+        return new Rectangle(0, 0, w, TOAST_Y + TOAST_H + 2);
+    }
+
+    /**
+     * Rysuje dialog nad przyciemnioną planszą (jeśli jest widoczny), a nad nim toast.
+     *
+     * @param g obiekt graficzny planszy
+     * @param w szerokość planszy
+     * @param h wysokość planszy
+     */
+    public void paint(Graphics g, int w, int h) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            if (isVisible()) paintDialog(g2, w, h);
+            paintToast(g2, w);
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    /**
+     * Rysuje toast w bieżącej fazie animacji.
+     *
+     * @param g obiekt graficzny
+     * @param w szerokość planszy
+     */
+    private void paintToast(Graphics2D g, int w) {
+        if (toastText == null) return;
+        long age = System.nanoTime() - toastStart;
+        if (age >= TOAST_NANOS) {
+            toastText = null;
+            return;
+        }
+        double slide = Math.min(1.0, (double) age / TOAST_SLIDE_NANOS);
+        double alpha = Math.min(1.0, (double) (TOAST_NANOS - age) / TOAST_FADE_NANOS);
+
+        g.setFont(BUTTON_FONT);
+        FontMetrics fm = g.getFontMetrics();
+        int tw = fm.stringWidth(toastText) + 40;
+        int x = (w - tw) / 2;
+        int y = (int) Math.round(-TOAST_H + slide * (TOAST_Y + TOAST_H));
+
+        Composite old = g.getComposite();
+        g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (float) alpha));
+        g.setColor(TOAST_FILL);
+        g.fillRoundRect(x, y, tw, TOAST_H, 14, 14);
+        g.setColor(Color.WHITE);
+        g.drawString(toastText, x + 20, y + (TOAST_H + fm.getAscent() - fm.getDescent()) / 2);
+        g.setComposite(old);
+    }
+
+    /**
+     * Rysuje dialog: przyciemnienie, ramkę, tytuł, treść i przyciski.
+     *
+     * @param g obiekt graficzny
+     * @param w szerokość planszy
+     * @param h wysokość planszy
+     */
+    private void paintDialog(Graphics2D g, int w, int h) {
+        g.setColor(SHADE);
+        g.fillRect(0, 0, w, h);
+
+        int boxH = 60 + lines.length * LINE_H + 20 + BUTTON_H + 24;
+        int bx = (w - BOX_W) / 2;
+        int by = (h - boxH) / 2;
+        g.setColor(BOX_FILL);
+        g.fillRoundRect(bx, by, BOX_W, boxH, 16, 16);
+        g.setColor(BOX_BORDER);
+        g.drawRoundRect(bx, by, BOX_W, boxH, 16, 16);
+
+        g.setColor(Color.BLACK);
+        g.setFont(TITLE_FONT);
+        drawCentered(g, title, bx + BOX_W / 2, by + 38);
+        g.setFont(TEXT_FONT);
+        for (int i = 0; i < lines.length; i++) {
+            drawCentered(g, lines[i], bx + BOX_W / 2, by + 60 + (i + 1) * LINE_H - 6);
+        }
+
+        int rowW = options.length * BUTTON_W + (options.length - 1) * BUTTON_GAP;
+        int x = bx + (BOX_W - rowW) / 2;
+        int y = by + boxH - BUTTON_H - 20;
+        g.setFont(BUTTON_FONT);
+        for (int i = 0; i < options.length; i++) {
+            buttons[i] = new Rectangle(x, y, BUTTON_W, BUTTON_H);
+            g.setColor(i == selected ? BUTTON_SELECTED : BUTTON_FILL);
+            g.fillRoundRect(x, y, BUTTON_W, BUTTON_H, 10, 10);
+            g.setColor(BOX_BORDER);
+            g.drawRoundRect(x, y, BUTTON_W, BUTTON_H, 10, 10);
+            g.setColor(i == selected ? Color.WHITE : Color.BLACK);
+            FontMetrics fm = g.getFontMetrics();
+            drawCentered(g, options[i], x + BUTTON_W / 2, y + (BUTTON_H + fm.getAscent() - fm.getDescent()) / 2);
+            x += BUTTON_W + BUTTON_GAP;
+        }
+    }
+
+    /**
+     * Rysuje tekst wyśrodkowany w poziomie.
+     *
+     * @param g obiekt graficzny
+     * @param text tekst
+     * @param cx środek w poziomie
+     * @param baseline linia bazowa tekstu
+     */
+    private static void drawCentered(Graphics2D g, String text, int cx, int baseline) {
+        g.drawString(text, cx - g.getFontMetrics().stringWidth(text) / 2, baseline);
+    }
+}
@@ -0,0 +1,168 @@
+/**
+ * Zbiór uszkodzonych (wymagających ponownego narysowania) prostokątów klatki.
+ * <p>
+ * Prostokąty są przycinane do obszaru klatki, a nachodzące na siebie – łączone w jeden.
+ * Gdy prostokątów jest zbyt wiele, wszystkie są zastępowane jednym obejmującym je prostokątem.
+ * Klasa nie alokuje niczego po utworzeniu.
+ * </p>
+ */
+public final class DirtyRegions {
+
+    /** Największa liczba osobnych prostokątów. */
+    private static final int MAX_RECTS = 64;
+
+    /** Pozycje X prostokątów. */
+    private final int[] xs = new int[MAX_RECTS];
+    /** Pozycje Y prostokątów. */
+    private final int[] ys = new int[MAX_RECTS];
+    /** Prawe krawędzie prostokątów (wyłącznie). */
+    private final int[] x2s = new int[MAX_RECTS];
+    /** Dolne krawędzie prostokątów (wyłącznie). */
+    private final int[] y2s = new int[MAX_RECTS];
+
+    /** Liczba prostokątów. */
+    private int count;
+
+    /** Szerokość klatki (granica przycinania). */
+    private int width;
+
+    /** Wysokość klatki (granica przycinania). */
+    private int height;
+
+    /**
+     * Usuwa wszystkie prostokąty i ustawia rozmiar klatki.
+     *
+     * @param width szerokość klatki
+     * @param height wysokość klatki
+     */
+    public void reset(int width, int height) {
+        this.width = width;
+        this.height = height;
+        count = 0;
+    }
+
+    /**
+     * Oznacza całą klatkę jako uszkodzoną.
+     */
+    public void addAll() {
+        count = 0;
+        add(0, 0, width, height);
+    }
+
+    /**
+     * Dodaje prostokąt (przycięty do klatki, pusty jest pomijany).
+     *
+     * @param x pozycja X
+     * @param y pozycja Y
+     * @param w szerokość
+     * @param h wysokość
+     */
+    public void add(int x, int y, int w, int h) {
+        int x1 = Math.max(0, x);
+        int y1 = Math.max(0, y);
+        int x2 = Math.min(width, x + w);
+        int y2 = Math.min(height, y + h);
+        if (x1 >= x2 || y1 >= y2) return;
+
+        for (int i = 0; i < count; i++) {
+            if (x1 <= x2s[i] && xs[i] <= x2 && y1 <= y2s[i] && ys[i] <= y2) {
+                xs[i] = Math.min(xs[i], x1);
+                ys[i] = Math.min(ys[i], y1);
+                x2s[i] = Math.max(x2s[i], x2);
+                y2s[i] = Math.max(y2s[i], y2);
+                return;
+            }
+        }
+        if (count == MAX_RECTS) {
+            collapse();
+            add(x1, y1, x2 - x1, y2 - y1);
+            return;
+        }
+        xs[count] = x1;
+        ys[count] = y1;
+        x2s[count] = x2;
+        y2s[count] = y2;
+        count++;
+    }
+
+    /**
+     * Zastępuje wszystkie prostokąty jednym, obejmującym je prostokątem.
+     */
+    private void collapse() {
+        for (int i = 1; i < count; i++) {
+            xs[0] = Math.min(xs[0], xs[i]);
+            ys[0] = Math.min(ys[0], ys[i]);
+            x2s[0] = Math.max(x2s[0], x2s[i]);
+            y2s[0] = Math.max(y2s[0], y2s[i]);
+        }
+        count = Math.min(count, 1);
+    }
+
+    /**
+     * Sprawdza, czy prostokąt przecina którykolwiek uszkodzony prostokąt.
+     *
+     * @param x pozycja X
+     * @param y pozycja Y
+     * @param w szerokość
+     * @param h wysokość
+     * @return true, jeśli obszar wymaga narysowania
+     */
+    public boolean intersects(int x, int y, int w, int h) {
+        for (int i = 0; i < count; i++) {
+            if (x < x2s[i] && xs[i] < x + w && y < y2s[i] && ys[i] < y + h) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Zwraca liczbę prostokątów.
+     *
+     * @return liczba prostokątów
+     */
+    public int count() { return count; }
+
+    /**
+     * Zwraca pozycję X prostokąta.
+     *
+     * @param i indeks prostokąta
+     * @return pozycja X
+     */
+    public int x(int i) { return xs[i]; }
+
+    /**
+     * Zwraca pozycję Y prostokąta.
+     *
+     * @param i indeks prostokąta
+     * @return pozycja Y
+     */
+    public int y(int i) { return ys[i]; }
+
+    /**
+     * Zwraca szerokość prostokąta.
+     *
+     * @param i indeks prostokąta
+     * @return szerokość
+     */
+    public int width(int i) { return x2s[i] - xs[i]; }
+
+    /**
+     * Zwraca wysokość prostokąta.
+     *
+     * @param i indeks prostokąta
+     * @return wysokość
+     */
+    public int height(int i) { return y2s[i] - ys[i]; }
+
+    /**
+     * Zwraca łączne pole prostokątów (piksele; nachodzące obszary są liczone raz po połączeniu).
+     *
+     * @return pole w pikselach
+     */
+    public long area() {
+        long area = 0;
+        for (int i = 0; i < count; i++) {
+            area += (long) width(i) * height(i);
+        }
+        return area;
+    }
+}
@@ -1,11 +1,27 @@
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Główne okno aplikacji oraz kontroler stanów gry.
  * <p>
  * Klasa zarządza przełączaniem widoków (Menu / Gra / Sortowanie) za pomocą {@link CardLayout},
  * pilnuje numeru poziomu, sumarycznych punktów i czasu sesji oraz przekazuje dane między panelami.
+ * Rekordy gracza są zapisywane w trwałym dzienniku wyników ({@link ScoreStore}), więc przetrwają
+ * zamknięcie gry.
+ * </p>
+ * <p>
+ * Okno z menu pokazuje się od razu: grafika jest dekodowana równolegle w tle
+ * ({@link SpriteRegistry#preloadAsync}), a panele gry i sortowania są tworzone dopiero
+ * przy pierwszym przejściu do nich. Czas do narysowania pierwszej klatki menu
+ * i czas wczytywania grafiki są wypisywane na konsolę. Dziennik wyników i ranking również
+ * są wczytywane w tle, a rekordy i tabela wyników pojawiają się w menu po wczytaniu.
  * </p>
  *
  * <h2>Stany gry</h2>
@@ -16,6 +32,20 @@ import java.awt.*;
  * </ul>
  */
 public class EcoJumperGame extends JFrame {
+    /**
+     * Nazwa gracza, którego wyniki są zapisywane – właściwość systemowa {@code ecojumper.player}
+     * (domyślnie nazwa użytkownika systemu).
+     */
+    private static final String PLAYER =
+            System.getProperty("ecojumper.player", System.getProperty("user.name", "gracz"));
+
+    /**
+     * Plik dziennika wyników – właściwość systemowa {@code ecojumper.scores}
+     * (domyślnie {@code ~/.ecojumper/scores.log}).
+     */
+    private static final String SCORES_FILE = System.getProperty("ecojumper.scores",
+            Path.of(System.getProperty("user.home"), ".ecojumper", "scores.log").toString());
+
     /**
      * Układ kart pozwala przełączać panele po nazwie ("MENU","GAME","SORTING").
      */
@@ -27,12 +57,22 @@ public class EcoJumperGame extends JFrame {
     /** Panel menu głównego. */
     private MenuPanel menuPanel;
 
-    /** Panel rozgrywki platformowej. */
+    /** Panel rozgrywki platformowej (tworzony przy pierwszym użyciu – {@link #gamePanel()}). */
     private GamePanel gamePanel;
 
-    /** Panel sortowania odpadów po ukończeniu poziomu. */
+    /** Panel sortowania odpadów po ukończeniu poziomu (tworzony przy pierwszym użyciu – {@link #sortingPanel()}). */
     private SortingPanel sortingPanel;
 
+    /**
+     * Liczba wątków dekodujących grafikę przy starcie – właściwość systemowa
+     * {@code ecojumper.assetThreads} (domyślnie liczba procesorów, najwyżej 4).
+     */
+    private static final int ASSET_THREADS = Integer.getInteger("ecojumper.assetThreads",
+            Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    /** Czas rozpoczęcia tworzenia okna (ns) – do pomiaru czasu startu. */
+    private final long constructStart = System.nanoTime();
+
     /** Aktualny poziom w bieżącej sesji gry (0 oznacza brak rozpoczętej sesji). */
     private int currentLevel = 0;
 
@@ -51,6 +91,38 @@ public class EcoJumperGame extends JFrame {
     /** Timestamp rozpoczęcia aktualnego poziomu (ms). */
     private long levelStartTime = 0;
 
+    /** Timestamp rozpoczęcia bieżącej sesji gry (ms). */
+    private long sessionStartTime = 0;
+
+    /** Identyfikator bieżącej sesji gry w dzienniku wyników. */
+    private long sessionId = 0;
+
+    /**
+     * Trwały dziennik wyników, otwierany w tle ({@link #loadScores()}) – odtworzenie długiej
+     * historii i zbudowanie rankingu nie opóźnia pokazania menu.
+     */
+    private final CompletableFuture<ScoreStore> scores;
+
+    /** Ranking przebiegów gry, aktualizowany wpisami dziennika wyników. */
+    private final Leaderboard leaderboard = new Leaderboard();
+
+    /** Liczba wierszy tabeli wyników w menu. */
+    private static final int TOP_ROWS = 10;
+
+    /**
+     * Czy sprawdzać zgłaszane wyniki ponowną symulacją sesji – właściwość systemowa
+     * {@code ecojumper.verify} (niezgodność oznacza błąd determinizmu gry). Domyślnie wyłączone:
+     * to praca procesora, za którą płaci gracz, a lokalny wynik sprawdza się raczej
+     * osobną usługą ({@link ScoreVerifier}).
+     */
+    private static final boolean VERIFY_SCORES = Boolean.getBoolean("ecojumper.verify");
+
+    /** Zapis bieżącej sesji (nagrania poziomów i pomyłki przy sortowaniu) do weryfikacji wyniku. */
+    private RunRecord run = new RunRecord();
+
+    /** Weryfikacja wyników w tle ({@code null}, gdy wyłączona). */
+    private final ScoreVerifier verifier = VERIFY_SCORES ? new ScoreVerifier(1, 16) : null;
+
     /**
      * Tworzy główne okno gry, inicjalizuje panele i ustawia widok MENU jako startowy.
      */
@@ -60,19 +132,130 @@ public class EcoJumperGame extends JFrame {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
 
+        int assetCount = SpriteRegistry.allAssets().length;
+        SpriteRegistry.preloadAsync(ASSET_THREADS,
+                done -> SwingUtilities.invokeLater(() -> menuPanel.assetsLoaded(done, assetCount)))
+                .whenComplete((v, e) -> System.out.printf("Wczytano %d sprite'ów (%.1f MB) w %d ms (wątki: %d, źródło: %s)%n",
+                        SpriteRegistry.size(), SpriteRegistry.getMemoryUsageBytes() / (1024.0 * 1024.0),
+                        (System.nanoTime() - constructStart) / 1_000_000, ASSET_THREADS,
+                        SpriteRegistry.getBundleFile() != null ? SpriteRegistry.getBundleFile() : "pliki PNG"));
+
+        scores = loadScores();
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                if (verifier != null) verifier.close();
+                if (gamePanel != null) gamePanel.dumpPerfStats();
+                // niewczytany dziennik nie ma jeszcze nic do zapisania
+                if (scores.isDone()) scores().close();
+            }
+        });
+
         cardLayout = new CardLayout();
         mainPanel = new JPanel(cardLayout);
 
         menuPanel = new MenuPanel(this);
-        gamePanel = new GamePanel(this);
-        sortingPanel = new SortingPanel(this);
 
         mainPanel.add(menuPanel, "MENU");
-        mainPanel.add(gamePanel, "GAME");
-        mainPanel.add(sortingPanel, "SORTING");
 
         add(mainPanel);
         cardLayout.show(mainPanel, "MENU");
+
+        updateMenuRecords();
+    }
+
+    /**
+     * Zwraca panel rozgrywki, tworząc go przy pierwszym użyciu.
+     * Nowy panel od razu dostaje rozmiar okna (poziom jest generowany dla szerokości panelu).
+     *
+     * @return panel gry
+     */
+    private GamePanel gamePanel() {
+        if (gamePanel == null) {
+            gamePanel = new GamePanel(this);
+            mainPanel.add(gamePanel, "GAME");
+            mainPanel.validate();
+        }
+        return gamePanel;
+    }
+
+    /**
+     * Zwraca panel sortowania, tworząc go przy pierwszym użyciu.
+     *
+     * @return panel sortowania
+     */
+    private SortingPanel sortingPanel() {
+        if (sortingPanel == null) {
+            sortingPanel = new SortingPanel(this);
+            mainPanel.add(sortingPanel, "SORTING");
+            mainPanel.validate();
+        }
+        return sortingPanel;
+    }
+
+    /**
+     * Zgłasza narysowanie pierwszej klatki menu i wypisuje czas startu:
+     * od uruchomienia JVM oraz od rozpoczęcia tworzenia okna.
+     */
+    public void firstFramePainted() {
+        System.out.printf("Pierwsza klatka menu: %d ms od startu JVM (%d ms od utworzenia okna)%n",
+                ManagementFactory.getRuntimeMXBean().getUptime(),
+                (System.nanoTime() - constructStart) / 1_000_000);
+    }
+
+    /**
+     * Otwiera dziennik wyników i buduje ranking w osobnym wątku, a potem w wątku EDT
+     * uzupełnia rekordy gracza i tabelę wyników w menu.
+     *
+     * @return magazyn wyników dostępny po wczytaniu
+     */
+    private CompletableFuture<ScoreStore> loadScores() {
+        CompletableFuture<ScoreStore> future = new CompletableFuture<>();
+        Thread loader = new Thread(() -> {
+            long start = System.nanoTime();
+            ScoreStore store = openScores();
+            leaderboard.top(TOP_ROWS); // buduje drzewa rankingu poza wątkiem EDT
+            System.out.printf("Wczytano %d wpisów wyników w %d ms%n",
+                    store.getRecoveredRecords(), (System.nanoTime() - start) / 1_000_000);
+            future.complete(store);
+            SwingUtilities.invokeLater(() -> {
+                bestScore = Math.max(bestScore, store.bestScore(PLAYER));
+                bestLevel = Math.max(bestLevel, store.bestLevel(PLAYER));
+                updateMenuRecords();
+            });
+        }, "EcoJumper-ScoreLoad");
+        loader.setDaemon(true);
+        loader.start();
+        return future;
+    }
+
+    /**
+     * Zwraca dziennik wyników. Jeśli nie został jeszcze wczytany (sesja zakończona bardzo szybko
+     * po starcie), czeka na koniec wczytywania.
+     *
+     * @return magazyn wyników
+     */
+    private ScoreStore scores() {
+        return scores.join();
+    }
+
+    /**
+     * Otwiera dziennik wyników (wypełniając nim ranking); gdy się nie da,
+     * wyniki są trzymane tylko w pamięci.
+     *
+     * @return magazyn wyników
+     */
+    private ScoreStore openScores() {
+        try {
+            ScoreStore store = ScoreStore.open(Path.of(SCORES_FILE), leaderboard::accept);
+            if (store.getDiscardedBytes() > 0) {
+                System.out.printf("Plik wyników: odrzucono uszkodzony koniec (%d B)%n", store.getDiscardedBytes());
+            }
+            return store;
+        } catch (IOException e) {
+            System.out.println("Nie udało się otworzyć pliku wyników: " + e.getMessage());
+            return ScoreStore.inMemory(leaderboard::accept);
+        }
     }
 
     /**
@@ -93,27 +276,53 @@ public class EcoJumperGame extends JFrame {
         if (currentLevel == 0) {
             currentScore = 0;
             totalTimeMs = 0;
+            sessionId = ThreadLocalRandom.current().nextLong();
+            sessionStartTime = System.currentTimeMillis();
+            run = new RunRecord();
         }
 
         currentLevel++;
         levelStartTime = System.currentTimeMillis();
 
+        GamePanel panel = gamePanel();
         cardLayout.show(mainPanel, "GAME");
-        gamePanel.startLevel();
+        panel.startLevel();
 
-        SwingUtilities.invokeLater(() -> gamePanel.requestFocusInWindow());
+        GameEvents.LevelStart event = new GameEvents.LevelStart();
+        if (event.isEnabled()) {
+            GameWorld world = panel.getWorld();
+            event.level = currentLevel;
+            event.seed = world.getSeed();
+            event.worldSpeed = world.getWorldSpeed();
+            event.trashToCollect = world.getTrashToCollect();
+            event.commit();
+        }
+
+        SwingUtilities.invokeLater(panel::requestFocusInWindow);
     }
     /**
      * Przełącza widok na menu główne oraz aktualizuje etykiety z rekordami.
-     * Zatrzymuje timer w {@link GamePanel}, aby gra nie działała w tle.
+     * Zatrzymuje pętlę gry w {@link GamePanel}, aby gra nie działała w tle.
      */
     public void showMenuPanel() {
-        gamePanel.stopGame();
+        if (gamePanel != null) gamePanel.stopGame();
         cardLayout.show(mainPanel, "MENU");
         menuPanel.requestFocusInWindow();
 
+        updateMenuRecords();
+    }
+
+    /**
+     * Aktualizuje w menu rekordy gracza oraz tabelę najlepszych wyników.
+     */
+    private void updateMenuRecords() {
         menuPanel.updateBestLevel(bestLevel);
         menuPanel.updateBestScore(bestScore);
+        if (!scores.isDone()) {
+            menuPanel.updateLeaderboard(null, 0);
+            return;
+        }
+        menuPanel.updateLeaderboard(leaderboard.top(TOP_ROWS), bestScore > 0 ? leaderboard.rank(bestScore) : 0);
     }
 
     /**
@@ -130,9 +339,19 @@ public class EcoJumperGame extends JFrame {
 
         currentScore += levelScore;
 
+        GameEvents.LevelComplete event = new GameEvents.LevelComplete();
+        if (event.isEnabled()) {
+            event.level = currentLevel;
+            event.levelScore = levelScore;
+            event.totalScore = currentScore;
+            event.levelTime = levelTime;
+            event.collected = paperCount + plasticCount + glassCount;
+            event.commit();
+        }
+
         boolean isLastLevel = false;
 
-        sortingPanel.loadTrash(
+        sortingPanel().loadTrash(
                 paperCount,
                 plasticCount,
                 glassCount,
@@ -148,21 +367,72 @@ public class EcoJumperGame extends JFrame {
     }
 
     /**
-     * Aktualizuje rekord punktowy (bestScore), jeśli finalScore jest większy.
+     * Zapisuje wynik w dzienniku wyników (bez czekania na zapis na dysk)
+     * i aktualizuje rekord punktowy (bestScore), jeśli finalScore jest większy.
      *
      * @param finalScore końcowy wynik punktowy z poziomu
      */
     public void registerScore(int finalScore) {
+        scores().recordScore(PLAYER, sessionId, finalScore, currentLevel);
         if (finalScore > bestScore) {
             bestScore = finalScore;
         }
+        verifyScore(finalScore);
     }
 
     /**
-     * Zamyka bieżącą sesję gry: aktualizuje rekord poziomów (bestLevel),
+     * Przyjmuje zakończone nagranie poziomu do zapisu bieżącej sesji.
+     *
+     * @param recording nagranie poziomu (z wynikiem planszy)
+     */
+    public void levelRecorded(InputRecording recording) {
+        run.addLevel(recording);
+    }
+
+    /**
+     * Zlicza pomyłkę przy sortowaniu w bieżącym poziomie (do weryfikacji wyniku).
+     */
+    public void sortingMistake() {
+        run.addMistake();
+    }
+
+    /**
+     * Zgłasza wynik sesji do weryfikacji ponowną symulacją; niezgodność jest wypisywana.
+     * Punkty ostatniego poziomu to punkty po sortowaniu, a gdy poziom nie został ukończony –
+     * zgłoszony wynik planszy.
+     *
+     * @param finalScore wynik przekazany do {@link #registerScore(int)}
+     */
+    private void verifyScore(int finalScore) {
+        if (verifier == null || run.levels() == 0) return;
+        int last = run.levels() - 1;
+        InputRecording level = run.level(last);
+        int levelScore = level.getStatus() == GameWorld.Status.LEVEL_COMPLETE
+                ? Math.max(0, level.getScore() - SortingPanel.WRONG_BIN_PENALTY * run.mistakes(last))
+                : finalScore;
+        run.claim(levelScore, finalScore);
+        verifier.submit(run.toBytes()).thenAccept(v -> {
+            if (!v.accepted()) System.out.println("Wynik nie przeszedł weryfikacji: " + v.reason());
+        });
+    }
+
+    /**
+     * Zamyka bieżącą sesję gry: zapisuje osiągnięty poziom w dzienniku wyników,
+     * aktualizuje rekord poziomów (bestLevel),
      * resetuje licznik poziomu i sumy sesji oraz wraca do menu.
      */
     public void levelCompleted() {
+        if (currentLevel > 0) {
+            scores().recordLevel(PLAYER, sessionId, currentLevel);
+
+            GameEvents.SessionEnd event = new GameEvents.SessionEnd();
+            if (event.isEnabled()) {
+                event.level = currentLevel;
+                event.totalScore = currentScore;
+                event.sessionTime = System.currentTimeMillis() - sessionStartTime;
+                event.commit();
+            }
+        }
         if (currentLevel > bestLevel) {
             bestLevel = currentLevel;
         }
@@ -0,0 +1,86 @@
+/**
+ * Rodzaje obiektów przechowywanych w {@link EntityStore} (kolumna {@code kind}).
+ * <p>
+ * Rodzaj decyduje o sprite'ie rysowanym dla wiersza magazynu oraz – dla odpadów –
+ * o typie {@link TrashType} zliczanym po zebraniu.
+ * </p>
+ */
+public final class EntityKind {
+
+    /** Przeszkoda – plama ropy ({@link OilSpill}). */
+    public static final int OIL_SPILL = 0;
+
+    /** Przeszkoda – chmura ({@link Cloud}). */
+    public static final int CLOUD = 1;
+
+    /** Odpad – papier. */
+    public static final int PAPER = 2;
+
+    /** Odpad – plastik. */
+    public static final int PLASTIC = 3;
+
+    /** Odpad – szkło. */
+    public static final int GLASS = 4;
+
+    /** Liczba rodzajów (rozmiar tablic indeksowanych rodzajem). */
+    public static final int COUNT = 5;
+
+    /** Klasa narzędziowa – brak instancji. */
+    private EntityKind() {}
+
+    /**
+     * Zwraca rodzaj odpowiadający typowi odpadu.
+     *
+     * @param type typ odpadu
+     * @return rodzaj obiektu
+     */
+    public static int of(TrashType type) {
+        return switch (type) {
+            case PAPER   -> PAPER;
+            case PLASTIC -> PLASTIC;
+            case GLASS   -> GLASS;
+        };
+    }
+
+    /**
+     * Zwraca rodzaj odpowiadający przeszkodzie.
+     *
+     * @param o przeszkoda
+     * @return rodzaj obiektu
+     */
+    public static int of(Obstacle o) {
+        return (o instanceof Cloud) ? CLOUD : OIL_SPILL;
+    }
+
+    /**
+     * Zwraca typ odpadu dla rodzaju obiektu.
+     *
+     * @param kind rodzaj obiektu
+     * @return typ odpadu lub {@code null}, jeśli rodzaj nie jest odpadem
+     */
+    public static TrashType trashType(int kind) {
+        return switch (kind) {
+            case PAPER   -> TrashType.PAPER;
+            case PLASTIC -> TrashType.PLASTIC;
+            case GLASS   -> TrashType.GLASS;
+            default      -> null;
+        };
+    }
+
+    /**
+     * Zwraca ścieżkę sprite'a rysowanego dla rodzaju obiektu.
+     *
+     * @param kind rodzaj obiektu
+     * @return ścieżka obrazu w {@link SpriteRegistry}
+     */
+    public static String sprite(int kind) {
+        return switch (kind) {
+            case OIL_SPILL -> SpriteRegistry.OIL_SPILL;
+            case CLOUD     -> SpriteRegistry.CLOUD;
+            case PAPER     -> SpriteRegistry.PAPER_VARIANTS[0];
+            case PLASTIC   -> SpriteRegistry.PLASTIC_VARIANTS[0];
+            case GLASS     -> SpriteRegistry.GLASS_VARIANTS[0];
+            default -> throw new IllegalArgumentException("Nieznany rodzaj obiektu: " + kind);
+        };
+    }
+}
@@ -0,0 +1,580 @@
+import java.util.Arrays;
+
+/**
+ * Magazyn obiektów planszy w układzie "struktura tablic" (struct of arrays).
+ * <p>
+ * Zamiast listy obiektów {@link Obstacle} / {@link TrashItem} każda cecha jest osobną tablicą
+ * prymitywów (pozycja, {@code y}, {@code width}, {@code height}, {@code speed}, {@code kind}).
+ * Aktywne obiekty zajmują ciągły zakres indeksów {@code 0..size()-1}, więc usuwanie obiektów
+ * poza ekranem i kolizje to proste pętle po ciągłej pamięci.
+ * </p>
+ * <p>
+ * Usunięcie przenosi ostatni wiersz na miejsce usuwanego (swap-remove, O(1)), dlatego indeks
+ * obiektu może się zmienić. Stałym uchwytem jest identyfikator zwracany przez {@link #add};
+ * identyfikatory usuniętych obiektów trafiają na listę wolnych i są używane ponownie,
+ * a tablice rosną tylko wtedy, gdy zabraknie miejsca – w ustalonej rozgrywce magazyn nie alokuje.
+ * </p>
+ * <p>
+ * Magazyn pełni więc rolę puli obiektów: {@link #add} pobiera miejsce (z listy wolnych – trafienie,
+ * albo nowe – chybienie), a {@link #removeAt} i {@link #clear()} je zwracają. Liczniki
+ * {@link #poolHits()}, {@link #poolMisses()} i {@link #growCount()} pozwalają sprawdzić,
+ * że długa sesja przestaje zajmować nowe miejsca i powiększać tablice.
+ * </p>
+ * <p>
+ * Pozycje X są przechowywane w układzie przewijania (pozycja na ekranie plus dystans przewinięty
+ * od {@link #clear()}). Obiekt poruszający się z prędkością przewijania ({@link #setScrollSpeed(int)})
+ * ma w nim stałą pozycję, więc przesunięcie planszy to zwiększenie jednego licznika, a nie pętla
+ * po wszystkich obiektach. Zapytania o kolizje ({@link #collectIntersecting}, {@link #anyIntersecting})
+ * i usuwanie obiektów poza ekranem korzystają z {@link SpatialGrid} w tym samym układzie, więc koszt
+ * kroku zależy od liczby obiektów w pobliżu, a nie od liczby wszystkich obiektów.
+ * Obiekty o innej prędkości są przesuwane i przenoszone między komórkami w {@link #advance()}.
+ * </p>
+ */
+public final class EntityStore {
+
+    /** Domyślna początkowa pojemność magazynu. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Pozycje X obiektów w układzie przewijania. */
+    private long[] sx;
+    /** Numer przesunięcia ({@link #advance()}), przy którym dodano obiekt (do interpolacji). */
+    private int[] born;
+    /** Pozycje Y obiektów. */
+    private int[] y;
+    /** Szerokości obiektów. */
+    private int[] width;
+    /** Wysokości obiektów. */
+    private int[] height;
+    /** Prędkości przesuwania w lewo (piksele na krok). */
+    private int[] speed;
+    /** Rodzaje obiektów ({@link EntityKind}). */
+    private int[] kind;
+    /** Identyfikator obiektu w danym wierszu. */
+    private int[] idAt;
+
+    /** Wiersz zajmowany przez obiekt o danym identyfikatorze (-1 – identyfikator wolny). */
+    private int[] indexOf;
+    /** Stos wolnych identyfikatorów. */
+    private int[] freeIds;
+    /** Liczba identyfikatorów na stosie wolnych. */
+    private int freeCount;
+    /** Liczba kiedykolwiek wydanych identyfikatorów (następny nowy identyfikator). */
+    private int nextId;
+
+    /** Liczba aktywnych obiektów. */
+    private int size;
+
+    /** Siatka obiektów według pozycji X w układzie przewijania. */
+    private final SpatialGrid grid;
+    /** Dystans przewinięty od ostatniego {@link #clear()} (piksele). */
+    private long scroll;
+    /** Liczba wywołań {@link #advance()} od ostatniego {@link #clear()}. */
+    private int advances;
+    /** Prędkość przewijania planszy (piksele na krok). */
+    private int scrollSpeed;
+    /** Liczba obiektów, których prędkość różni się od prędkości przewijania. */
+    private int drifting;
+    /** Największa szerokość obiektu od ostatniego {@link #clear()} (zasięg zapytań w lewo). */
+    private int maxWidth;
+    /** Najniższa komórka, w której mogą być jeszcze obiekty do usunięcia poza ekranem. */
+    private long despawnCell;
+
+    /** Liczba dodań, które użyły zwolnionego miejsca (trafienia puli). */
+    private long poolHits;
+    /** Liczba dodań, które zajęły nowe, nigdy nieużywane miejsce (chybienia puli). */
+    private long poolMisses;
+    /** Liczba powiększeń tablic. */
+    private int growCount;
+    /** Liczba obiektów usuniętych przez {@link #removeAt} (bez {@link #clear()}). */
+    private long removals;
+
+    /**
+     * Tworzy magazyn o domyślnej pojemności.
+     */
+    public EntityStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Tworzy magazyn o podanej początkowej pojemności.
+     *
+     * @param capacity początkowa pojemność
+     */
+    public EntityStore(int capacity) {
+        capacity = Math.max(1, capacity);
+        sx = new long[capacity];
+        born = new int[capacity];
+        y = new int[capacity];
+        width = new int[capacity];
+        height = new int[capacity];
+        speed = new int[capacity];
+        kind = new int[capacity];
+        idAt = new int[capacity];
+        indexOf = new int[capacity];
+        freeIds = new int[capacity];
+        grid = new SpatialGrid(capacity);
+    }
+
+    /**
+     * Ustawia prędkość przewijania planszy – obiekty poruszające się z tą prędkością
+     * nie wymagają żadnej pracy w {@link #advance()}.
+     *
+     * @param scrollSpeed prędkość przewijania (piksele na krok)
+     */
+    public void setScrollSpeed(int scrollSpeed) {
+        this.scrollSpeed = scrollSpeed;
+        drifting = 0;
+        for (int i = 0; i < size; i++) {
+            if (speed[i] != scrollSpeed) drifting++;
+        }
+    }
+
+    /**
+     * Dodaje obiekt na koniec magazynu.
+     *
+     * @param kind rodzaj obiektu ({@link EntityKind})
+     * @param x pozycja X na ekranie
+     * @param y pozycja Y
+     * @param width szerokość
+     * @param height wysokość
+     * @param speed prędkość przesuwania w lewo
+     * @return identyfikator obiektu (stały do czasu usunięcia)
+     */
+    public int add(int kind, int x, int y, int width, int height, int speed) {
+        if (size == sx.length) grow();
+
+        int id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+            poolHits++;
+        } else {
+            id = nextId++;
+            poolMisses++;
+        }
+        int i = size++;
+        this.sx[i] = x + scroll;
+        this.born[i] = advances;
+        this.y[i] = y;
+        this.width[i] = width;
+        this.height[i] = height;
+        this.speed[i] = speed;
+        this.kind[i] = kind;
+        this.idAt[i] = id;
+        indexOf[id] = i;
+
+        long cell = SpatialGrid.cellOf(sx[i]);
+        grid.insert(id, cell);
+        if (cell < despawnCell) despawnCell = cell;
+        if (width > maxWidth) maxWidth = width;
+        if (speed != scrollSpeed) drifting++;
+
+        return id;
+    }
+
+    /**
+     * Usuwa obiekt z wiersza {@code i}, przenosząc na jego miejsce ostatni wiersz.
+     * Pętla usuwająca w trakcie przeglądania nie powinna więc zwiększać indeksu po usunięciu.
+     *
+     * @param i indeks wiersza
+     */
+    public void removeAt(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException(i);
+
+        removals++;
+        int id = idAt[i];
+        grid.remove(id);
+        if (speed[i] != scrollSpeed) drifting--;
+
+        int last = --size;
+        if (i != last) {
+            sx[i] = sx[last];
+            born[i] = born[last];
+            y[i] = y[last];
+            width[i] = width[last];
+            height[i] = height[last];
+            speed[i] = speed[last];
+            kind[i] = kind[last];
+            idAt[i] = idAt[last];
+            indexOf[idAt[i]] = i;
+        }
+        indexOf[id] = -1;
+        freeIds[freeCount++] = id;
+    }
+
+    /**
+     * Usuwa wszystkie obiekty i zeruje dystans przewijania.
+     * Pojemność i wydane identyfikatory zostają do ponownego użycia.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            indexOf[idAt[i]] = -1;
+            freeIds[freeCount++] = idAt[i];
+        }
+        size = 0;
+        grid.clear();
+        scroll = 0;
+        advances = 0;
+        drifting = 0;
+        maxWidth = 0;
+        despawnCell = 0;
+    }
+
+    /**
+     * Przesuwa wszystkie obiekty w lewo o ich prędkość i usuwa te, które opuściły ekran
+     * – jedyne miejsce, w którym obiekty planszy się poruszają.
+     * <p>
+     * Obiekty z prędkością przewijania stoją w układzie przewijania w miejscu – przesuwa się
+     * tylko licznik {@link #scroll()}. Pętla po wierszach dotyczy wyłącznie obiektów o innej
+     * prędkości, a obiekty poza ekranem są szukane tylko w najniższych komórkach siatki.
+     * </p>
+     *
+     * @return liczba usuniętych obiektów
+     */
+    public int advance() {
+        scroll += scrollSpeed;
+        advances++;
+
+        int removed = 0;
+        if (drifting > 0) {
+            int i = 0;
+            while (i < size) {
+                if (speed[i] != scrollSpeed) {
+                    sx[i] += scrollSpeed - speed[i];
+                    if (sx[i] + width[i] < scroll) {
+                        removeAt(i);
+                        removed++;
+                        continue;
+                    }
+                    grid.move(idAt[i], SpatialGrid.cellOf(sx[i]));
+                }
+                i++;
+            }
+        }
+
+        // obiekt jest poza ekranem, gdy x + width < 0, czyli jego lewa krawędź w układzie
+        // przewijania leży przed "scroll" – wystarczy przejrzeć komórki do komórki ekranu
+        long last = SpatialGrid.cellOf(scroll);
+        if (last - despawnCell >= grid.buckets()) {
+            removed += removeOffScreenLinear();
+        } else {
+            for (long c = despawnCell; c <= last; c++) {
+                for (int id = grid.first(c); id >= 0; ) {
+                    int nextId = grid.next(id);
+                    if (grid.cell(id) == c) {
+                        int i = indexOf[id];
+                        if (sx[i] + width[i] < scroll) {
+                            removeAt(i);
+                            removed++;
+                        }
+                    }
+                    id = nextId;
+                }
+            }
+        }
+        // komórki poniżej tej zawierały wyłącznie obiekty poza ekranem – zostały już opróżnione
+        despawnCell = Math.max(despawnCell, SpatialGrid.cellOf(scroll - maxWidth));
+        return removed;
+    }
+
+    /**
+     * Usuwa obiekty poza ekranem, przeglądając wszystkie wiersze (gdy zakres komórek
+     * do sprawdzenia jest większy niż siatka, np. po długim okresie bez obiektów).
+     *
+     * @return liczba usuniętych obiektów
+     */
+    private int removeOffScreenLinear() {
+        int removed = 0;
+        int i = 0;
+        while (i < size) {
+            if (sx[i] + width[i] < scroll) {
+                removeAt(i);
+                removed++;
+            } else {
+                i++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Zwraca indeks pierwszego wiersza od {@code from}, którego obiekt koliduje z prostokątem
+     * (liniowo, bez siatki).
+     *
+     * @param from indeks, od którego zacząć
+     * @param ox pozycja X prostokąta
+     * @param oy pozycja Y prostokąta
+     * @param ow szerokość prostokąta
+     * @param oh wysokość prostokąta
+     * @return indeks wiersza lub -1, jeśli żaden obiekt nie koliduje
+     */
+    public int findIntersecting(int from, int ox, int oy, int ow, int oh) {
+        for (int i = from; i < size; i++) {
+            if (Bounds.intersects(x(i), y[i], width[i], height[i], ox, oy, ow, oh)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Sprawdza, czy którykolwiek obiekt koliduje z prostokątem (przez siatkę).
+     *
+     * @param ox pozycja X prostokąta
+     * @param oy pozycja Y prostokąta
+     * @param ow szerokość prostokąta
+     * @param oh wysokość prostokąta
+     * @return true, jeśli choć jeden obiekt się z nim przecina
+     */
+    public boolean anyIntersecting(int ox, int oy, int ow, int oh) {
+        return query(ox, oy, ow, oh, null) > 0;
+    }
+
+    /**
+     * Zbiera identyfikatory obiektów kolidujących z prostokątem (przez siatkę).
+     * Jeśli wynik jest większy niż {@code out.length}, tablica zawiera tylko początek wyniku –
+     * należy ją powiększyć i powtórzyć zapytanie.
+     *
+     * @param ox pozycja X prostokąta
+     * @param oy pozycja Y prostokąta
+     * @param ow szerokość prostokąta
+     * @param oh wysokość prostokąta
+     * @param out tablica na identyfikatory
+     * @return liczba kolidujących obiektów
+     */
+    public int collectIntersecting(int ox, int oy, int ow, int oh, int[] out) {
+        return query(ox, oy, ow, oh, out);
+    }
+
+    /**
+     * Przegląda komórki siatki, w których mogą leżeć obiekty kolidujące z prostokątem,
+     * i sprawdza je dokładnie.
+     *
+     * @param ox pozycja X prostokąta
+     * @param oy pozycja Y prostokąta
+     * @param ow szerokość prostokąta
+     * @param oh wysokość prostokąta
+     * @param out tablica na identyfikatory lub {@code null} – wtedy kończy na pierwszej kolizji
+     * @return liczba kolidujących obiektów (przy {@code out == null}: 0 lub 1)
+     */
+    private int query(int ox, int oy, int ow, int oh, int[] out) {
+        if (size == 0 || ow <= 0 || oh <= 0) return 0;
+
+        // obiekt koliduje, gdy jego lewa krawędź leży w (ox - width, ox + ow)
+        long qx = ox + scroll;
+        long from = SpatialGrid.cellOf(qx - maxWidth + 1);
+        long to = SpatialGrid.cellOf(qx + ow - 1);
+
+        int count = 0;
+        if (to - from >= grid.buckets()) {
+            for (int i = 0; i < size; i++) {
+                if (Bounds.intersects(x(i), y[i], width[i], height[i], ox, oy, ow, oh)) {
+                    if (out == null) return 1;
+                    if (count < out.length) out[count] = idAt[i];
+                    count++;
+                }
+            }
+            return count;
+        }
+        for (long c = from; c <= to; c++) {
+            for (int id = grid.first(c); id >= 0; id = grid.next(id)) {
+                if (grid.cell(id) != c) continue;
+                int i = indexOf[id];
+                if (Bounds.intersects(x(i), y[i], width[i], height[i], ox, oy, ow, oh)) {
+                    if (out == null) return 1;
+                    if (count < out.length) out[count] = id;
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Zapewnia miejsce na co najmniej {@code capacity} obiektów bez powiększania tablic w trakcie gry
+     * (np. przed trybem z dużą liczbą obiektów).
+     *
+     * @param capacity wymagana pojemność
+     */
+    public void ensureCapacity(int capacity) {
+        while (sx.length < capacity) grow();
+    }
+
+    /**
+     * Powiększa dwukrotnie wszystkie tablice.
+     */
+    private void grow() {
+        growCount++;
+        int capacity = sx.length * 2;
+        sx = Arrays.copyOf(sx, capacity);
+        born = Arrays.copyOf(born, capacity);
+        y = Arrays.copyOf(y, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        kind = Arrays.copyOf(kind, capacity);
+        idAt = Arrays.copyOf(idAt, capacity);
+        indexOf = Arrays.copyOf(indexOf, capacity);
+        freeIds = Arrays.copyOf(freeIds, capacity);
+        grid.resize(capacity);
+    }
+
+    /**
+     * Zwraca liczbę aktywnych obiektów.
+     *
+     * @return liczba obiektów
+     */
+    public int size() { return size; }
+
+    /**
+     * Sprawdza, czy magazyn jest pusty.
+     *
+     * @return true, jeśli nie ma aktywnych obiektów
+     */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Zwraca liczbę dodań, które użyły zwolnionego miejsca.
+     *
+     * @return trafienia puli
+     */
+    public long poolHits() { return poolHits; }
+
+    /**
+     * Zwraca liczbę dodań, które zajęły nowe miejsce.
+     * Po rozgrzaniu (osiągnięciu największej liczby jednoczesnych obiektów) przestaje rosnąć.
+     *
+     * @return chybienia puli
+     */
+    public long poolMisses() { return poolMisses; }
+
+    /**
+     * Zwraca liczbę wszystkich dodanych obiektów (trafienia i chybienia puli).
+     *
+     * @return liczba dodań
+     */
+    public long added() { return poolHits + poolMisses; }
+
+    /**
+     * Zwraca liczbę obiektów usuniętych przez {@link #removeAt} (zebranych, zderzonych albo poza ekranem).
+     *
+     * @return liczba usunięć
+     */
+    public long removed() { return removals; }
+
+    /**
+     * Zwraca liczbę powiększeń tablic (jedyne alokacje magazynu).
+     *
+     * @return liczba powiększeń
+     */
+    public int growCount() { return growCount; }
+
+    /**
+     * Zwraca dystans przewinięty od ostatniego {@link #clear()}.
+     *
+     * @return dystans w pikselach
+     */
+    public long scroll() { return scroll; }
+
+    /**
+     * Zwraca bieżącą pojemność tablic.
+     *
+     * @return pojemność
+     */
+    public int capacity() { return sx.length; }
+
+    /**
+     * Zwraca wiersz obiektu o podanym identyfikatorze.
+     *
+     * @param id identyfikator zwrócony przez {@link #add}
+     * @return indeks wiersza lub -1, jeśli obiekt został usunięty
+     */
+    public int indexOf(int id) {
+        return (id >= 0 && id < nextId) ? indexOf[id] : -1;
+    }
+
+    /**
+     * Zwraca identyfikator obiektu w wierszu.
+     *
+     * @param i indeks wiersza
+     * @return identyfikator obiektu
+     */
+    public int id(int i) { return idAt[i]; }
+
+    /**
+     * Zwraca pozycję X obiektu na ekranie.
+     *
+     * @param i indeks wiersza
+     * @return pozycja X
+     */
+    public int x(int i) { return (int) (sx[i] - scroll); }
+
+    /**
+     * Zwraca pozycję X obiektu w układzie przewijania (stałą dla obiektów z prędkością przewijania).
+     *
+     * @param i indeks wiersza
+     * @return pozycja X w układzie przewijania
+     */
+    public long scrollX(int i) { return sx[i]; }
+
+    /**
+     * Zwraca pozycję X obiektu sprzed ostatniego przesunięcia
+     * (dla obiektu dodanego po ostatnim przesunięciu – pozycję bieżącą).
+     *
+     * @param i indeks wiersza
+     * @return poprzednia pozycja X
+     */
+    public int prevX(int i) {
+        return born[i] == advances ? x(i) : x(i) + speed[i];
+    }
+
+    /**
+     * Zwraca pozycję X interpolowaną między dwoma ostatnimi krokami.
+     *
+     * @param i indeks wiersza
+     * @param alpha współczynnik interpolacji (0 – poprzednia pozycja, 1 – aktualna)
+     * @return pozycja X do rysowania
+     */
+    public int drawX(int i, double alpha) {
+        int x = x(i);
+        int prevX = prevX(i);
+        return (int) Math.round(prevX + (x - prevX) * alpha);
+    }
+
+    /**
+     * Zwraca pozycję Y obiektu w wierszu.
+     *
+     * @param i indeks wiersza
+     * @return pozycja Y
+     */
+    public int y(int i) { return y[i]; }
+
+    /**
+     * Zwraca szerokość obiektu w wierszu.
+     *
+     * @param i indeks wiersza
+     * @return szerokość
+     */
+    public int width(int i) { return width[i]; }
+
+    /**
+     * Zwraca wysokość obiektu w wierszu.
+     *
+     * @param i indeks wiersza
+     * @return wysokość
+     */
+    public int height(int i) { return height[i]; }
+
+    /**
+     * Zwraca prędkość obiektu w wierszu.
+     *
+     * @param i indeks wiersza
+     * @return prędkość (piksele na krok)
+     */
+    public int speed(int i) { return speed[i]; }
+
+    /**
+     * Zwraca rodzaj obiektu w wierszu.
+     *
+     * @param i indeks wiersza
+     * @return rodzaj ({@link EntityKind})
+     */
+    public int kind(int i) { return kind[i]; }
+}
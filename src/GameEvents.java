@@ -0,0 +1,166 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Zdarzenia JDK Flight Recorder (JFR) emitowane przez grę.
+ * <p>
+ * Krok symulacji i rysowanie klatki to zdarzenia z czasem trwania, więc w JDK Mission Control
+ * można zestawić skoki czasu klatki z odśmiecaniem pamięci, wczytywaniem obrazów czy blokującymi
+ * oknami dialogowymi. Pojawianie się i znikanie obiektów jest zliczane w zdarzeniu kroku, a nie
+ * zgłaszane osobno – dzięki temu symulacja ({@link GameWorld}, {@link EntityStore}), używana też bez
+ * okna przez {@link BatchSimulator} i {@link ScoreVerifier}, nie zależy od JFR. Gdy nagrywanie
+ * jest wyłączone, utworzenie i zatwierdzenie zdarzenia sprowadza się do sprawdzenia flagi
+ * (kompilator JIT usuwa obiekt zdarzenia).
+ * </p>
+ *
+ * <pre>
+ * java -XX:StartFlightRecording:filename=ecojumper.jfr -jar game/target/ecojumper-1.0-SNAPSHOT.jar
+ * </pre>
+ */
+public final class GameEvents {
+
+    /** Kategoria wszystkich zdarzeń gry. */
+    private static final String CATEGORY = "EcoJumper";
+
+    /** Klasa narzędziowa – brak instancji. */
+    private GameEvents() {}
+
+    /** Jeden krok symulacji w pętli gry ({@link GamePanel#update()}). */
+    @Name("ecojumper.Tick")
+    @Label("Krok symulacji")
+    @Category({CATEGORY, "Pętla gry"})
+    @StackTrace(false)
+    public static final class Tick extends Event {
+        /** Numer poziomu. */
+        @Label("Poziom")
+        public int level;
+
+        /** Numer kroku w poziomie. */
+        @Label("Krok")
+        public long tick;
+
+        /** Maska wejścia gracza. */
+        @Label("Wejście")
+        public int input;
+
+        /** Liczba przeszkód i odpadów na planszy po kroku. */
+        @Label("Obiekty")
+        public int entities;
+
+        /** Prędkość przewijania świata. */
+        @Label("Prędkość świata")
+        public int worldSpeed;
+
+        /** Liczba obiektów dodanych w kroku. */
+        @Label("Nowe obiekty")
+        public int spawned;
+
+        /** Liczba obiektów usuniętych w kroku (zebranych, zderzonych albo poza ekranem). */
+        @Label("Usunięte obiekty")
+        public int despawned;
+
+        /** Stan poziomu po kroku. */
+        @Label("Stan")
+        public String status;
+    }
+
+    /** Narysowanie klatki na płótnie ({@link GamePanel#render(double)}). */
+    @Name("ecojumper.Paint")
+    @Label("Rysowanie klatki")
+    @Category({CATEGORY, "Pętla gry"})
+    @StackTrace(false)
+    public static final class Paint extends Event {
+        /** Numer poziomu. */
+        @Label("Poziom")
+        public int level;
+
+        /** Czy klatka była rysowana w całości. */
+        @Label("Pełna klatka")
+        public boolean full;
+
+        /** Liczba odświeżonych pikseli. */
+        @Label("Odświeżone piksele")
+        public long dirtyPixels;
+
+        /** Liczba przeszkód i odpadów na planszy. */
+        @Label("Obiekty")
+        public int entities;
+    }
+
+    /** Start poziomu ({@link EcoJumperGame#showGamePanel()}). */
+    @Name("ecojumper.LevelStart")
+    @Label("Start poziomu")
+    @Category({CATEGORY, "Sesja"})
+    @StackTrace(false)
+    public static final class LevelStart extends Event {
+        /** Numer poziomu. */
+        @Label("Poziom")
+        public int level;
+
+        /** Ziarno generatora losowego poziomu. */
+        @Label("Ziarno")
+        public long seed;
+
+        /** Prędkość przewijania świata. */
+        @Label("Prędkość świata")
+        public int worldSpeed;
+
+        /** Liczba odpadów wymaganych do ukończenia poziomu. */
+        @Label("Odpady do zebrania")
+        public int trashToCollect;
+    }
+
+    /** Ukończenie planszy poziomu – przejście do sortowania ({@link EcoJumperGame#showSortingPanel}). */
+    @Name("ecojumper.LevelComplete")
+    @Label("Ukończenie poziomu")
+    @Category({CATEGORY, "Sesja"})
+    @StackTrace(false)
+    public static final class LevelComplete extends Event {
+        /** Numer poziomu. */
+        @Label("Poziom")
+        public int level;
+
+        /** Punkty zdobyte na planszy. */
+        @Label("Punkty poziomu")
+        public int levelScore;
+
+        /** Suma punktów sesji. */
+        @Label("Punkty sesji")
+        public int totalScore;
+
+        /** Czas trwania poziomu. */
+        @Label("Czas poziomu")
+        @Timespan(Timespan.MILLISECONDS)
+        public long levelTime;
+
+        /** Liczba zebranych odpadów. */
+        @Label("Zebrane odpady")
+        public int collected;
+    }
+
+    /** Koniec sesji gry – powrót do menu ({@link EcoJumperGame#levelCompleted()}). */
+    @Name("ecojumper.SessionEnd")
+    @Label("Koniec sesji")
+    @Category({CATEGORY, "Sesja"})
+    @Description("Zapis osiągniętego poziomu i powrót do menu")
+    @StackTrace(false)
+    public static final class SessionEnd extends Event {
+        /** Osiągnięty poziom. */
+        @Label("Poziom")
+        public int level;
+
+        /** Suma punktów sesji. */
+        @Label("Punkty sesji")
+        public int totalScore;
+
+        /** Czas trwania sesji. */
+        @Label("Czas sesji")
+        @Timespan(Timespan.MILLISECONDS)
+        public long sessionTime;
+    }
+}
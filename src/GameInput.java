@@ -0,0 +1,24 @@
+/**
+ * Wejście gracza w pojedynczym kroku symulacji zapisane jako maska bitowa.
+ * <p>
+ * Dzięki temu symulacja ({@link GameWorld}) nie zależy od zdarzeń klawiatury AWT/Swing –
+ * maskę może zbudować panel gry, skrypt testowy albo odtwarzacz nagrania.
+ * </p>
+ */
+public final class GameInput {
+
+    /** Brak wciśniętych klawiszy. */
+    public static final int NONE = 0;
+
+    /** Ruch w lewo (klawisz trzymany). */
+    public static final int LEFT = 1;
+
+    /** Ruch w prawo (klawisz trzymany). */
+    public static final int RIGHT = 1 << 1;
+
+    /** Żądanie skoku w tym kroku (wciśnięcie klawisza skoku). */
+    public static final int JUMP = 1 << 2;
+
+    /** Klasa narzędziowa – brak instancji. */
+    private GameInput() {}
+}
@@ -0,0 +1,165 @@
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pętla gry ze stałym krokiem symulacji, działająca w osobnym wątku.
+ * <p>
+ * Symulacja jest aktualizowana dokładnie {@code updatesPerSecond} razy na sekundę
+ * (akumulator czasu), niezależnie od tego, jak długo trwa rysowanie. Rysowanie odbywa się
+ * z osobno ustawioną częstotliwością {@code framesPerSecond} i dostaje współczynnik
+ * interpolacji {@code alpha} (0..1) – jaka część kroku upłynęła od ostatniej aktualizacji –
+ * dzięki czemu obraz jest płynny także wtedy, gdy obie częstotliwości się różnią.
+ * </p>
+ */
+public class GameLoop implements Runnable {
+
+    /**
+     * Operacje wywoływane przez pętlę gry (zawsze z wątku pętli).
+     */
+    public interface Callbacks {
+        /** Wykonuje jeden stały krok symulacji. */
+        void update();
+
+        /**
+         * Rysuje klatkę.
+         *
+         * @param alpha część kroku symulacji, jaka upłynęła od ostatniej aktualizacji (0..1)
+         */
+        void render(double alpha);
+    }
+
+    /**
+     * Maksymalny czas (ns) doliczany do akumulatora w jednym obiegu pętli.
+     * Chroni przed "spiralą śmierci" po długim przestoju (np. wstrzymaniu procesu).
+     */
+    private static final long MAX_FRAME_NANOS = 250_000_000L;
+
+    /** Obiekt wykonujący aktualizacje i rysowanie. */
+    private final Callbacks callbacks;
+
+    /** Nazwa wątku pętli (pomocna przy diagnozie). */
+    private final String name;
+
+    /** Czas jednego kroku symulacji (ns). */
+    private volatile long updateNanos;
+
+    /** Odstęp między kolejnymi klatkami obrazu (ns). */
+    private volatile long renderNanos;
+
+    /** Flaga pracy pętli – ustawienie na false kończy wątek po bieżącym obiegu. */
+    private volatile boolean running = false;
+
+    /** Wątek, w którym działa pętla (lub {@code null}, gdy zatrzymana). */
+    private Thread thread;
+
+    /**
+     * Tworzy pętlę gry.
+     *
+     * @param name nazwa wątku pętli
+     * @param callbacks obiekt wykonujący aktualizacje i rysowanie
+     * @param updatesPerSecond liczba kroków symulacji na sekundę
+     * @param framesPerSecond docelowa liczba klatek obrazu na sekundę
+     */
+    public GameLoop(String name, Callbacks callbacks, int updatesPerSecond, int framesPerSecond) {
+        this.name = name;
+        this.callbacks = callbacks;
+        setUpdateRate(updatesPerSecond);
+        setRenderRate(framesPerSecond);
+    }
+
+    /**
+     * Ustawia częstotliwość symulacji.
+     *
+     * @param updatesPerSecond liczba kroków symulacji na sekundę
+     */
+    public void setUpdateRate(int updatesPerSecond) {
+        this.updateNanos = 1_000_000_000L / Math.max(1, updatesPerSecond);
+    }
+
+    /**
+     * Ustawia docelową częstotliwość rysowania.
+     *
+     * @param framesPerSecond liczba klatek obrazu na sekundę
+     */
+    public void setRenderRate(int framesPerSecond) {
+        this.renderNanos = 1_000_000_000L / Math.max(1, framesPerSecond);
+    }
+
+    /**
+     * Uruchamia wątek pętli (jeśli nie działa).
+     */
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Zatrzymuje pętlę.
+     * Wywołana z innego wątku czeka na zakończenie bieżącego obiegu, więc po powrocie
+     * stan gry można bezpiecznie modyfikować. Wywołana z wątku pętli (np. koniec gry
+     * w {@link Callbacks#update()}) tylko ustawia flagę.
+     */
+    public void stop() {
+        Thread t;
+        synchronized (this) {
+            running = false;
+            t = thread;
+            thread = null;
+        }
+        if (t != null && t != Thread.currentThread()) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Informuje, czy pętla działa.
+     *
+     * @return true, jeśli pętla jest uruchomiona
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Główny obieg pętli: akumuluje upływający czas, wykonuje zaległe kroki symulacji
+     * i rysuje klatkę, gdy nadszedł jej czas. W pozostałym czasie wątek śpi.
+     */
+    @Override
+    public void run() {
+        long previous = System.nanoTime();
+        long accumulator = 0;
+        long nextRender = previous;
+
+        while (running) {
+            long now = System.nanoTime();
+            accumulator += Math.min(now - previous, MAX_FRAME_NANOS);
+            previous = now;
+
+            long step = updateNanos;
+            while (accumulator >= step && running) {
+                callbacks.update();
+                accumulator -= step;
+            }
+            if (!running) break;
+
+            if (now >= nextRender) {
+                callbacks.render((double) accumulator / step);
+                nextRender += renderNanos;
+                if (nextRender < now) nextRender = now + renderNanos;
+            }
+
+            long untilUpdate = step - accumulator;
+            long untilRender = nextRender - System.nanoTime();
+            long wait = Math.min(untilUpdate, untilRender);
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+}
@@ -1,54 +1,102 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
 /**
  * Panel gry odpowiedzialny za główną rozgrywkę platformową.
- * Zawiera logikę ruchu gracza, generowania przeszkód i śmieci,
- * obsługę kolizji, punktacji, życia oraz rysowanie HUD.
+ * Reguły poziomu (ruch, generowanie przeszkód i śmieci, kolizje, punktacja, życie)
+ * znajdują się w {@link GameWorld}; panel zamienia klawisze na maskę {@link GameInput},
+ * wykonuje kroki symulacji i rysuje jej stan wraz z HUD.
+ * <p>
+ * Symulacja i rysowanie działają w osobnym wątku {@link GameLoop} ze stałym krokiem
+ * symulacji, a klatki są rysowane aktywnie na {@link Canvas} (bez udziału mechanizmu
+ * {@code repaint()} Swinga). {@link WorldRenderer} składa klatkę we własnym trwałym buforze
+ * i kopiuje na płótno tylko zmienione prostokąty; pełna klatka jest rysowana po starcie,
+ * zmianie rozmiaru albo odsłonięciu płótna.
+ * </p>
+ * <p>
+ * Wejście każdego poziomu jest nagrywane ({@link InputRecording}) i po jego zakończeniu
+ * zapisywane w katalogu nagrań, skąd można je odtworzyć przez {@link ReplayPlayer}.
+ * </p>
+ * <p>
+ * Czas faz kroku i rysowania klatek jest mierzony ({@link PerfStats}); F3 włącza nakładkę
+ * z pomiarami ({@link PerfOverlay}), a przy zamknięciu gry histogramy są zapisywane do CSV i JSON.
+ * </p>
+ * <p>
+ * Pauza (przycisk "Menu" lub ESC), koniec gry i ukończenie poziomu są pokazywane jako dialog
+ * rysowany na płótnie ({@link DialogOverlay}), a nie modalne okno – pętla gry jest zatrzymana,
+ * a wątek EDT dalej obsługuje zdarzenia.
+ * </p>
  */
-public class GamePanel extends JPanel implements ActionListener, KeyListener {
+public class GamePanel extends JPanel implements GameLoop.Callbacks, KeyListener {
 
-    /** Referencja do głównego okna gry – służy do przełączania paneli i pobierania poziomu. */
-    private EcoJumperGame parent;
+    /** Częstotliwość symulacji (kroki na sekundę) – właściwość systemowa {@code ecojumper.ups}. */
+    private static final int UPDATES_PER_SECOND = Integer.getInteger("ecojumper.ups", 60);
 
-    /** Timer Swing uruchamiający pętlę gry (ok. 60 FPS). */
-    private Timer timer;
+    /** Docelowa częstotliwość rysowania (klatki na sekundę) – właściwość systemowa {@code ecojumper.fps}. */
+    private static final int FRAMES_PER_SECOND = Integer.getInteger("ecojumper.fps", 60);
 
-    /** Obiekt gracza sterowany klawiaturą. */
-    private Player player;
+    /**
+     * Czy rysować tylko zmienione prostokąty – właściwość systemowa {@code ecojumper.dirty}
+     * ({@code false} wymusza pełną klatkę, np. do porównań).
+     */
+    private static final boolean DIRTY_REGIONS =
+            Boolean.parseBoolean(System.getProperty("ecojumper.dirty", "true"));
 
-    /** Lista aktywnych przeszkód na planszy (np. chmury i plamy ropy). */
-    private ArrayList<Obstacle> obstacles = new ArrayList<>();
+    /**
+     * Katalog nagrań poziomów – właściwość systemowa {@code ecojumper.replays}
+     * (pusta wartość wyłącza zapisywanie nagrań).
+     */
+    private static final String REPLAY_DIR = System.getProperty("ecojumper.replays",
+            Path.of(System.getProperty("user.home"), ".ecojumper", "replays").toString());
 
-    /** Lista aktywnych odpadów do zebrania na planszy. */
-    private ArrayList<TrashItem> trashItems = new ArrayList<>();
+    /** Liczba najnowszych nagrań zostawianych w katalogu (starsze są usuwane). */
+    private static final int MAX_REPLAYS = 50;
 
-    /** Generator liczb losowych wykorzystywany do generowania się obiektów. */
-    private Random rand = new Random();
+    /**
+     * Katalog zrzutu pomiarów wydajności przy zamknięciu gry ({@code perf.csv}, {@code perf.json})
+     * – właściwość systemowa {@code ecojumper.perf} (pusta wartość wyłącza zrzut).
+     */
+    private static final String PERF_DIR = System.getProperty("ecojumper.perf",
+            Path.of(System.getProperty("user.home"), ".ecojumper").toString());
 
-    /** Obraz tła rysowany w każdej klatce gry. */
-    private Image backgroundImg = new ImageIcon("assets/background.png").getImage();
+    /** Wątek zapisu nagrań poziomów na dysk (poza wątkiem pętli gry i EDT). */
+    private static final ExecutorService REPLAY_WRITER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "EcoJumper-Replays");
+        t.setDaemon(true);
+        return t;
+    });
 
-    /** Punkty życia gracza w skali 0–100 (wyświetlane jako 10 serc). */
-    private int health = 100;
+    /** Format czasu w nazwach plików nagrań. */
+    private static final DateTimeFormatter REPLAY_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
 
-    /** Aktualny wynik punktowy w bieżącym poziomie. */
-    private int score = 0;
+    /** Referencja do głównego okna gry – służy do przełączania paneli i pobierania poziomu. */
+    private EcoJumperGame parent;
 
-    /** Liczba zebranych odpadów w bieżącym poziomie. */
-    private int collectedTrash = 0;
+    /** Pętla gry ze stałym krokiem symulacji, działająca w osobnym wątku. */
+    private GameLoop loop;
 
-    /** Liczba zebranych odpadów typu PAPER – przekazywana do sortowania. */
-    private int paperCount = 0;
+    /** Płótno, na które pętla gry rysuje klatki. */
+    private Canvas canvas;
 
-    /** Liczba zebranych odpadów typu PLASTIC – przekazywana do sortowania. */
-    private int plasticCount = 0;
+    /** Stan i reguły bieżącego poziomu (symulacja bez zależności od Swinga). */
+    private final GameWorld world = new GameWorld();
+
+    /** Generator ziaren dla kolejnych poziomów. */
+    private Random rand = new Random();
 
-    /** Liczba zebranych odpadów typu GLASS – przekazywana do sortowania. */
-    private int glassCount = 0;
+    /** Rysuje stan poziomu i HUD. */
+    private final WorldRenderer renderer = new WorldRenderer();
 
     /** Przycisk pauzy/wyjścia do menu w trakcie rozgrywki. */
     private JButton pauseButton;
@@ -56,109 +104,167 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
     /** Informacja czy gra jest aktualnie w stanie pauzy. */
     private boolean paused = false;
 
-    /** Obraz pełnego serca wykorzystywany do rysowania życia w HUD. */
-    private Image heartFull;
-
-    /** Szerokość i wysokość serca na HUD. */
-    private int heartW, heartH;
-
-    /** Maksymalna liczba serc wyświetlanych na HUD. */
-    private final int maxHearts = 10;
+    /**
+     * Czy bieżący poziom się zakończył (przegrana lub ukończenie) – ustawiane w wątku pętli gry
+     * przed jej zatrzymaniem, żeby ESC/"Menu" nie otworzyły pauzy, zanim pojawi się dialog końca poziomu.
+     */
+    private volatile boolean levelEnded = false;
 
-    /** Prędkość świata (planszy) – wpływa na przesuwanie przeszkód i śmieci. */
-    private int worldSpeed = 5;
+    /** Czy następna klatka ma zostać narysowana w całości (ustawiane np. po odsłonięciu płótna). */
+    private volatile boolean fullRepaint = true;
 
-    /** Maksymalna prędkość świata osiągana na wysokich poziomach. */
-    private final int maxWorldSpeed = 12;
+    /** Trzymane klawisze ruchu ({@link GameInput#LEFT}, {@link GameInput#RIGHT}), ustawiane w wątku EDT. */
+    private volatile int heldKeys = GameInput.NONE;
 
-    /** Liczba odpadów wymaganych do ukończenia poziomu. */
-    private int trashToCollect = 10;
+    /** Czy od ostatniego kroku symulacji wciśnięto klawisz skoku. */
+    private volatile boolean jumpRequested = false;
 
-    /** Szansa (w %) na wygenerowanie przeszkody w danej klatce po spełnieniu odstępu czasowego. */
-    private int obstacleSpawnChance = 2;
+    /** Pomiary czasu faz kroku i rysowania. */
+    private final PerfStats stats = new PerfStats();
 
-    /** Szansa (w %) na wygenerowanie odpadu w danej klatce po spełnieniu odstępu czasowego. */
-    private int trashSpawnChance = 3;
+    /** Nakładka diagnostyczna z pomiarami. */
+    private final PerfOverlay overlay = new PerfOverlay(stats, renderer.getBackBuffer(), renderer.getBlits());
 
-    /** Liczba klatek od ostatniego wygenerowania przeszkody. */
-    private int framesSinceLastObstacle = 0;
+    /** Czy rysować nakładkę diagnostyczną (F3; na starcie – właściwość systemowa {@code ecojumper.overlay}). */
+    private volatile boolean showOverlay = Boolean.getBoolean("ecojumper.overlay");
 
-    /** Minimalny odstęp (w klatkach) pomiędzy generowaniem przeszkód. */
-    private int minFramesBetweenObstacles = 35;
+    /** Nagranie wejścia bieżącego poziomu (dopisywane w wątku pętli gry). */
+    private InputRecording recording;
 
-    /** Liczba klatek od ostatniego wygenerowania odpadu. */
-    private int framesSinceLastTrash = 0;
-    
-    /** Minimalny odstęp (w klatkach) pomiędzy generowaniem odpadów. */
-    private int minFramesBetweenTrash = 25;
+    /** Dialog pauzy i końca poziomu rysowany na płótnie (obsługiwany w wątku EDT). */
+    private final DialogOverlay dialog = new DialogOverlay();
 
     /**
-     * Tworzy panel rozgrywki i inicjalizuje zasoby graficzne HUD (serca).
-     * Ustawia także gracza, timer oraz przycisk pauzy/menu.
+     * Tworzy panel rozgrywki.
+     * Ustawia pętlę gry, płótno oraz przycisk pauzy/menu.
      *
      * @param parent główne okno gry zarządzające stanami i panelami
      */
     public GamePanel(EcoJumperGame parent) {
         this.parent = parent;
         init();
-
-        heartFull = new ImageIcon("assets/heart.png").getImage();
-
-        int originalW = heartFull.getWidth(null);
-        int originalH = heartFull.getHeight(null);
-        int targetH = 24;
-        heartH = targetH;
-        heartW = (int) ((double) originalW / originalH * targetH);
     }
 
-    /** Inicjalizuje panel, timery, gracza oraz przycisk pauzy/menu. */
+    /** Inicjalizuje panel, pętlę gry, płótno oraz przycisk pauzy/menu. */
     private void init() {
+        world.setStats(stats);
         setFocusable(true);
         addKeyListener(this);
 
         setLayout(null);
 
-        player = new Player(100, 400, 80, 400);
-        timer = new Timer(16, this);
+        // tło jest skalowane do rozmiaru panelu – po zmianie rozmiaru stare wersje są zbędne
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                ScaledImageCache.invalidate(renderer.getBackgroundImage());
+                fullRepaint = true;
+            }
+        });
+
+        loop = new GameLoop("EcoJumper-GameLoop", this, UPDATES_PER_SECOND, FRAMES_PER_SECOND);
 
         pauseButton = new JButton("Menu");
         pauseButton.setFocusable(false);
         pauseButton.setMargin(new Insets(2, 8, 2, 8));
         pauseButton.addActionListener(e -> onPauseButton());
+
+        canvas = new Canvas() {
+            @Override
+            public void paint(Graphics g) {
+                // gdy pętla działa, kolejna klatka i tak zaraz zostanie narysowana aktywnie – w całości
+                if (loop.isRunning()) {
+                    fullRepaint = true;
+                } else {
+                    renderFrame(g, 1.0);
+                    dialog.paint(g, getWidth(), getHeight());
+                }
+            }
+
+            @Override
+            public void update(Graphics g) {
+                paint(g);
+            }
+        };
+        canvas.setFocusable(true);
+        canvas.addKeyListener(this);
+        canvas.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                if (dialog.click(e.getX(), e.getY())) canvas.repaint();
+            }
+        });
+        canvas.addMouseMotionListener(new MouseMotionAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                if (dialog.hover(e.getX(), e.getY())) canvas.repaint();
+            }
+        });
+
+        // przycisk dodany jako pierwszy jest wyżej w kolejności Z, czyli nad płótnem
         add(pauseButton);
+        add(canvas);
     }
 
     /**
-     * Rozpoczyna nowy poziom gry.
-     * Resetuje stan planszy, ustawia poziom trudności
-     * oraz uruchamia timer odpowiedzialny za pętlę gry.
+     * Rozmieszcza płótno na całym panelu oraz przycisk pauzy w prawym górnym rogu.
      */
-    public void startLevel() {
-        paused = false;
-
-        restartLevel();
-
-        int lvl = parent.getCurrentLevel();
-
-        trashToCollect = Math.min(15, 6 + lvl * 2);
+    @Override
+    public void doLayout() {
+        canvas.setBounds(0, 0, getWidth(), getHeight());
 
-        worldSpeed = Math.min(maxWorldSpeed, 5 + (lvl - 1));
+        int btnW = 90;
+        int btnH = 30;
+        pauseButton.setBounds(getWidth() - btnW - 20, 20, btnW, btnH);
+    }
 
-        obstacleSpawnChance = Math.min(12, 3 + lvl); // limit 12%
-        trashSpawnChance    = Math.min(12, 3 + lvl);
+    /**
+     * Przekazuje fokus klawiatury do płótna, na którym toczy się gra.
+     *
+     * @return true, jeśli żądanie fokusu może się powieść
+     */
+    @Override
+    public boolean requestFocusInWindow() {
+        return canvas.requestFocusInWindow();
+    }
 
-        minFramesBetweenObstacles = Math.max(26, 50 - lvl * 2);
-        minFramesBetweenTrash     = Math.max(20, 40 - lvl * 2);
+    /**
+     * Rozpoczyna nowy poziom gry.
+     * Resetuje stan planszy, ustawia poziom trudności (w {@link GameWorld})
+     * oraz uruchamia pętlę gry.
+     */
+    public void startLevel() {
+        loop.stop();
+        hideDialog();
+        paused = false;
+        levelEnded = false;
+        heldKeys = GameInput.NONE;
+        jumpRequested = false;
 
-        framesSinceLastObstacle = 0;
-        framesSinceLastTrash = 0;
+        world.setWidth(getWidth());
+        world.startLevel(parent.getCurrentLevel(), rand.nextLong());
+        recording = InputRecording.start(world);
 
-        player.setMoveSpeed(Math.min(10, 5 + lvl / 2));
+        startLoop();
+    }
 
-        timer.start();
+    /**
+     * Uruchamia pętlę gry; pierwsza klatka jest rysowana w całości.
+     */
+    private void startLoop() {
+        fullRepaint = true;
+        loop.start();
         requestFocusInWindow();
     }
 
+    /**
+     * Zapisuje histogramy czasów faz kroku i rysowania do katalogu {@code ecojumper.perf}.
+     * Wywoływane przy zamknięciu gry.
+     */
+    public void dumpPerfStats() {
+        if (!PERF_DIR.isEmpty()) stats.dump(Path.of(PERF_DIR));
+    }
+
     /**
      * Zatrzymuje rozgrywkę.
      * Wykorzystywane przy powrocie do menu lub pauzie.
@@ -167,7 +273,17 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
     {
         paused = false;
 
-        if (timer.isRunning()) timer.stop();
+        loop.stop();
+        hideDialog();
+    }
+
+    /**
+     * Zwraca stan bieżącego poziomu (do odczytu – np. parametry poziomu w zdarzeniach JFR).
+     *
+     * @return świat gry
+     */
+    public GameWorld getWorld() {
+        return world;
     }
 
     /**
@@ -176,7 +292,7 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
      * @return punkty poziomu
      */
     public int getLevelScore() {
-        return score;
+        return world.getScore();
     }
 
     /**
@@ -185,278 +301,258 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
      * oraz zeruje liczniki punktów i postępu.
      */
     public void restartLevel() {
-        health = 100;
-        score = 0;
-
-        collectedTrash = 0;
-        paperCount = plasticCount = glassCount = 0;
-
-        obstacles.clear();
-        trashItems.clear();
-        player.resetPosition();
-
-        framesSinceLastObstacle = 0;
+        world.restartLevel();
     }
 
     /**
-     * Rysuje wszystkie elementy gry:
-     * tło, gracza, przeszkody, śmieci oraz HUD
-     * (punkty, postęp i serca życia).
+     * Rysuje klatkę aktywnie: odświeża zmienione prostokąty klatki i kopiuje je na płótno.
+     * Wywoływane z wątku pętli gry.
      *
-     * @param g obiekt graficzny do rysowania
+     * @param alpha część kroku symulacji, jaka upłynęła od ostatniej aktualizacji (0..1)
      */
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-
-        int w = getWidth();
-        int h = getHeight();
-
-        g.drawImage(backgroundImg, 0, 0, w, h, null);
-        player.draw(g);
-        for (Obstacle o : obstacles) {
-            o.draw(g);
-        }
-        for (TrashItem t : trashItems) {
-            t.draw(g);
+    public void render(double alpha) {
+        Graphics g = canvas.getGraphics();
+        if (g == null) return;
+
+        try {
+            boolean full = fullRepaint || !DIRTY_REGIONS;
+            fullRepaint = false;
+            GameEvents.Paint event = new GameEvents.Paint();
+            event.begin();
+            long start = System.nanoTime();
+            renderer.renderIncremental(g, world, canvas.getWidth(), canvas.getHeight(), alpha, full);
+            stats.recordPaint(System.nanoTime() - start);
+            if (event.shouldCommit()) {
+                event.level = world.getLevel();
+                event.full = full;
+                event.dirtyPixels = renderer.getLastDirtyPixels();
+                event.entities = world.getObstacles().size() + world.getTrashItems().size();
+                event.commit();
+            }
+            if (showOverlay) {
+                // nakładka leży na ekranie poza klatką renderera – jest rysowana w każdej klatce
+                overlay.draw(g, canvas.getWidth() - overlay.getWidth() - 20, 60, world);
+            }
+        } finally {
+            g.dispose();
         }
 
-        int hudX = 15;
-        int hudY = 40;
-        int hudW = 200;
-        int hudH = 55;
-
-        Graphics2D g2 = (Graphics2D) g.create();
-        g2.setColor(new Color(255, 255, 255, 180));
-        g2.fillRoundRect(hudX, hudY, hudW, hudH, 15, 15);
-        g2.setColor(new Color(0, 0, 0, 120));
-        g2.drawRoundRect(hudX, hudY, hudW, hudH, 15, 15);
-        g2.dispose();
-
-        drawHearts(g, hudX, hudY);
-
-        g.setColor(Color.BLACK);
-        g.setFont(new Font("Arial", Font.BOLD, 14));
-        int textBaseY = hudY + 20;
-        g.drawString("Punkty: " + score, hudX + 10, textBaseY);
-        g.drawString("Śmieci: " + collectedTrash + "/" + trashToCollect,
-                hudX + 10, textBaseY + 18);
-
-        int btnW = 90;
-        int btnH = 30;
-        pauseButton.setBounds(getWidth() - btnW - 20, 20, btnW, btnH);
+        Toolkit.getDefaultToolkit().sync();
     }
 
     /**
-     * Rysuje serca życia nad ramką HUD.
-     * Liczba serc zależy od wartości health (0–100 → 0–10 serc).
+     * Rysuje klatkę gry (stan świata i HUD) przez {@link WorldRenderer}.
      *
-     * @param g kontekst graficzny do rysowania
-     * @param hudX pozycja X HUD
-     * @param hudY pozycja Y HUD
+     * @param g obiekt graficzny do rysowania
+     * @param alpha współczynnik interpolacji pozycji obiektów (0..1)
      */
-    private void drawHearts(Graphics g, int hudX, int hudY) {
-        // 100–91 → 10 serc, 90–81 → 9, itd.
-        int heartsToDraw = Math.min(maxHearts, (health + 9) / 10);
-
-        int spacing = 3;
-        int startX = hudX + 10;
-        int y = hudY - heartH - 6;
-
-        for (int i = 0; i < heartsToDraw; i++) {
-            int x = startX + i * (heartW + spacing);
-            g.drawImage(heartFull, x, y, heartW, heartH, null);
-        }
+    private void renderFrame(Graphics g, double alpha) {
+        renderer.render(g, world, canvas.getWidth(), canvas.getHeight(), alpha);
     }
 
     /**
-     * Sprawdza, czy wskazany obszar jest wolny od innych obiektów.
-     * Zapobiega pojawianiu się śmieci na przeszkodach lub nakładaniu się obiektów.
+     * Pokazuje dialog na płótnie zatrzymanej gry. Przycisk "Menu" jest ukryty do czasu wyboru.
+     * Wywoływane w wątku EDT.
      *
-     * @param rect testowany obszar
-     * @return true, jeśli obszar nie koliduje z żadnym obiektem
+     * @param title tytuł
+     * @param message treść
+     * @param onChoice akcja wywoływana z indeksem wybranego przycisku
+     * @param options etykiety przycisków
      */
-    private boolean isAreaFree(Rectangle rect) {
-        for (Obstacle o : obstacles) {
-            if (rect.intersects(o.getBounds())) return false;
-        }
-        for (TrashItem t : trashItems) {
-            if (rect.intersects(t.getBounds())) return false;
-        }
-        return true;
+    private void showDialog(String title, String message, IntConsumer onChoice, String... options) {
+        pauseButton.setVisible(false);
+        dialog.show(title, message, choice -> {
+            pauseButton.setVisible(true);
+            onChoice.accept(choice);
+        }, options);
+        canvas.repaint();
+        requestFocusInWindow();
     }
+
+    /**
+     * Ukrywa dialog bez wywoływania akcji (np. przy starcie poziomu).
+     */
+    private void hideDialog() {
+        dialog.hide();
+        pauseButton.setVisible(true);
+    }
+
     /**
-     * Obsługuje kliknięcie przycisku "Menu".
-     * Zatrzymuje timer, wyświetla okno pauzy i pozwala wrócić do gry lub do menu głównego.
+     * Obsługuje kliknięcie przycisku "Menu" (lub ESC).
+     * Zatrzymuje pętlę gry, wyświetla dialog pauzy i pozwala wrócić do gry lub do menu głównego.
      */
     private void onPauseButton() {
-        if (paused) return;
+        if (paused || levelEnded || dialog.isVisible()) return;
 
         paused = true;
-        timer.stop();
-
-        Object[] options = {"Wróć do gry", "Powrót do menu"};
-        int choice = JOptionPane.showOptionDialog(
-                this,
-                "Gra została wstrzymana.",
-                "Pauza",
-                JOptionPane.YES_NO_OPTION,
-                JOptionPane.INFORMATION_MESSAGE,
-                null,
-                options,
-                options[0]
-        );
-
-        if (choice == JOptionPane.YES_OPTION) {
-            paused = false;
-            timer.start();
-            requestFocusInWindow();
-        } else {
-            parent.registerScore(score);
-            parent.levelCompleted();
-        }
+        loop.stop();
+
+        showDialog("Pauza", "Gra została wstrzymana.", choice -> {
+            if (choice == 0) {
+                paused = false;
+                startLoop();
+            } else {
+                saveRecording();
+                parent.registerScore(world.getScore());
+                parent.levelCompleted();
+            }
+        }, "Wróć do gry", "Powrót do menu");
     }
 
     /**
-     * Główna pętla gry wywoływana przez Timer.
-     * Odpowiada za aktualizację obiektów,
-     * generowanie przeszkód i śmieci,
-     * sprawdzanie kolizji oraz warunki zakończenia poziomu.
-     *
-     * @param e zdarzenie timera
+     * Jeden stały krok symulacji wywoływany przez {@link GameLoop}.
+     * Przekazuje wejście gracza do {@link GameWorld#step(int)} i obsługuje zakończenie poziomu –
+     * pętla jest zatrzymywana, a dialog pokazywany w wątku EDT.
      */
     @Override
-    public void actionPerformed(ActionEvent e) {
-        int width = getWidth();
-        framesSinceLastObstacle++;
-        framesSinceLastTrash++;
-
-        if (framesSinceLastObstacle >= minFramesBetweenObstacles &&
-                rand.nextInt(100) < obstacleSpawnChance) {
-
-            Obstacle o;
-            if (rand.nextBoolean()) {
-                int groundBaseline = player.getGroundY() + player.getSize();
-                o = new OilSpill(width, groundBaseline);
-            } else {
-                int cloudY = 500;
-                o = new Cloud(width, cloudY);
-            }
-            o.setSpeed(worldSpeed);
-
-            if (isAreaFree(o.getBounds())) {
-                obstacles.add(o);
-                framesSinceLastObstacle = 0;
-            }
-
+    public void update() {
+        int input = heldKeys;
+        if (jumpRequested) {
+            jumpRequested = false;
+            input |= GameInput.JUMP;
         }
-        //  ilość generowanych  śmieci na ekranie, taka żeby gracz musiał się ruszać.
-        int remaining = trashToCollect - collectedTrash;
-        int maxTrashOnScreen = Math.min(4, Math.max(2, remaining));
-        if (trashItems.size() < maxTrashOnScreen &&
-                framesSinceLastTrash >= minFramesBetweenTrash &&
-                rand.nextInt(100) < trashSpawnChance) {
-
-            TrashType type = TrashType.values()[rand.nextInt(TrashType.values().length)];
-            int trashSize = 48;
-
-            int groundBaseline = player.getGroundY() + player.getSize();
-            int x = width;
-            int y = groundBaseline - trashSize - 4;
 
-            TrashItem candidate = new TrashItem(x, y, trashSize, trashSize, type);
-
-            candidate.setSpeed(worldSpeed);
-
-            if (isAreaFree(candidate.getBounds())) {
-                trashItems.add(candidate);
-                framesSinceLastTrash = 0;
-            }
+        GameEvents.Tick event = new GameEvents.Tick();
+        event.begin();
+        long spawned = world.getSpawned();
+        long despawned = world.getDespawned();
+        recording.record(input);
+        GameWorld.Status status = world.step(input);
+        if (event.shouldCommit()) {
+            event.spawned = (int) (world.getSpawned() - spawned);
+            event.despawned = (int) (world.getDespawned() - despawned);
+            event.level = world.getLevel();
+            event.tick = world.getTick();
+            event.input = input;
+            event.entities = world.getObstacles().size() + world.getTrashItems().size();
+            event.worldSpeed = world.getWorldSpeed();
+            event.status = status.name();
+            event.commit();
+        }
+        if (status != GameWorld.Status.RUNNING) {
+            levelEnded = true;
+            saveRecording();
         }
 
-        Iterator<Obstacle> itObs = obstacles.iterator();
-        while (itObs.hasNext()) {
-            Obstacle o = itObs.next();
-            o.update();
-
-            if (o.isOutOfScreen()) {
-                itObs.remove();
-                continue;
-            }
-            //kara za kolizje
-            if (player.getBounds().intersects(o.getBounds())) {
-                health -= 1;
-                if (health <= 0) {
-                    timer.stop();
-
-                    JOptionPane.showMessageDialog(
-                            this,
-                            "Przegrałaś! Twój wynik: " + score,
-                            "Koniec gry",
-                            JOptionPane.INFORMATION_MESSAGE
-                    );
-
-                    parent.registerScore(score);
-                    parent.levelCompleted();
-                    return;
-                }
-            }
+        if (status == GameWorld.Status.GAME_OVER) {
+            loop.stop();
+
+            int finalScore = world.getScore();
+            SwingUtilities.invokeLater(() -> {
+                // pauza otwarta w ostatnim kroku poziomu jest zastępowana dialogiem końca
+                paused = false;
+                showDialog("Koniec gry",
+                        "Przegrałaś! Twój wynik: " + finalScore,
+                        choice -> {
+                            parent.registerScore(finalScore);
+                            parent.levelCompleted();
+                        }, "OK");
+            });
+        } else if (status == GameWorld.Status.LEVEL_COMPLETE) {
+            loop.stop();
+
+            int finalScore = world.getScore();
+            int paper = world.getPaperCount();
+            int plastic = world.getPlasticCount();
+            int glass = world.getGlassCount();
+            SwingUtilities.invokeLater(() -> {
+                paused = false;
+                showDialog("Poziom ukończony",
+                        "Brawo! Zebrano wszystkie śmieci!\n" +
+                                "Przechodzisz do sortowania.",
+                        choice -> parent.showSortingPanel(paper, plastic, glass, finalScore),
+                        "Dalej");
+            });
         }
+    }
 
-        Iterator<TrashItem> itTrash = trashItems.iterator();
-        while (itTrash.hasNext()) {
-            TrashItem t = itTrash.next();
-            t.update();
+    /**
+     * Kończy nagranie bieżącego poziomu (także przerwanego): przekazuje je do sesji gry
+     * ({@link EcoJumperGame#levelRecorded(InputRecording)}, w wątku EDT) i zleca zapis do katalogu
+     * nagrań w wątku {@link #REPLAY_WRITER}, żeby operacje na plikach nie zatrzymywały pętli gry.
+     */
+    private void saveRecording() {
+        if (recording == null) return;
+        InputRecording finished = recording;
+        recording = null;
+        finished.finish(world);
+        if (SwingUtilities.isEventDispatchThread()) parent.levelRecorded(finished);
+        else SwingUtilities.invokeLater(() -> parent.levelRecorded(finished));
+        if (REPLAY_DIR.isEmpty()) return;
+
+        String name = String.format("%s-poziom%d-%016x%s", LocalDateTime.now().format(REPLAY_TIME),
+                finished.getLevel(), finished.getSeed(), InputRecording.EXTENSION);
+        REPLAY_WRITER.execute(() -> writeRecording(finished, name));
+    }
 
-            if (t.isOutOfScreen()) {
-                itTrash.remove();
-                continue;
+    /**
+     * Zapisuje nagranie do katalogu nagrań i usuwa najstarsze nagrania ponad {@link #MAX_REPLAYS}.
+     * Wywoływane w wątku {@link #REPLAY_WRITER}; błąd zapisu nie przerywa gry.
+     *
+     * @param finished zakończone nagranie
+     * @param name nazwa pliku nagrania
+     */
+    private static void writeRecording(InputRecording finished, String name) {
+        Path dir = Path.of(REPLAY_DIR);
+        try {
+            finished.write(dir.resolve(name));
+            List<Path> old;
+            try (Stream<Path> files = Files.list(dir)) {
+                // nazwy zaczynają się od czasu, więc kolejność nazw to kolejność nagrań
+                old = files.filter(f -> f.getFileName().toString().endsWith(InputRecording.EXTENSION))
+                        .sorted()
+                        .toList();
             }
-            // zbieranie smieci
-            if (player.getBounds().intersects(t.getBounds())) {
-
-                collectedTrash++;
-                score += 10;
-
-                switch (t.getType()) {
-                    case PAPER -> paperCount++;
-                    case PLASTIC -> plasticCount++;
-                    case GLASS -> glassCount++;
-                }
-
-                itTrash.remove();
-
-                if (collectedTrash >= trashToCollect) {
-                    score += health;
-
-                    timer.stop();
-
-                    JOptionPane.showMessageDialog(
-                            this,
-                            "Brawo! Zebrano wszystkie śmieci!\n" +
-                                    "Przechodzisz do sortowania.",
-                            "Poziom ukończony",
-                            JOptionPane.INFORMATION_MESSAGE
-                    );
-
-                    parent.showSortingPanel(paperCount, plasticCount, glassCount, score);
-                    return;
-                }
+            for (int i = 0; i < old.size() - MAX_REPLAYS; i++) {
+                Files.deleteIfExists(old.get(i));
             }
+        } catch (IOException e) {
+            System.out.println("Nie udało się zapisać nagrania poziomu: " + e.getMessage());
         }
-
-        player.update();
-        repaint();
     }
 
     /**
-     * Obsługuje wciśnięcie klawiszy sterujących postacią gracza.
+     * Obsługuje wciśnięcie klawiszy sterujących postacią gracza:
+     * <ul>
+     *   <li>LEFT/A – ruch w lewo</li>
+     *   <li>RIGHT/D – ruch w prawo</li>
+     *   <li>SPACE/UP – skok</li>
+     *   <li>F3 – nakładka z pomiarami wydajności</li>
+     *   <li>ESC – pauza (w pauzie – powrót do gry)</li>
+     * </ul>
+     * Gdy widoczny jest dialog, klawisze obsługuje on (strzałki/TAB – wybór przycisku, ENTER – zatwierdzenie).
      *
      * @param e zdarzenie klawiatury
      */
     @Override
     public void keyPressed(KeyEvent e) {
-        player.keyPressed(e);
+        int key = e.getKeyCode();
+
+        if (dialog.isVisible()) {
+            if (key == KeyEvent.VK_ESCAPE && paused) dialog.choose(0);
+            else if (dialog.keyPressed(key)) canvas.repaint();
+            return;
+        }
+        if (key == KeyEvent.VK_ESCAPE) {
+            onPauseButton();
+            return;
+        }
+
+        if (key == KeyEvent.VK_LEFT || key == KeyEvent.VK_A) {
+            heldKeys |= GameInput.LEFT;
+        }
+        if (key == KeyEvent.VK_RIGHT || key == KeyEvent.VK_D) {
+            heldKeys |= GameInput.RIGHT;
+        }
+        if (key == KeyEvent.VK_SPACE || key == KeyEvent.VK_UP) {
+            jumpRequested = true;
+        }
+        if (key == KeyEvent.VK_F3) {
+            showOverlay = !showOverlay;
+            // po wyłączeniu nakładki jej miejsce trzeba zasłonić pełną klatką
+            fullRepaint = true;
+        }
     }
 
     /**
@@ -466,7 +562,10 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
      */
     @Override
     public void keyReleased(KeyEvent e) {
-        player.keyReleased(e);
+        int key = e.getKeyCode();
+
+        if (key == KeyEvent.VK_LEFT || key == KeyEvent.VK_A)  heldKeys &= ~GameInput.LEFT;
+        if (key == KeyEvent.VK_RIGHT || key == KeyEvent.VK_D) heldKeys &= ~GameInput.RIGHT;
     }
 
     /**
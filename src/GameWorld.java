@@ -0,0 +1,558 @@
+import java.awt.*;
+import java.util.Random;
+
+/**
+ * Stan i reguły poziomu platformowego, niezależne od Swinga.
+ * <p>
+ * Klasa zawiera całą logikę, która wcześniej była w pętli {@link GamePanel}:
+ * generowanie przeszkód i śmieci, sprawdzanie wolnego miejsca, obrażenia,
+ * zbieranie odpadów i warunek ukończenia poziomu. Każde wywołanie {@link #step(int)}
+ * to jeden krok symulacji dla podanej maski wejścia ({@link GameInput}).
+ * Losowość pochodzi z generatora z jawnym ziarnem, więc ten sam poziom, ziarno
+ * i ciąg wejść zawsze dają ten sam wynik – bez okna, panelu i wyświetlacza.
+ * </p>
+ * <p>
+ * Przeszkody i odpady są przechowywane w dwóch magazynach {@link EntityStore}
+ * (tablice prymitywów zamiast list obiektów), więc krok symulacji to pętle po ciągłej pamięci.
+ * Generator obiektów ({@link #isAreaFree}) i kolizje z graczem odpytują siatkę magazynów
+ * ({@link SpatialGrid}), więc ich koszt nie rośnie z liczbą obiektów na planszy.
+ * </p>
+ */
+public class GameWorld {
+
+    /**
+     * Wynik pojedynczego kroku symulacji.
+     */
+    public enum Status {
+        /** Poziom trwa dalej. */
+        RUNNING,
+        /** Gracz stracił całe zdrowie. */
+        GAME_OVER,
+        /** Zebrano wymaganą liczbę odpadów. */
+        LEVEL_COMPLETE
+    }
+
+    /** Domyślna szerokość świata (szerokość okna gry), używana bez panelu. */
+    public static final int DEFAULT_WIDTH = 1000;
+
+    /** Wysokość, na której pojawiają się chmury. */
+    private static final int CLOUD_Y = 500;
+
+    /** Rozmiar odpadu na planszy (kwadrat). */
+    private static final int TRASH_SIZE = 48;
+
+    /** Rodzaje odpadów losowane przy generowaniu (w kolejności {@link TrashType#values()}). */
+    private static final int[] TRASH_KINDS = {EntityKind.PAPER, EntityKind.PLASTIC, EntityKind.GLASS};
+
+    /** Maksymalna prędkość świata osiągana na wysokich poziomach. */
+    private static final int MAX_WORLD_SPEED = 12;
+
+    /** Obiekt gracza. */
+    private final Player player;
+
+    /** Aktywne przeszkody na planszy (chmury i plamy ropy). */
+    private final EntityStore obstacles = new EntityStore();
+
+    /** Aktywne odpady do zebrania na planszy. */
+    private final EntityStore trashItems = new EntityStore();
+
+    /** Bufor identyfikatorów obiektów kolidujących z graczem (powiększany w razie potrzeby). */
+    private int[] hits = new int[16];
+
+    /** Generator liczb losowych z jawnym ziarnem. */
+    private final Random rand = new Random();
+
+    /** Pomiary czasu faz kroku ({@code null} – bez pomiarów, np. w symulacjach wsadowych). */
+    private PerfStats stats;
+
+    /** Początek bieżącej fazy kroku (ns) – używane tylko z pomiarami. */
+    private long phaseStart;
+
+    /** Szerokość świata – nowe obiekty pojawiają się przy prawej krawędzi. */
+    private int width = DEFAULT_WIDTH;
+
+    /** Numer bieżącego poziomu. */
+    private int level;
+
+    /** Ziarno generatora losowego bieżącego poziomu. */
+    private long seed;
+
+    /** Liczba wykonanych kroków symulacji w bieżącym poziomie. */
+    private long tick;
+
+    /** Stan poziomu po ostatnim kroku. */
+    private Status status = Status.RUNNING;
+
+    /** Punkty życia gracza w skali 0–100. */
+    private int health = 100;
+
+    /** Aktualny wynik punktowy w bieżącym poziomie. */
+    private int score = 0;
+
+    /** Liczba zebranych odpadów w bieżącym poziomie. */
+    private int collectedTrash = 0;
+
+    /** Liczba zebranych odpadów typu PAPER. */
+    private int paperCount = 0;
+
+    /** Liczba zebranych odpadów typu PLASTIC. */
+    private int plasticCount = 0;
+
+    /** Liczba zebranych odpadów typu GLASS. */
+    private int glassCount = 0;
+
+    /** Prędkość świata (planszy) – wpływa na przesuwanie przeszkód i śmieci. */
+    private int worldSpeed = 5;
+
+    /** Liczba odpadów wymaganych do ukończenia poziomu. */
+    private int trashToCollect = 10;
+
+    /** Szansa (w %) na wygenerowanie przeszkody w danej klatce po spełnieniu odstępu czasowego. */
+    private int obstacleSpawnChance = 2;
+
+    /** Szansa (w %) na wygenerowanie odpadu w danej klatce po spełnieniu odstępu czasowego. */
+    private int trashSpawnChance = 3;
+
+    /** Liczba klatek od ostatniego wygenerowania przeszkody. */
+    private int framesSinceLastObstacle = 0;
+
+    /** Minimalny odstęp (w klatkach) pomiędzy generowaniem przeszkód. */
+    private int minFramesBetweenObstacles = 35;
+
+    /** Liczba klatek od ostatniego wygenerowania odpadu. */
+    private int framesSinceLastTrash = 0;
+
+    /** Minimalny odstęp (w klatkach) pomiędzy generowaniem odpadów. */
+    private int minFramesBetweenTrash = 25;
+
+    /**
+     * Tworzy pusty świat gry. Przed symulacją należy wywołać {@link #startLevel(int, long)}.
+     */
+    public GameWorld() {
+        player = new Player(100, 400, 80, 400);
+    }
+
+    /**
+     * Rozpoczyna nowy poziom: resetuje stan planszy, ustawia ziarno losowania
+     * oraz parametry trudności zależne od numeru poziomu.
+     *
+     * @param lvl numer poziomu (od 1)
+     * @param seed ziarno generatora losowego
+     */
+    public void startLevel(int lvl, long seed) {
+        this.level = lvl;
+        this.seed = seed;
+        rand.setSeed(seed);
+
+        restartLevel();
+
+        trashToCollect = Math.min(15, 6 + lvl * 2);
+
+        worldSpeed = Math.min(MAX_WORLD_SPEED, 5 + (lvl - 1));
+
+        obstacleSpawnChance = Math.min(12, 3 + lvl); // limit 12%
+        trashSpawnChance    = Math.min(12, 3 + lvl);
+
+        minFramesBetweenObstacles = Math.max(26, 50 - lvl * 2);
+        minFramesBetweenTrash     = Math.max(20, 40 - lvl * 2);
+
+        framesSinceLastObstacle = 0;
+        framesSinceLastTrash = 0;
+
+        player.setMoveSpeed(Math.min(10, 5 + lvl / 2));
+
+        obstacles.setScrollSpeed(worldSpeed);
+        trashItems.setScrollSpeed(worldSpeed);
+    }
+
+    /**
+     * Resetuje aktualny poziom.
+     * Czyści przeszkody i śmieci, przywraca zdrowie gracza
+     * oraz zeruje liczniki punktów i postępu.
+     */
+    public void restartLevel() {
+        health = 100;
+        score = 0;
+        tick = 0;
+        status = Status.RUNNING;
+
+        collectedTrash = 0;
+        paperCount = plasticCount = glassCount = 0;
+
+        obstacles.clear();
+        trashItems.clear();
+        player.resetPosition();
+
+        framesSinceLastObstacle = 0;
+    }
+
+    /**
+     * Wykonuje jeden krok symulacji:
+     * aktualizację obiektów, generowanie przeszkód i śmieci,
+     * sprawdzanie kolizji oraz warunki zakończenia poziomu.
+     * Po zakończeniu poziomu kolejne wywołania nic nie zmieniają.
+     * <p>
+     * Krok nie tworzy żadnych obiektów: nowe przeszkody i odpady to wiersze w {@link EntityStore},
+     * a kolizje są liczone na współrzędnych ({@link Bounds}).
+     * </p>
+     *
+     * @param input maska wejścia gracza ({@link GameInput})
+     * @return stan poziomu po wykonaniu kroku
+     */
+    public Status step(int input) {
+        if (status != Status.RUNNING) return status;
+        if (stats == null) return advance(input);
+
+        long start = System.nanoTime();
+        phaseStart = start;
+        Status result = advance(input);
+        stats.endTick(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Zamyka fazę kroku i dolicza jej czas do pomiarów (bez pomiarów nic nie robi).
+     *
+     * @param phase faza ({@link PerfStats#SPAWN}..{@link PerfStats#PLAYER})
+     */
+    private void mark(int phase) {
+        if (stats == null) return;
+        long now = System.nanoTime();
+        stats.add(phase, now - phaseStart);
+        phaseStart = now;
+    }
+
+    /**
+     * Treść kroku symulacji (zob. {@link #step(int)}), z granicami faz dla pomiarów.
+     *
+     * @param input maska wejścia gracza ({@link GameInput})
+     * @return stan poziomu po wykonaniu kroku
+     */
+    private Status advance(int input) {
+        tick++;
+        player.applyInput(input);
+        mark(PerfStats.PLAYER);
+
+        framesSinceLastObstacle++;
+        framesSinceLastTrash++;
+
+        int groundBaseline = player.getGroundY() + player.getSize();
+
+        if (framesSinceLastObstacle >= minFramesBetweenObstacles &&
+                rand.nextInt(100) < obstacleSpawnChance) {
+
+            if (rand.nextBoolean()) {
+                if (isAreaFree(width, OilSpill.topY(groundBaseline), OilSpill.WIDTH, OilSpill.HEIGHT)) {
+                    obstacles.add(EntityKind.OIL_SPILL, width, OilSpill.topY(groundBaseline),
+                            OilSpill.WIDTH, OilSpill.HEIGHT, worldSpeed);
+                    framesSinceLastObstacle = 0;
+                }
+            } else {
+                if (isAreaFree(width, Cloud.topY(CLOUD_Y), Cloud.WIDTH, Cloud.HEIGHT)) {
+                    obstacles.add(EntityKind.CLOUD, width, Cloud.topY(CLOUD_Y),
+                            Cloud.WIDTH, Cloud.HEIGHT, worldSpeed);
+                    framesSinceLastObstacle = 0;
+                }
+            }
+
+        }
+        //  ilość generowanych  śmieci na ekranie, taka żeby gracz musiał się ruszać.
+        int remaining = trashToCollect - collectedTrash;
+        int maxTrashOnScreen = Math.min(4, Math.max(2, remaining));
+        if (trashItems.size() < maxTrashOnScreen &&
+                framesSinceLastTrash >= minFramesBetweenTrash &&
+                rand.nextInt(100) < trashSpawnChance) {
+
+            int kind = TRASH_KINDS[rand.nextInt(TRASH_KINDS.length)];
+
+            int x = width;
+            int y = groundBaseline - TRASH_SIZE - 4;
+
+            if (isAreaFree(x, y, TRASH_SIZE, TRASH_SIZE)) {
+                trashItems.add(kind, x, y, TRASH_SIZE, TRASH_SIZE, worldSpeed);
+                framesSinceLastTrash = 0;
+            }
+        }
+        mark(PerfStats.SPAWN);
+
+        // gracz porusza się dopiero w player.update() na końcu kroku
+        int px = player.getX();
+        int py = player.getY();
+        int ps = player.getSize();
+
+        obstacles.advance();
+        mark(PerfStats.OBSTACLES);
+        //kara za kolizje
+        int obstacleHits = collectHits(obstacles, px, py, ps);
+        for (int k = 0; k < obstacleHits; k++) {
+            health -= 1;
+            if (health <= 0) {
+                status = Status.GAME_OVER;
+                mark(PerfStats.COLLISION);
+                return status;
+            }
+        }
+        mark(PerfStats.COLLISION);
+
+        trashItems.advance();
+        mark(PerfStats.TRASH);
+        // zbieranie smieci
+        int trashHits = collectHits(trashItems, px, py, ps);
+        for (int k = 0; k < trashHits; k++) {
+            int i = trashItems.indexOf(hits[k]);
+
+            collectedTrash++;
+            score += 10;
+
+            switch (trashItems.kind(i)) {
+                case EntityKind.PAPER -> paperCount++;
+                case EntityKind.PLASTIC -> plasticCount++;
+                case EntityKind.GLASS -> glassCount++;
+            }
+
+            trashItems.removeAt(i);
+
+            if (collectedTrash >= trashToCollect) {
+                score += health;
+                status = Status.LEVEL_COMPLETE;
+                mark(PerfStats.COLLISION);
+                return status;
+            }
+        }
+        mark(PerfStats.COLLISION);
+
+        player.update();
+        mark(PerfStats.PLAYER);
+        return status;
+    }
+
+    /**
+     * Zbiera do {@link #hits} identyfikatory obiektów magazynu kolidujących z graczem.
+     *
+     * @param store magazyn obiektów
+     * @param px pozycja X gracza
+     * @param py pozycja Y gracza
+     * @param ps rozmiar gracza
+     * @return liczba kolidujących obiektów
+     */
+    private int collectHits(EntityStore store, int px, int py, int ps) {
+        int n = store.collectIntersecting(px, py, ps, ps, hits);
+        if (n > hits.length) {
+            hits = new int[Integer.highestOneBit(n) << 1];
+            n = store.collectIntersecting(px, py, ps, ps, hits);
+        }
+        return n;
+    }
+
+    /**
+     * Dodaje przeszkodę do planszy (poza regułami generowania – np. w trybach testowych).
+     *
+     * @param o przeszkoda
+     */
+    public void addObstacle(Obstacle o) {
+        obstacles.add(EntityKind.of(o), o.x, o.y, o.width, o.height, o.speed);
+    }
+
+    /**
+     * Dodaje odpad do planszy (poza regułami generowania – np. w trybach testowych).
+     *
+     * @param t odpad
+     */
+    public void addTrash(TrashItem t) {
+        trashItems.add(EntityKind.of(t.getType()), t.getX(), t.getY(),
+                t.getWidth(), t.getHeight(), t.getSpeed());
+    }
+
+    /**
+     * Sprawdza, czy wskazany obszar jest wolny od innych obiektów.
+     * Zapobiega pojawianiu się śmieci na przeszkodach lub nakładaniu się obiektów.
+     *
+     * @param rect testowany obszar
+     * @return true, jeśli obszar nie koliduje z żadnym obiektem
+     */
+    public boolean isAreaFree(Rectangle rect) {
+        return isAreaFree(rect.x, rect.y, rect.width, rect.height);
+    }
+
+    /**
+     * Sprawdza, czy obszar podany współrzędnymi jest wolny od innych obiektów (bez tworzenia obiektów).
+     *
+     * @param x pozycja X obszaru
+     * @param y pozycja Y obszaru
+     * @param w szerokość obszaru
+     * @param h wysokość obszaru
+     * @return true, jeśli obszar nie koliduje z żadnym obiektem
+     */
+    public boolean isAreaFree(int x, int y, int w, int h) {
+        return !obstacles.anyIntersecting(x, y, w, h) && !trashItems.anyIntersecting(x, y, w, h);
+    }
+
+    /**
+     * Ustawia szerokość świata (np. szerokość panelu gry).
+     *
+     * @param width szerokość w pikselach
+     */
+    public void setWidth(int width) {
+        if (width > 0) this.width = width;
+    }
+
+    /**
+     * Włącza pomiar czasu faz kroku.
+     *
+     * @param stats pomiary ({@code null} wyłącza pomiar)
+     */
+    public void setStats(PerfStats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Zwraca szerokość świata.
+     *
+     * @return szerokość w pikselach
+     */
+    public int getWidth() { return width; }
+
+    /**
+     * Zwraca obiekt gracza.
+     *
+     * @return gracz
+     */
+    public Player getPlayer() { return player; }
+
+    /**
+     * Zwraca magazyn aktywnych przeszkód (tylko do odczytu w wątku symulacji / rysowania).
+     *
+     * @return przeszkody
+     */
+    public EntityStore getObstacles() { return obstacles; }
+
+    /**
+     * Zwraca magazyn aktywnych odpadów (tylko do odczytu w wątku symulacji / rysowania).
+     *
+     * @return odpady
+     */
+    public EntityStore getTrashItems() { return trashItems; }
+
+    /**
+     * Zwraca łączną liczbę trafień puli obiektów (przeszkody i odpady) – patrz {@link EntityStore}.
+     *
+     * @return trafienia puli
+     */
+    public long getPoolHits() { return obstacles.poolHits() + trashItems.poolHits(); }
+
+    /**
+     * Zwraca łączną liczbę chybień puli obiektów (przeszkody i odpady) – patrz {@link EntityStore}.
+     *
+     * @return chybienia puli
+     */
+    public long getPoolMisses() { return obstacles.poolMisses() + trashItems.poolMisses(); }
+
+    /**
+     * Zwraca łączną liczbę obiektów dodanych na planszę (przeszkody i odpady).
+     *
+     * @return liczba dodanych obiektów
+     */
+    public long getSpawned() { return obstacles.added() + trashItems.added(); }
+
+    /**
+     * Zwraca łączną liczbę obiektów usuniętych z planszy (przeszkody i odpady).
+     *
+     * @return liczba usuniętych obiektów
+     */
+    public long getDespawned() { return obstacles.removed() + trashItems.removed(); }
+
+    /**
+     * Zwraca numer bieżącego poziomu.
+     *
+     * @return numer poziomu
+     */
+    public int getLevel() { return level; }
+
+    /**
+     * Zwraca ziarno generatora losowego bieżącego poziomu.
+     *
+     * @return ziarno
+     */
+    public long getSeed() { return seed; }
+
+    /**
+     * Zwraca liczbę kroków wykonanych w bieżącym poziomie.
+     *
+     * @return liczba kroków
+     */
+    public long getTick() { return tick; }
+
+    /**
+     * Zwraca stan poziomu po ostatnim kroku.
+     *
+     * @return stan poziomu
+     */
+    public Status getStatus() { return status; }
+
+    /**
+     * Zwraca punkty życia gracza (0–100).
+     *
+     * @return zdrowie
+     */
+    public int getHealth() { return health; }
+
+    /**
+     * Zwraca liczbę punktów zdobytych w bieżącym poziomie.
+     *
+     * @return punkty poziomu
+     */
+    public int getScore() { return score; }
+
+    /**
+     * Zwraca liczbę zebranych odpadów.
+     *
+     * @return liczba zebranych odpadów
+     */
+    public int getCollectedTrash() { return collectedTrash; }
+
+    /**
+     * Zwraca liczbę odpadów wymaganych do ukończenia poziomu.
+     *
+     * @return wymagana liczba odpadów
+     */
+    public int getTrashToCollect() { return trashToCollect; }
+
+    /**
+     * Zwraca liczbę zebranych odpadów typu PAPER.
+     *
+     * @return liczba papierów
+     */
+    public int getPaperCount() { return paperCount; }
+
+    /**
+     * Zwraca liczbę zebranych odpadów typu PLASTIC.
+     *
+     * @return liczba plastików
+     */
+    public int getPlasticCount() { return plasticCount; }
+
+    /**
+     * Zwraca liczbę zebranych odpadów typu GLASS.
+     *
+     * @return liczba szkieł
+     */
+    public int getGlassCount() { return glassCount; }
+
+    /**
+     * Zwraca prędkość świata w bieżącym poziomie.
+     *
+     * @return prędkość świata (piksele na krok)
+     */
+    public int getWorldSpeed() { return worldSpeed; }
+
+    /**
+     * Zwraca dystans przewinięty od początku poziomu, interpolowany między dwoma ostatnimi krokami
+     * (np. do przesuwania tła).
+     *
+     * @param alpha współczynnik interpolacji (0..1)
+     * @return dystans w pikselach
+     */
+    public double getScroll(double alpha) {
+        return Math.max(0, obstacles.scroll() - worldSpeed * (1 - alpha));
+    }
+}
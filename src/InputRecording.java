@@ -0,0 +1,487 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Nagranie jednego poziomu: ziarno losowania, parametry startu i wejście gracza krok po kroku.
+ * <p>
+ * {@link GameWorld} jest deterministyczny – ten sam poziom, ziarno, szerokość planszy
+ * i ciąg masek {@link GameInput} dają zawsze ten sam przebieg. Nagranie przechowuje więc
+ * tylko zmiany wejścia: pary (liczba kroków od poprzedniej zmiany, nowa maska). Gracz
+ * trzyma klawisze przez wiele kroków, więc minuta gry to zwykle kilkaset bajtów.
+ * </p>
+ * <p>
+ * Razem z wejściem zapisywany jest wynik, z jakim poziom się zakończył (status, kroki, punkty,
+ * zdrowie). Odtworzenie ({@link #replay(GameWorld)}) pozwala sprawdzić, czy wynik zgadza się
+ * z symulacją ({@link #matches(GameWorld)}) – np. przy zgłoszeniu błędu albo weryfikacji wyniku.
+ * </p>
+ *
+ * <pre>
+ * plik: "EJRP" | wersja | poziom | ziarno | szerokość | status | kroki | punkty | zdrowie
+ *       | liczba zmian | zmiany (varint odstęp, bajt maski)... | CRC32 całości
+ * </pre>
+ */
+public final class InputRecording {
+
+    /** Znacznik początku pliku ("EJRP"). */
+    private static final int MAGIC = 0x454A5250;
+
+    /** Wersja formatu pliku. */
+    private static final int VERSION = 1;
+
+    /** Rozmiar nagłówka (znacznik, wersja, poziom, ziarno, szerokość, wynik, liczba zmian). */
+    private static final int HEADER_BYTES = 4 + 4 + 4 + 8 + 4 + 1 + 4 + 4 + 4 + 4;
+
+    /** Rozmiar sumy kontrolnej na końcu pliku. */
+    private static final int CRC_BYTES = 4;
+
+    /** Rozszerzenie plików nagrań. */
+    public static final String EXTENSION = ".ejr";
+
+    /** Numer poziomu. */
+    private final int level;
+
+    /** Ziarno generatora losowego poziomu. */
+    private final long seed;
+
+    /** Szerokość planszy (miejsce pojawiania się obiektów). */
+    private final int width;
+
+    /** Odstępy (w krokach) między kolejnymi zmianami wejścia. */
+    private int[] gaps = new int[64];
+
+    /** Maski wejścia obowiązujące od odpowiedniej zmiany. */
+    private byte[] masks = new byte[64];
+
+    /** Liczba zmian wejścia. */
+    private int changes;
+
+    /** Liczba nagranych kroków. */
+    private int ticks;
+
+    /** Maska z ostatniego nagranego kroku. */
+    private int lastMask = GameInput.NONE;
+
+    /** Krok ostatniej zmiany wejścia. */
+    private int lastChangeTick;
+
+    /** Status, z jakim zakończył się poziom ({@code RUNNING} – przerwany). */
+    private GameWorld.Status status = GameWorld.Status.RUNNING;
+
+    /** Punkty na koniec poziomu. */
+    private int score;
+
+    /** Zdrowie na koniec poziomu. */
+    private int health = 100;
+
+    /**
+     * Tworzy puste nagranie poziomu.
+     *
+     * @param level numer poziomu
+     * @param seed ziarno generatora losowego poziomu
+     * @param width szerokość planszy
+     */
+    public InputRecording(int level, long seed, int width) {
+        this.level = level;
+        this.seed = seed;
+        this.width = width;
+    }
+
+    /**
+     * Tworzy puste nagranie dla świata tuż po {@link GameWorld#startLevel(int, long)}.
+     *
+     * @param world świat na starcie poziomu
+     * @return nagranie
+     */
+    public static InputRecording start(GameWorld world) {
+        return new InputRecording(world.getLevel(), world.getSeed(), world.getWidth());
+    }
+
+    /**
+     * Dopisuje wejście kolejnego kroku. Zapamiętywane są tylko zmiany maski,
+     * więc wywołanie zwykle nic nie alokuje.
+     *
+     * @param input maska {@link GameInput} przekazana do {@link GameWorld#step(int)}
+     */
+    public void record(int input) {
+        if (input != lastMask) {
+            if (changes == gaps.length) {
+                gaps = Arrays.copyOf(gaps, changes * 2);
+                masks = Arrays.copyOf(masks, changes * 2);
+            }
+            gaps[changes] = ticks - lastChangeTick;
+            masks[changes] = (byte) input;
+            changes++;
+            lastMask = input;
+            lastChangeTick = ticks;
+        }
+        ticks++;
+    }
+
+    /**
+     * Zapamiętuje wynik, z jakim zakończył się poziom.
+     *
+     * @param world świat po ostatnim kroku
+     */
+    public void finish(GameWorld world) {
+        status = world.getStatus();
+        score = world.getScore();
+        health = world.getHealth();
+    }
+
+    /**
+     * Zwraca maski wejścia wszystkich kroków (po jednej na krok).
+     *
+     * @return maski wejścia
+     */
+    public int[] inputs() {
+        int[] out = new int[ticks];
+        int tick = 0;
+        int mask = GameInput.NONE;
+        for (int i = 0; i < changes; i++) {
+            int next = tick + gaps[i];
+            Arrays.fill(out, tick, next, mask);
+            tick = next;
+            mask = masks[i];
+        }
+        Arrays.fill(out, tick, ticks, mask);
+        return out;
+    }
+
+    /**
+     * Odtwarza nagranie: uruchamia poziom z nagranym ziarnem i szerokością i wykonuje
+     * wszystkie nagrane kroki tak szybko, jak to możliwe (bez pętli gry i rysowania).
+     *
+     * @param world świat do odtworzenia (zostanie zresetowany)
+     * @return status świata po ostatnim kroku
+     */
+    public GameWorld.Status replay(GameWorld world) {
+        Playback playback = playback(world);
+        while (playback.step()) {
+            // kroki wykonywane w warunku pętli
+        }
+        return world.getStatus();
+    }
+
+    /**
+     * Przygotowuje odtwarzanie krok po kroku (np. z rysowaniem klatek).
+     *
+     * @param world świat do odtworzenia (zostanie zresetowany)
+     * @return odtwarzanie ustawione na pierwszy krok
+     */
+    public Playback playback(GameWorld world) {
+        world.setWidth(width);
+        world.startLevel(level, seed);
+        return new Playback(world);
+    }
+
+    /**
+     * Sprawdza, czy stan świata po odtworzeniu zgadza się z zapisanym wynikiem.
+     *
+     * @param world świat po {@link #replay(GameWorld)}
+     * @return true, jeśli status, liczba kroków, punkty i zdrowie są takie same
+     */
+    public boolean matches(GameWorld world) {
+        return world.getStatus() == status
+                && world.getTick() == ticks
+                && world.getScore() == score
+                && world.getHealth() == health;
+    }
+
+    /**
+     * Odtwarzanie nagrania krok po kroku.
+     */
+    public final class Playback {
+        /** Odtwarzany świat. */
+        private final GameWorld world;
+        /** Numer następnego kroku. */
+        private int tick;
+        /** Indeks następnej zmiany wejścia. */
+        private int change;
+        /** Krok, w którym wypada następna zmiana. */
+        private int nextChangeTick;
+        /** Bieżąca maska wejścia. */
+        private int mask = GameInput.NONE;
+
+        /**
+         * Tworzy odtwarzanie od pierwszego kroku.
+         *
+         * @param world świat ustawiony na start poziomu
+         */
+        private Playback(GameWorld world) {
+            this.world = world;
+            this.nextChangeTick = changes > 0 ? gaps[0] : Integer.MAX_VALUE;
+        }
+
+        /**
+         * Wykonuje kolejny nagrany krok.
+         *
+         * @return true, jeśli wykonano krok, a poziom nadal trwa
+         */
+        public boolean step() {
+            if (tick >= ticks) return false;
+            while (tick == nextChangeTick) {
+                mask = masks[change++];
+                nextChangeTick = change < changes ? nextChangeTick + gaps[change] : Integer.MAX_VALUE;
+            }
+            tick++;
+            return world.step(mask) == GameWorld.Status.RUNNING && tick < ticks;
+        }
+
+        /**
+         * Zwraca liczbę wykonanych kroków.
+         *
+         * @return liczba kroków
+         */
+        public int getTick() { return tick; }
+    }
+
+    /**
+     * Zapisuje nagranie w formacie binarnym.
+     *
+     * @return zawartość pliku nagrania
+     */
+    public byte[] toBytes() {
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + changes * 6 + CRC_BYTES);
+        buf.putInt(MAGIC).putInt(VERSION)
+                .putInt(level).putLong(seed).putInt(width)
+                .put((byte) status.ordinal()).putInt(ticks).putInt(score).putInt(health)
+                .putInt(changes);
+        for (int i = 0; i < changes; i++) {
+            putVarint(buf, gaps[i]);
+            buf.put(masks[i]);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), 0, buf.position());
+        buf.putInt((int) crc.getValue());
+        return Arrays.copyOf(buf.array(), buf.position());
+    }
+
+    /**
+     * Odczytuje nagranie z formatu binarnego.
+     *
+     * @param data zawartość pliku nagrania
+     * @return nagranie
+     * @throws IOException gdy dane są uszkodzone albo mają nieznany format
+     */
+    public static InputRecording fromBytes(byte[] data) throws IOException {
+        if (data.length < HEADER_BYTES + CRC_BYTES) throw new IOException("Nagranie jest za krótkie");
+        ByteBuffer buf = ByteBuffer.wrap(data);
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - CRC_BYTES);
+        if (buf.getInt(data.length - CRC_BYTES) != (int) crc.getValue()) {
+            throw new IOException("Nagranie jest uszkodzone (niezgodna suma kontrolna)");
+        }
+        if (buf.getInt() != MAGIC) throw new IOException("To nie jest plik nagrania");
+        int version = buf.getInt();
+        if (version != VERSION) throw new IOException("Nieobsługiwana wersja nagrania: " + version);
+
+        InputRecording r = new InputRecording(buf.getInt(), buf.getLong(), buf.getInt());
+        int status = buf.get();
+        GameWorld.Status[] statuses = GameWorld.Status.values();
+        if (status < 0 || status >= statuses.length) throw new IOException("Niepoprawny status nagrania");
+        r.status = statuses[status];
+        r.ticks = buf.getInt();
+        r.score = buf.getInt();
+        r.health = buf.getInt();
+        int changes = buf.getInt();
+        if (r.ticks < 0 || changes < 0 || changes > r.ticks || changes > buf.remaining() / 2) {
+            throw new IOException("Niepoprawny nagłówek nagrania");
+        }
+
+        r.gaps = new int[Math.max(1, changes)];
+        r.masks = new byte[Math.max(1, changes)];
+        long tick = 0;
+        try {
+            for (int i = 0; i < changes; i++) {
+                r.gaps[i] = getVarint(buf);
+                r.masks[i] = buf.get();
+                tick += r.gaps[i];
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Niepełne nagranie", e);
+        }
+        if (tick >= r.ticks && changes > 0 || buf.remaining() != CRC_BYTES) {
+            throw new IOException("Niepoprawne dane wejścia w nagraniu");
+        }
+        r.changes = changes;
+        return r;
+    }
+
+    /**
+     * Zwraca górne ograniczenie rozmiaru zapisu {@link #writeInputs(ByteBuffer)}.
+     *
+     * @return liczba bajtów
+     */
+    int inputsBound() {
+        return 5 + 8 + 5 + 5 + 5 + changes * 6;
+    }
+
+    /**
+     * Zapisuje samo wejście poziomu – bez znacznika, wyniku i sumy kontrolnej – w zwartej
+     * postaci używanej przez {@link RunRecord}: poziom, ziarno, szerokość, liczba kroków,
+     * liczba zmian i zmiany (varint odstęp, bajt maski).
+     *
+     * @param buf bufor docelowy (co najmniej {@link #inputsBound()} wolnych bajtów)
+     */
+    void writeInputs(ByteBuffer buf) {
+        putVarint(buf, level);
+        buf.putLong(seed);
+        putVarint(buf, width);
+        putVarint(buf, ticks);
+        putVarint(buf, changes);
+        for (int i = 0; i < changes; i++) {
+            putVarint(buf, gaps[i]);
+            buf.put(masks[i]);
+        }
+    }
+
+    /**
+     * Odczytuje wejście poziomu zapisane przez {@link #writeInputs(ByteBuffer)}.
+     * Wynik nagrania pozostaje nieznany ({@code RUNNING}) – ustala go odtworzenie.
+     *
+     * @param buf bufor źródłowy
+     * @return nagranie
+     * @throws IOException gdy dane są niepełne albo niespójne
+     */
+    static InputRecording readInputs(ByteBuffer buf) throws IOException {
+        try {
+            InputRecording r = new InputRecording(getVarint(buf), buf.getLong(), getVarint(buf));
+            r.ticks = getVarint(buf);
+            int changes = getVarint(buf);
+            // każda zmiana zajmuje co najmniej dwa bajty – chroni przed ogromną alokacją
+            if (changes > r.ticks || changes > buf.remaining() / 2) throw new IOException("Niepoprawna liczba zmian wejścia");
+            r.gaps = new int[Math.max(1, changes)];
+            r.masks = new byte[Math.max(1, changes)];
+            long tick = 0;
+            for (int i = 0; i < changes; i++) {
+                r.gaps[i] = getVarint(buf);
+                r.masks[i] = buf.get();
+                tick += r.gaps[i];
+            }
+            if (changes > 0 && tick >= r.ticks) throw new IOException("Niepoprawne dane wejścia");
+            r.changes = changes;
+            return r;
+        } catch (RuntimeException e) {
+            throw new IOException("Niepełne dane wejścia", e);
+        }
+    }
+
+    /**
+     * Zapisuje nagranie do pliku (przez plik tymczasowy, więc plik nigdy nie jest niepełny).
+     *
+     * @param file plik docelowy
+     * @throws IOException gdy zapis się nie powiedzie
+     */
+    public void write(Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(tmp, toBytes());
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Odczytuje nagranie z pliku.
+     *
+     * @param file plik nagrania
+     * @return nagranie
+     * @throws IOException gdy odczyt się nie powiedzie albo plik jest uszkodzony
+     */
+    public static InputRecording read(Path file) throws IOException {
+        return fromBytes(Files.readAllBytes(file));
+    }
+
+    /**
+     * Zapisuje liczbę nieujemną w kodowaniu o zmiennej długości (7 bitów na bajt).
+     *
+     * @param buf bufor docelowy
+     * @param value liczba nieujemna
+     */
+    static void putVarint(ByteBuffer buf, int value) {
+        while ((value & ~0x7F) != 0) {
+            buf.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+
+    /**
+     * Odczytuje liczbę zapisaną przez {@link #putVarint(ByteBuffer, int)}.
+     *
+     * @param buf bufor źródłowy
+     * @return odczytana liczba
+     */
+    static int getVarint(ByteBuffer buf) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = buf.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) throw new IllegalArgumentException("Ujemny odstęp");
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Zbyt długa liczba");
+    }
+
+    /**
+     * Zwraca numer nagranego poziomu.
+     *
+     * @return numer poziomu
+     */
+    public int getLevel() { return level; }
+
+    /**
+     * Zwraca ziarno generatora losowego nagranego poziomu.
+     *
+     * @return ziarno
+     */
+    public long getSeed() { return seed; }
+
+    /**
+     * Zwraca szerokość planszy, na której nagrano poziom.
+     *
+     * @return szerokość w pikselach
+     */
+    public int getWidth() { return width; }
+
+    /**
+     * Zwraca liczbę nagranych kroków.
+     *
+     * @return liczba kroków
+     */
+    public int getTicks() { return ticks; }
+
+    /**
+     * Zwraca liczbę zapisanych zmian wejścia.
+     *
+     * @return liczba zmian
+     */
+    public int getChanges() { return changes; }
+
+    /**
+     * Zwraca status, z jakim zakończył się nagrany poziom.
+     *
+     * @return status ({@code RUNNING} – poziom przerwany)
+     */
+    public GameWorld.Status getStatus() { return status; }
+
+    /**
+     * Zwraca punkty zapisane na koniec poziomu.
+     *
+     * @return punkty
+     */
+    public int getScore() { return score; }
+
+    /**
+     * Zwraca zdrowie zapisane na koniec poziomu.
+     *
+     * @return zdrowie
+     */
+    public int getHealth() { return health; }
+}
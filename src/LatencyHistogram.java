@@ -0,0 +1,167 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram czasów (w nanosekundach) o stałej względnej dokładności, w stylu HdrHistogram.
+ * <p>
+ * Kubełki są logarytmiczno-liniowe: każdy przedział {@code [2^k, 2^(k+1))} jest podzielony na
+ * {@value #SUB_BUCKETS} równych części, więc błąd odczytanego percentyla nie przekracza ok. 3%
+ * niezależnie od skali (od nanosekund do minut). Zapis to obliczenie indeksu i jedno atomowe
+ * zwiększenie licznika – bez blokad i bez alokacji, więc histogram może być zapisywany
+ * w pętli gry i jednocześnie czytany z innego wątku (np. przy zrzucie na zakończenie).
+ * </p>
+ */
+public final class LatencyHistogram {
+
+    /** Liczba bitów podziału przedziału potęgi dwójki. */
+    private static final int SUB_BITS = 5;
+
+    /** Liczba kubełków w przedziale potęgi dwójki. */
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /** Największa rejestrowana wartość (ok. 18 minut); większe są do niej obcinane. */
+    private static final long MAX_VALUE = (1L << 40) - 1;
+
+    /** Liczba kubełków. */
+    private static final int BUCKETS = bucket(MAX_VALUE) + 1;
+
+    /** Liczniki kubełków. */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /** Liczba zapisanych wartości. */
+    private final AtomicLong count = new AtomicLong();
+
+    /** Suma zapisanych wartości. */
+    private final AtomicLong sum = new AtomicLong();
+
+    /** Największa zapisana wartość. */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Zwraca indeks kubełka dla wartości.
+     *
+     * @param value wartość nieujemna, nie większa niż {@link #MAX_VALUE}
+     * @return indeks kubełka
+     */
+    private static int bucket(long value) {
+        if (value < 2 * SUB_BUCKETS) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /**
+     * Zwraca najmniejszą wartość należącą do kubełka.
+     *
+     * @param bucket indeks kubełka
+     * @return dolna granica kubełka
+     */
+    private static long lowerBound(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        return (long) (bucket - shift * SUB_BUCKETS) << shift;
+    }
+
+    /**
+     * Zwraca największą wartość należącą do kubełka.
+     *
+     * @param bucket indeks kubełka
+     * @return górna granica kubełka
+     */
+    static long upperBound(int bucket) {
+        return bucket + 1 < BUCKETS ? lowerBound(bucket + 1) - 1 : MAX_VALUE;
+    }
+
+    /**
+     * Zapisuje wartość.
+     *
+     * @param nanos czas w nanosekundach (ujemne są traktowane jak 0)
+     */
+    public void record(long nanos) {
+        long v = Math.max(0, Math.min(MAX_VALUE, nanos));
+        counts.incrementAndGet(bucket(v));
+        count.incrementAndGet();
+        sum.addAndGet(v);
+        long m = max.get();
+        while (v > m && !max.compareAndSet(m, v)) {
+            m = max.get();
+        }
+    }
+
+    /**
+     * Zwraca wartość, poniżej której (włącznie) leży podana część zapisanych wartości.
+     *
+     * @param quantile część wartości (0..1), np. 0.99 dla p99
+     * @return wartość percentyla w nanosekundach (środek kubełka; 0, gdy histogram jest pusty)
+     */
+    public long percentile(double quantile) {
+        long total = count.get();
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(max.get(), (lowerBound(i) + upperBound(i)) / 2);
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Zwraca liczbę zapisanych wartości.
+     *
+     * @return liczba wartości
+     */
+    public long count() {
+        return count.get();
+    }
+
+    /**
+     * Zwraca średnią zapisanych wartości.
+     *
+     * @return średnia w nanosekundach (0, gdy histogram jest pusty)
+     */
+    public double mean() {
+        long n = count.get();
+        return n == 0 ? 0.0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Zwraca największą zapisaną wartość.
+     *
+     * @return maksimum w nanosekundach
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Zwraca liczbę kubełków (do przeglądania przez {@link #bucketCount(int)}).
+     *
+     * @return liczba kubełków
+     */
+    public int buckets() {
+        return BUCKETS;
+    }
+
+    /**
+     * Zwraca liczbę wartości w kubełku.
+     *
+     * @param bucket indeks kubełka
+     * @return liczba wartości
+     */
+    public long bucketCount(int bucket) {
+        return counts.get(bucket);
+    }
+
+    /**
+     * Zeruje histogram. Wartości zapisywane w tym samym czasie z innego wątku
+     * mogą zostać częściowo zachowane.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+}
@@ -0,0 +1,546 @@
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tabela najlepszych wyników – ranking wszystkich przebiegów gry (sesji), ogólny i dzienny.
+ * <p>
+ * Przebiegi są przechowywane w kolumnach tablic (gracz, wynik, poziom, czas, dzień),
+ * a ranking to drzewo z licznikami rozmiarów poddrzew (treap), więc pozycja dowolnego
+ * wyniku ({@link #rank(int)}) i pierwsze {@code k} miejsc ({@link #top(int)}) kosztują
+ * {@code O(log n)} i {@code O(k + log n)} bez przeglądania całej historii. Każdy dzień
+ * ma osobne drzewo (w tych samych tablicach), więc dzienne rankingi działają tak samo.
+ * </p>
+ * <p>
+ * Tabela jest aktualizowana wpisami {@link ScoreStore} – zarówno odtwarzanymi przy starcie,
+ * jak i nowymi. Wyniki jednej sesji są zapisywane kolejno (sumy punktów po kolejnych poziomach),
+ * więc nowy wpis tej samej sesji co poprzedni podnosi wynik ostatniego przebiegu zamiast
+ * tworzyć nowy. Przed pierwszym zapytaniem przebiegi są tylko dopisywane do kolumn, a drzewa
+ * są budowane raz, z posortowanych przebiegów, w czasie liniowym; później każdy wpis
+ * aktualizuje drzewa przyrostowo w {@code O(log n)}.
+ * </p>
+ * <p>
+ * Kompaktowanie dziennika zostawia ostatnie i najlepsze sesje każdego gracza, więc po restarcie
+ * czołówka rankingu (do {@link ScoreStore#BEST_SESSIONS} miejsc) jest dokładna, a dalsze miejsca
+ * liczone są wśród zachowanych przebiegów.
+ * </p>
+ */
+public final class Leaderboard {
+
+    /**
+     * Wiersz tabeli wyników.
+     *
+     * @param rank miejsce (równe wyniki mają to samo miejsce)
+     * @param player nazwa gracza
+     * @param score wynik punktowy przebiegu
+     * @param level poziom, na którym przebieg zdobył wynik
+     * @param time czas zdobycia wyniku (ms od epoki)
+     */
+    public record Row(int rank, String player, int score, int level, long time) {}
+
+    /** Strefa czasowa, w której liczone są dni rankingu dziennego. */
+    private final ZoneId zone;
+
+    /** Gracze przebiegów. */
+    private String[] player = new String[256];
+    /** Wyniki przebiegów. */
+    private int[] score = new int[256];
+    /** Poziomy, na których przebiegi zdobyły wynik. */
+    private int[] level = new int[256];
+    /** Czasy zdobycia wyników. */
+    private long[] time = new long[256];
+    /** Dni (liczone od epoki), do których należą przebiegi. */
+    private int[] day = new int[256];
+
+    /** Liczba przebiegów. */
+    private int size;
+
+    /** Sesja ostatniego przebiegu. */
+    private long lastSession;
+
+    /** Numer ostatniego przebiegu (-1 – brak). */
+    private int lastRun = -1;
+
+    /** Czy drzewa rankingów są zbudowane (przed pierwszym zapytaniem przebiegi są tylko zbierane). */
+    private boolean indexed;
+
+    /** Jedna kopia każdej nazwy gracza (wpisy dziennika mają osobne kopie). */
+    private final Map<String, String> names = new HashMap<>();
+
+    /** Początek (ms od epoki) dnia ostatnio przeliczonego w {@link #epochDay(long)}. */
+    private long dayStart = 1;
+
+    /** Koniec (ms od epoki, wyłącznie) dnia ostatnio przeliczonego w {@link #epochDay(long)}. */
+    private long dayEnd;
+
+    /** Dzień ostatnio przeliczony w {@link #epochDay(long)}. */
+    private int cachedDay;
+
+    /** Ranking wszystkich przebiegów. */
+    private final Treap allTime = new Treap();
+
+    /** Korzeń rankingu ogólnego (-1 – pusty). */
+    private int allTimeRoot = -1;
+
+    /** Rankingi dzienne (jedno drzewo na dzień, wspólne tablice). */
+    private final Treap daily = new Treap();
+
+    /** Korzenie rankingów dziennych według dnia. */
+    private final Map<Integer, Integer> dayRoots = new HashMap<>();
+
+    /**
+     * Tworzy pustą tabelę z dniami liczonymi w strefie czasowej systemu.
+     */
+    public Leaderboard() {
+        this(ZoneId.systemDefault());
+    }
+
+    /**
+     * Tworzy pustą tabelę.
+     *
+     * @param zone strefa czasowa dni rankingu dziennego
+     */
+    public Leaderboard(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * Uwzględnia wpis dziennika wyników (wpisy inne niż {@link ScoreStore#SCORE} są pomijane).
+     *
+     * @param e wpis dziennika
+     */
+    public synchronized void accept(ScoreStore.Entry e) {
+        if (e.kind() != ScoreStore.SCORE) return;
+        if (lastRun >= 0 && e.session() == lastSession && e.player().equals(player[lastRun])) {
+            if (e.value() <= score[lastRun]) return;
+            int run = lastRun;
+            if (indexed) {
+                allTimeRoot = allTime.remove(allTimeRoot, run);
+                dayRoots.put(day[run], daily.remove(dayRoots.get(day[run]), run));
+            }
+            score[run] = e.value();
+            level[run] = e.level();
+            time[run] = e.time();
+            if (indexed) link(run);
+            return;
+        }
+
+        int run = size++;
+        ensureCapacity(size);
+        player[run] = names.computeIfAbsent(e.player(), k -> k);
+        score[run] = e.value();
+        level[run] = e.level();
+        time[run] = e.time();
+        day[run] = epochDay(e.time());
+        lastRun = run;
+        lastSession = e.session();
+        if (indexed) link(run);
+    }
+
+    /**
+     * Wstawia przebieg do rankingu ogólnego i rankingu jego dnia.
+     *
+     * @param run numer przebiegu
+     */
+    private void link(int run) {
+        allTimeRoot = allTime.insert(allTimeRoot, run);
+        dayRoots.put(day[run], daily.insert(dayRoots.getOrDefault(day[run], -1), run));
+    }
+
+    /**
+     * Buduje drzewa rankingów ze wszystkich zebranych przebiegów (przy pierwszym zapytaniu).
+     * Przebiegi są sortowane raz (klucze {@code long}), a drzewa są składane z posortowanej
+     * kolejności w czasie liniowym; rankingi dzienne powstają przez stabilne rozdzielenie
+     * posortowanych przebiegów według dni.
+     */
+    private void ensureIndex() {
+        if (indexed) return;
+        indexed = true;
+        if (size == 0) return;
+
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) keys[i] = sortKey(i);
+        Arrays.sort(keys);
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) order[i] = (int) keys[i];
+        allTimeRoot = allTime.build(order, 0, size);
+
+        int minDay = Integer.MAX_VALUE;
+        int maxDay = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            minDay = Math.min(minDay, day[i]);
+            maxDay = Math.max(maxDay, day[i]);
+        }
+        int[] start = new int[maxDay - minDay + 2];
+        for (int i = 0; i < size; i++) start[day[i] - minDay + 1]++;
+        for (int d = 1; d < start.length; d++) start[d] += start[d - 1];
+        int[] byDay = new int[size];
+        int[] fill = start.clone();
+        for (int run : order) byDay[fill[day[run] - minDay]++] = run;
+        for (int d = 0; d + 1 < start.length; d++) {
+            if (start[d] < start[d + 1]) {
+                dayRoots.put(minDay + d, daily.build(byDay, start[d], start[d + 1]));
+            }
+        }
+    }
+
+    /**
+     * Zwraca klucz sortowania przebiegu zgodny z {@link #before(int, int)}:
+     * malejący wynik w starszych bitach, numer przebiegu w młodszych.
+     *
+     * @param run numer przebiegu
+     * @return klucz sortowania
+     */
+    private long sortKey(int run) {
+        long descending = 0xFFFFFFFFL - ((score[run] ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+        return (descending << 32) | run;
+    }
+
+    /**
+     * Zwraca liczbę przebiegów.
+     *
+     * @return liczba przebiegów
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Zwraca miejsce, jakie zająłby wynik w rankingu ogólnym.
+     *
+     * @param value wynik punktowy
+     * @return miejsce (1 – najlepszy; równe wyniki mają to samo miejsce)
+     */
+    public synchronized int rank(int value) {
+        ensureIndex();
+        return allTime.countAbove(allTimeRoot, value) + 1;
+    }
+
+    /**
+     * Zwraca miejsce, jakie zająłby wynik w rankingu danego dnia.
+     *
+     * @param date dzień
+     * @param value wynik punktowy
+     * @return miejsce (1 – najlepszy)
+     */
+    public synchronized int rankOnDay(LocalDate date, int value) {
+        ensureIndex();
+        return daily.countAbove(dayRoots.getOrDefault((int) date.toEpochDay(), -1), value) + 1;
+    }
+
+    /**
+     * Zwraca pierwsze {@code k} miejsc rankingu ogólnego.
+     *
+     * @param k liczba wierszy
+     * @return wiersze od najlepszego
+     */
+    public synchronized List<Row> top(int k) {
+        ensureIndex();
+        return rows(allTime, allTimeRoot, k);
+    }
+
+    /**
+     * Zwraca pierwsze {@code k} miejsc rankingu danego dnia.
+     *
+     * @param date dzień
+     * @param k liczba wierszy
+     * @return wiersze od najlepszego
+     */
+    public synchronized List<Row> topOfDay(LocalDate date, int k) {
+        ensureIndex();
+        return rows(daily, dayRoots.getOrDefault((int) date.toEpochDay(), -1), k);
+    }
+
+    /**
+     * Zwraca dzisiejszą datę w strefie czasowej tabeli.
+     *
+     * @return dzisiejszy dzień
+     */
+    public LocalDate today() {
+        return LocalDate.now(zone);
+    }
+
+    /**
+     * Buduje wiersze z pierwszych {@code k} przebiegów drzewa.
+     *
+     * @param tree drzewo rankingu
+     * @param root korzeń
+     * @param k liczba wierszy
+     * @return wiersze od najlepszego
+     */
+    private List<Row> rows(Treap tree, int root, int k) {
+        int[] ids = new int[Math.max(0, k)];
+        int n = tree.top(root, ids, 0);
+        List<Row> out = new ArrayList<>(n);
+        int rank = 0;
+        for (int i = 0; i < n; i++) {
+            int run = ids[i];
+            if (i == 0 || score[run] != score[ids[i - 1]]) rank = i + 1;
+            out.add(new Row(rank, player[run], score[run], level[run], time[run]));
+        }
+        return out;
+    }
+
+    /**
+     * Zamienia czas na numer dnia w strefie czasowej tabeli.
+     * Granice ostatniego dnia są zapamiętywane, bo kolejne wpisy zwykle należą do tego samego dnia.
+     *
+     * @param millis czas (ms od epoki)
+     * @return dzień od epoki
+     */
+    private int epochDay(long millis) {
+        if (millis >= dayStart && millis < dayEnd) return cachedDay;
+        LocalDate date = LocalDate.ofInstant(Instant.ofEpochMilli(millis), zone);
+        cachedDay = (int) date.toEpochDay();
+        dayStart = date.atStartOfDay(zone).toInstant().toEpochMilli();
+        dayEnd = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        return cachedDay;
+    }
+
+    /**
+     * Sprawdza, czy przebieg {@code a} jest w rankingu przed {@code b}:
+     * wyższy wynik, przy równym – wcześniej rozpoczęty przebieg.
+     *
+     * @param a numer przebiegu
+     * @param b numer przebiegu
+     * @return true, jeśli {@code a} jest przed {@code b}
+     */
+    private boolean before(int a, int b) {
+        if (score[a] != score[b]) return score[a] > score[b];
+        return a < b;
+    }
+
+    /**
+     * Powiększa kolumny przebiegów.
+     *
+     * @param capacity wymagana liczba przebiegów
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity <= score.length) return;
+        int n = Math.max(capacity, score.length * 2);
+        player = Arrays.copyOf(player, n);
+        score = Arrays.copyOf(score, n);
+        level = Arrays.copyOf(level, n);
+        time = Arrays.copyOf(time, n);
+        day = Arrays.copyOf(day, n);
+        allTime.ensureCapacity(n);
+        daily.ensureCapacity(n);
+    }
+
+    /**
+     * Drzewo BST z kopcem losowych priorytetów (treap) nad numerami przebiegów,
+     * uporządkowane według {@link #before(int, int)}, z rozmiarami poddrzew.
+     * Jedne tablice mogą przechowywać wiele rozłącznych drzew (różne korzenie).
+     */
+    private final class Treap {
+        /** Lewe dzieci (-1 – brak). */
+        private int[] left = new int[256];
+        /** Prawe dzieci (-1 – brak). */
+        private int[] right = new int[256];
+        /** Rozmiary poddrzew. */
+        private int[] count = new int[256];
+
+        /** Lewa część ostatniego podziału. */
+        private int splitLeft;
+        /** Prawa część ostatniego podziału. */
+        private int splitRight;
+
+        /**
+         * Powiększa tablice węzłów.
+         *
+         * @param capacity wymagana liczba węzłów
+         */
+        void ensureCapacity(int capacity) {
+            if (capacity <= left.length) return;
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            count = Arrays.copyOf(count, capacity);
+        }
+
+        /**
+         * Składa drzewo z przebiegów już uporządkowanych według rankingu (w czasie liniowym:
+         * kolejne przebiegi trafiają na prawą krawędź, a stos pilnuje porządku priorytetów).
+         *
+         * @param ids przebiegi w kolejności rankingu
+         * @param from początek zakresu
+         * @param to koniec zakresu (wyłącznie)
+         * @return korzeń drzewa
+         */
+        int build(int[] ids, int from, int to) {
+            int[] stack = new int[to - from];
+            int top = 0;
+            for (int i = from; i < to; i++) {
+                int id = ids[i];
+                left[id] = -1;
+                right[id] = -1;
+                int last = -1;
+                while (top > 0 && priority(stack[top - 1]) < priority(id)) last = stack[--top];
+                left[id] = last;
+                if (top > 0) right[stack[top - 1]] = id;
+                stack[top++] = id;
+            }
+            int root = stack[0];
+            fixCounts(root);
+            return root;
+        }
+
+        /**
+         * Przelicza rozmiary całego poddrzewa (po {@link #build}).
+         *
+         * @param t korzeń poddrzewa
+         * @return rozmiar poddrzewa
+         */
+        private int fixCounts(int t) {
+            if (t < 0) return 0;
+            count[t] = fixCounts(left[t]) + fixCounts(right[t]) + 1;
+            return count[t];
+        }
+
+        /**
+         * Wstawia przebieg do drzewa.
+         *
+         * @param root korzeń (-1 – puste)
+         * @param id numer przebiegu
+         * @return nowy korzeń
+         */
+        int insert(int root, int id) {
+            left[id] = -1;
+            right[id] = -1;
+            count[id] = 1;
+            split(root, id);
+            int l = splitLeft;
+            int r = splitRight;
+            return merge(merge(l, id), r);
+        }
+
+        /**
+         * Usuwa przebieg z drzewa.
+         *
+         * @param root korzeń
+         * @param id numer przebiegu (musi być w drzewie)
+         * @return nowy korzeń
+         */
+        int remove(int root, int id) {
+            if (root == id) return merge(left[id], right[id]);
+            if (before(id, root)) left[root] = remove(left[root], id);
+            else right[root] = remove(right[root], id);
+            update(root);
+            return root;
+        }
+
+        /**
+         * Dzieli drzewo na przebiegi przed {@code id} ({@link #splitLeft})
+         * i pozostałe ({@link #splitRight}).
+         *
+         * @param t korzeń
+         * @param id numer przebiegu wyznaczającego podział
+         */
+        private void split(int t, int id) {
+            if (t < 0) {
+                splitLeft = -1;
+                splitRight = -1;
+            } else if (before(t, id)) {
+                split(right[t], id);
+                right[t] = splitLeft;
+                update(t);
+                splitLeft = t;
+            } else {
+                split(left[t], id);
+                left[t] = splitRight;
+                update(t);
+                splitRight = t;
+            }
+        }
+
+        /**
+         * Łączy dwa drzewa (wszystkie przebiegi {@code a} są przed przebiegami {@code b}).
+         *
+         * @param a lewe drzewo
+         * @param b prawe drzewo
+         * @return korzeń połączonego drzewa
+         */
+        private int merge(int a, int b) {
+            if (a < 0) return b;
+            if (b < 0) return a;
+            if (priority(a) > priority(b)) {
+                right[a] = merge(right[a], b);
+                update(a);
+                return a;
+            }
+            left[b] = merge(a, left[b]);
+            update(b);
+            return b;
+        }
+
+        /**
+         * Liczy przebiegi z wynikiem wyższym niż podany.
+         *
+         * @param root korzeń
+         * @param value wynik punktowy
+         * @return liczba przebiegów
+         */
+        int countAbove(int root, int value) {
+            int n = 0;
+            int t = root;
+            while (t >= 0) {
+                if (score[t] > value) {
+                    n += size(left[t]) + 1;
+                    t = right[t];
+                } else {
+                    t = left[t];
+                }
+            }
+            return n;
+        }
+
+        /**
+         * Wypisuje przebiegi drzewa w kolejności rankingu, aż do zapełnienia tablicy.
+         *
+         * @param t korzeń poddrzewa
+         * @param out tablica wyników
+         * @param n liczba już wypisanych przebiegów
+         * @return nowa liczba wypisanych przebiegów
+         */
+        int top(int t, int[] out, int n) {
+            if (t < 0 || n >= out.length) return n;
+            n = top(left[t], out, n);
+            if (n < out.length) out[n++] = t;
+            return top(right[t], out, n);
+        }
+
+        /**
+         * Przelicza rozmiar poddrzewa węzła.
+         *
+         * @param t węzeł
+         */
+        private void update(int t) {
+            count[t] = size(left[t]) + size(right[t]) + 1;
+        }
+
+        /**
+         * Zwraca rozmiar poddrzewa.
+         *
+         * @param t węzeł (-1 – puste)
+         * @return liczba węzłów
+         */
+        private int size(int t) {
+            return t < 0 ? 0 : count[t];
+        }
+
+        /**
+         * Zwraca pseudolosowy, stały priorytet węzła (mieszanie numeru przebiegu).
+         *
+         * @param id numer przebiegu
+         * @return priorytet
+         */
+        private int priority(int id) {
+            int h = id * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -2,14 +2,43 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
 /**
  * Panel menu głównego gry Eco Jumper.
  * Odpowiada za wyświetlanie tytułu gry, przycisków sterujących
- * (start gry, samouczek, wyjście) oraz najlepszego wyniku gracza.
+ * (start gry, samouczek, wyjście), najlepszego wyniku gracza
+ * oraz tabeli dziesięciu najlepszych wyników ({@link Leaderboard}).
+ * Menu jest pokazywane zanim grafika gry zostanie wczytana – pasek postępu
+ * ({@link #assetsLoaded(int, int)}) znika po wczytaniu wszystkich obrazów,
+ * a tło pojawia się, gdy tylko zostanie zdekodowane.
  */
 
 public class MenuPanel extends JPanel implements ActionListener {
 
+    /** Wysokość wiersza tabeli wyników. */
+    private static final int ROW_H = 20;
+
+    /** Szerokość tabeli wyników. */
+    private static final int TABLE_W = 330;
+
+    /** Czcionka nagłówka tabeli wyników. */
+    private static final Font TABLE_TITLE_FONT = new Font("Arial", Font.BOLD, 16);
+
+    /** Czcionka wierszy tabeli wyników. */
+    private static final Font TABLE_FONT = new Font("Arial", Font.PLAIN, 14);
+
+    /** Tło tabeli wyników. */
+    private static final Color TABLE_FILL = new Color(255, 255, 255, 190);
+
+    /** Format daty zdobycia wyniku. */
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("dd.MM.yyyy").withZone(ZoneId.systemDefault());
+
     /** Referencja do głównego okna gry (zarządza przełączaniem paneli). */
     private EcoJumperGame parent;
     /** Przycisk uruchamiający rozgrywkę. */
@@ -22,8 +51,18 @@ public class MenuPanel extends JPanel implements ActionListener {
     private JLabel bestLevelLabel;
     /** Etykieta informująca o najlepszym wyniku punktowym. */
     private JLabel bestScoreLabel;
-    /** Obraz tła menu wczytywany z zasobów projektu. */
+    /** Obraz tła menu pobierany z {@link SpriteRegistry} ({@code null}, dopóki nie jest wczytany). */
     private Image backgroundImage;
+    /** Pasek postępu wczytywania grafiki. */
+    private JProgressBar loadingBar;
+    /** Czy narysowano już pierwszą klatkę menu (do pomiaru czasu startu). */
+    private boolean firstFramePainted;
+    /** Tabela najlepszych wyników. */
+    private JComponent leaderboardTable;
+    /** Wiersze tabeli najlepszych wyników ({@code null} – wyniki są jeszcze wczytywane). */
+    private List<Leaderboard.Row> topRows;
+    /** Miejsce najlepszego wyniku gracza w rankingu. */
+    private int playerRank;
 
     /**
      * Tworzy panel menu głównego i inicjalizuje przyciski, etykiety oraz tło.
@@ -33,11 +72,18 @@ public class MenuPanel extends JPanel implements ActionListener {
     public MenuPanel(EcoJumperGame parent) {
         this.parent = parent;
 
-        backgroundImage = new ImageIcon("assets/menu_bg.png").getImage();
+        backgroundImage = SpriteRegistry.getIfLoaded(SpriteRegistry.MENU_BACKGROUND);
 
         setLayout(null);
         setBackground(Color.BLACK);
 
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                ScaledImageCache.invalidate(backgroundImage);
+            }
+        });
+
         startButton = createMenuButton("Start gry");
         tutorialButton = createMenuButton("Samouczek");
         exitButton = createMenuButton("Wyjście");
@@ -63,6 +109,37 @@ public class MenuPanel extends JPanel implements ActionListener {
 
         add(bestLevelLabel);
         add(bestScoreLabel);
+
+        leaderboardTable = new JComponent() {
+            @Override
+            protected void paintComponent(Graphics g) {
+                paintLeaderboard(g, getWidth(), getHeight());
+            }
+        };
+        add(leaderboardTable);
+
+        loadingBar = new JProgressBar();
+        loadingBar.setStringPainted(true);
+        loadingBar.setString("Wczytywanie grafiki…");
+        add(loadingBar);
+    }
+
+    /**
+     * Aktualizuje postęp wczytywania grafiki; pokazuje tło, gdy tylko jest wczytane,
+     * a po wczytaniu wszystkich obrazów ukrywa pasek postępu. Wywoływane w wątku EDT.
+     *
+     * @param done liczba wczytanych obrazów
+     * @param total liczba wszystkich obrazów
+     */
+    public void assetsLoaded(int done, int total) {
+        loadingBar.setMaximum(total);
+        loadingBar.setValue(done);
+        loadingBar.setString("Wczytywanie grafiki… " + done + "/" + total);
+        if (done >= total) loadingBar.setVisible(false);
+        if (backgroundImage == null) {
+            backgroundImage = SpriteRegistry.getIfLoaded(SpriteRegistry.MENU_BACKGROUND);
+            if (backgroundImage != null) repaint();
+        }
     }
     /**
      * Tworzy wystylizowany przycisk menu o spójnym wyglądzie.
@@ -100,6 +177,57 @@ public class MenuPanel extends JPanel implements ActionListener {
         bestScoreLabel.setText("Najlepszy wynik: " + score + " pkt");
     }
 
+    /**
+     * Aktualizuje tabelę najlepszych wyników.
+     *
+     * @param rows wiersze od najlepszego ({@code null} – wyniki są jeszcze wczytywane)
+     * @param rank miejsce najlepszego wyniku gracza (0 – gracz nie ma jeszcze wyników)
+     */
+    public void updateLeaderboard(List<Leaderboard.Row> rows, int rank) {
+        topRows = rows;
+        playerRank = rank;
+        leaderboardTable.repaint();
+    }
+
+    /**
+     * Rysuje tabelę najlepszych wyników: miejsce, gracza, wynik, poziom i datę.
+     *
+     * @param g kontekst graficzny tabeli
+     * @param w szerokość tabeli
+     * @param h wysokość tabeli
+     */
+    private void paintLeaderboard(Graphics g, int w, int h) {
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2.setColor(TABLE_FILL);
+        g2.fillRoundRect(0, 0, w - 1, h - 1, 15, 15);
+
+        g2.setColor(Color.DARK_GRAY);
+        g2.setFont(TABLE_TITLE_FONT);
+        g2.drawString("Najlepsze wyniki", 12, ROW_H);
+        if (topRows == null || topRows.isEmpty()) {
+            g2.setFont(TABLE_FONT);
+            g2.drawString(topRows == null ? "Wczytywanie wyników…" : "Brak wyników", 12, 2 * ROW_H);
+            return;
+        }
+
+        g2.setFont(TABLE_FONT);
+        FontMetrics fm = g2.getFontMetrics();
+        int y = 2 * ROW_H;
+        for (Leaderboard.Row row : topRows) {
+            String rank = row.rank() + ".";
+            g2.drawString(rank, 34 - fm.stringWidth(rank), y);
+            String name = row.player();
+            g2.drawString(name.length() > 10 ? name.substring(0, 9) + "…" : name, 42, y);
+            String points = row.score() + " pkt";
+            g2.drawString(points, 180 - fm.stringWidth(points), y);
+            g2.drawString("poz. " + row.level(), 192, y);
+            g2.drawString(DATE_FORMAT.format(Instant.ofEpochMilli(row.time())), 245, y);
+            y += ROW_H;
+        }
+        if (playerRank > 0) g2.drawString("Twoje miejsce: " + playerRank, 12, y + 4);
+    }
+
     /**
      * Rozmieszcza komponenty menu zależnie od aktualnego rozmiaru panelu.
      * Wywoływana automatycznie przez Swing (np. po zmianie rozmiaru okna).
@@ -122,6 +250,10 @@ public class MenuPanel extends JPanel implements ActionListener {
         int labelY = h - 80;
         bestLevelLabel.setBounds(0, labelY, w, 20);
         bestScoreLabel.setBounds(0, labelY + 22, w, 20);
+
+        leaderboardTable.setBounds(w - TABLE_W - 20, firstY - 20, TABLE_W, ROW_H * 13);
+
+        loadingBar.setBounds(x, labelY - 40, btnW, 20);
     }
 
 
@@ -134,7 +266,11 @@ public class MenuPanel extends JPanel implements ActionListener {
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         if (backgroundImage != null) {
-            g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
+            g.drawImage(ScaledImageCache.get(backgroundImage, getWidth(), getHeight()), 0, 0, this);
+        }
+        if (!firstFramePainted) {
+            firstFramePainted = true;
+            parent.firstFramePainted();
         }
     }
 
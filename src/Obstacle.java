@@ -1,9 +1,12 @@
-
-import java.awt.*;
 /**
- * Abstrakcyjna klasa bazowa dla przeszkód w grze.
- * Definiuje wspólne cechy i zachowanie wszystkich przeszkód,
- * takich jak ruch, kolizje i sprawdzanie wyjścia poza ekran.
+ * Abstrakcyjna klasa bazowa dla przeszkód w grze – opis przeszkody dodawanej do planszy
+ * poza regułami generowania (np. w testach wydajności).
+ * <p>
+ * {@link GameWorld} przechowuje przeszkody planszy w {@link EntityStore}; obiekt przeszkody
+ * opisuje tylko jej rodzaj, położenie, wymiary i prędkość przy dodawaniu
+ * ({@link GameWorld#addObstacle(Obstacle)}). Ruch i kolizje obsługuje {@link EntityStore},
+ * a rysowanie – {@link WorldRenderer}.
+ * </p>
  */
 public abstract class Obstacle {
     /** Pozycja pozioma przeszkody na planszy. */
@@ -39,41 +42,4 @@ public abstract class Obstacle {
     public void setSpeed(int s) {
         this.speed = s;
     }
-
-    /**
-     * Aktualizuje pozycję przeszkody.
-     * Domyślnie przesuwa ją w lewo z określoną prędkością.
-     */
-    public void update() {
-        x -= speed;
-    }
-
-    /**
-     * Rysuje przeszkodę na ekranie.
-     * Metoda implementowana w klasach potomnych.
-     *
-     * @param g obiekt Graphics używany do rysowania
-     */
-    public abstract void draw(Graphics g);
-
-    /**
-     * Sprawdza, czy przeszkoda opuściła ekran gry.
-     *
-     * @return true jeśli przeszkoda jest poza ekranem
-     */
-    public boolean isOutOfScreen() {
-        return x + width < 0;
-    }
-
-    /**
-     * Zwraca obszar kolizji przeszkody.
-     *
-     * @return prostokąt kolizji
-     */
-    public Rectangle getBounds() {
-        return new Rectangle(x, y, width, height);
-    }
-
-
-
 }
@@ -1,6 +1,3 @@
-import javax.swing.*;
-import java.awt.*;
-
 /**
  * Przeszkoda typu plama ropy.
  * <p>
@@ -10,10 +7,14 @@ import java.awt.*;
  */
 public class OilSpill extends Obstacle {
 
-    /**
-     * Obraz graficzny plamy ropy
-     */
-    private Image sprite;
+    /** Szerokość plamy ropy. */
+    public static final int WIDTH = 96;
+
+    /** Wysokość plamy ropy. */
+    public static final int HEIGHT = 24;
+
+    /** O ile pikseli plama wchodzi poniżej linii ziemi. */
+    private static final int SINK = 10;
 
     /**
      * Tworzy nową przeszkodę typu plama ropy.
@@ -22,18 +23,17 @@ public class OilSpill extends Obstacle {
      * @param groundBaselineY pozycja linii ziemi
      */
     public OilSpill(int startX, int groundBaselineY) {
-        super(startX, 0, 96, 24);
-        this.y = groundBaselineY + 10 - this.height;
-        sprite = new ImageIcon("assets/pool.png").getImage();
+        super(startX, topY(groundBaselineY), WIDTH, HEIGHT);
     }
 
     /**
-     * Rysowanie przeszkody
-     * @param g obiekt Graphics używany do rysowania
+     * Zwraca pozycję Y plamy dla podanej linii ziemi
+     * (pozwala sprawdzić miejsce przed utworzeniem obiektu).
+     *
+     * @param groundBaselineY pozycja linii ziemi
+     * @return pozycja Y górnej krawędzi plamy
      */
-    @Override
-    public void draw(Graphics g) {
-        g.drawImage(sprite, x, y, width, height, null);
+    public static int topY(int groundBaselineY) {
+        return groundBaselineY + SINK - HEIGHT;
     }
 }
-
@@ -0,0 +1,200 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Tło planszy złożone z poziomych pasów przesuwanych z różną prędkością (paralaksa).
+ * <p>
+ * Każda warstwa to pas obrazu źródłowego (np. krajobraz i ziemia z {@code background.png})
+ * przeskalowany raz do szerokości klatki i wysokości pasa. Pas jest zapętlany z własnym
+ * odbiciem lustrzanym (obraz, odbicie, obraz...), więc łączenia kafelków są niewidoczne
+ * także dla obrazów, które same nie są zapętlone. Przesunięcie warstwy to ułamek dystansu
+ * przewiniętego przez planszę.
+ * </p>
+ * <p>
+ * W każdej klatce warstwa to najwyżej dwa kopiowania bez skalowania, więc koszt zależy
+ * od rozmiaru ekranu, a nie od rozmiaru obrazu źródłowego.
+ * </p>
+ */
+public final class ParallaxBackground {
+
+    /**
+     * Warstwa tła – pas obrazu źródłowego i jego prędkość.
+     *
+     * @param top górna krawędź pasa jako część wysokości obrazu (0..1)
+     * @param bottom dolna krawędź pasa jako część wysokości obrazu (0..1)
+     * @param speed prędkość warstwy jako część prędkości świata (0 – nieruchoma)
+     */
+    public record Layer(double top, double bottom, double speed) {}
+
+    /** Obraz źródłowy warstw. */
+    private final Image source;
+
+    /** Warstwy od najdalszej do najbliższej. */
+    private final Layer[] layers;
+
+    /** Przeskalowane pasy warstw. */
+    private final BufferedImage[] strips;
+
+    /** Odbite w poziomie pasy warstw. */
+    private final BufferedImage[] flipped;
+
+    /** Szerokość klatki, dla której przeskalowano pasy. */
+    private int stripW = -1;
+
+    /** Wysokość klatki, dla której przeskalowano pasy. */
+    private int stripH = -1;
+
+    /** Numer unieważnienia {@link ScaledImageCache}, z którego pochodzą pasy. */
+    private int generation = -1;
+
+    /**
+     * Tworzy tło z podanych warstw.
+     *
+     * @param source obraz źródłowy (może być {@code null} – wtedy nic nie jest rysowane)
+     * @param layers warstwy od najdalszej do najbliższej
+     */
+    public ParallaxBackground(Image source, Layer... layers) {
+        this.source = source;
+        this.layers = layers.clone();
+        this.strips = new BufferedImage[layers.length];
+        this.flipped = new BufferedImage[layers.length];
+    }
+
+    /**
+     * Tworzy tło planszy z {@code background.png}: krajobraz przesuwany wolno
+     * i ziemię przesuwaną z prędkością świata (razem z przeszkodami i odpadami).
+     *
+     * @param source obraz tła planszy
+     * @param parallax czy warstwy mają się przesuwać ({@code false} – tło nieruchome)
+     * @return tło planszy
+     */
+    public static ParallaxBackground forLevel(Image source, boolean parallax) {
+        // linia trawy w background.png (912 z 1080 px) – żaden element krajobrazu jej nie przecina
+        double ground = 912.0 / 1080.0;
+        return new ParallaxBackground(source,
+                new Layer(0, ground, parallax ? 0.25 : 0),
+                new Layer(ground, 1, parallax ? 1 : 0));
+    }
+
+    /**
+     * Zwraca obraz źródłowy warstw.
+     *
+     * @return obraz źródłowy
+     */
+    public Image getSource() {
+        return source;
+    }
+
+    /**
+     * Zwraca liczbę warstw.
+     *
+     * @return liczba warstw
+     */
+    public int layers() {
+        return layers.length;
+    }
+
+    /**
+     * Zwraca górną krawędź pasa warstwy na ekranie.
+     *
+     * @param layer numer warstwy
+     * @param h wysokość klatki
+     * @return pozycja Y
+     */
+    public int bandTop(int layer, int h) {
+        return (int) Math.round(layers[layer].top() * h);
+    }
+
+    /**
+     * Zwraca wysokość pasa warstwy na ekranie.
+     *
+     * @param layer numer warstwy
+     * @param h wysokość klatki
+     * @return wysokość w pikselach
+     */
+    public int bandHeight(int layer, int h) {
+        return (int) Math.round(layers[layer].bottom() * h) - bandTop(layer, h);
+    }
+
+    /**
+     * Zwraca przesunięcie warstwy w zapętlonym pasie (obraz i odbicie, razem {@code 2 * w}).
+     *
+     * @param layer numer warstwy
+     * @param scroll dystans przewinięty przez planszę
+     * @param w szerokość klatki
+     * @return przesunięcie w pikselach, od 0 do {@code 2 * w - 1}
+     */
+    public int offset(int layer, double scroll, int w) {
+        if (w <= 0) return 0;
+        long shift = Math.round(scroll * layers[layer].speed());
+        return (int) Math.floorMod(shift, 2L * w);
+    }
+
+    /**
+     * Rysuje wszystkie warstwy (z uwzględnieniem przycięcia kontekstu graficznego).
+     *
+     * @param g obiekt graficzny do rysowania
+     * @param scroll dystans przewinięty przez planszę
+     * @param w szerokość klatki
+     * @param h wysokość klatki
+     */
+    public void draw(Graphics g, double scroll, int w, int h) {
+        draw(g, scroll, w, h, null);
+    }
+
+    /**
+     * Rysuje wszystkie warstwy i zlicza kopiowania pasów ({@link BlitCounters#BACKGROUND}).
+     *
+     * @param g obiekt graficzny do rysowania
+     * @param scroll dystans przewinięty przez planszę
+     * @param w szerokość klatki
+     * @param h wysokość klatki
+     * @param blits liczniki kopiowań (może być {@code null} – bez zliczania)
+     */
+    public void draw(Graphics g, double scroll, int w, int h, BlitCounters blits) {
+        if (source == null || w <= 0 || h <= 0) return;
+        ensureStrips(w, h);
+        for (int i = 0; i < layers.length; i++) {
+            BufferedImage strip = strips[i];
+            if (strip == null) continue;
+
+            int y = bandTop(i, h);
+            int o = offset(i, scroll, w);
+            // okno [o, o + w) obejmuje najwyżej dwa sąsiednie kafelki: obraz i odbicie
+            BufferedImage first = o < w ? strip : flipped[i];
+            BufferedImage second = o < w ? flipped[i] : strip;
+            int x = o % w;
+            g.drawImage(first, -x, y, null);
+            if (blits != null) blits.record(BlitCounters.BACKGROUND, ScaledImageCache.isAccelerated(first));
+            if (x > 0) {
+                g.drawImage(second, w - x, y, null);
+                if (blits != null) blits.record(BlitCounters.BACKGROUND, ScaledImageCache.isAccelerated(second));
+            }
+        }
+    }
+
+    /**
+     * Skaluje pasy warstw do rozmiaru klatki, jeśli zmienił się rozmiar
+     * albo unieważniono przeskalowane obrazy.
+     *
+     * @param w szerokość klatki
+     * @param h wysokość klatki
+     */
+    private void ensureStrips(int w, int h) {
+        int gen = ScaledImageCache.generation();
+        if (stripW == w && stripH == h && generation == gen) return;
+
+        int srcW = source.getWidth(null);
+        int srcH = source.getHeight(null);
+        for (int i = 0; i < layers.length; i++) {
+            int sy = (int) Math.round(layers[i].top() * srcH);
+            int sh = (int) Math.round(layers[i].bottom() * srcH) - sy;
+            int bh = bandHeight(i, h);
+            strips[i] = ScaledImageCache.getRegion(source, 0, sy, srcW, sh, w, bh, false);
+            flipped[i] = ScaledImageCache.getRegion(source, 0, sy, srcW, sh, w, bh, true);
+        }
+        stripW = w;
+        stripH = h;
+        generation = gen;
+    }
+}
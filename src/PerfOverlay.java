@@ -0,0 +1,194 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Locale;
+
+/**
+ * Nakładka diagnostyczna z pomiarami wydajności ({@link PerfStats}): FPS, mediana i p99 czasu
+ * kroku symulacji i rysowania, p99 poszczególnych faz kroku, liczba obiektów na planszy
+ * i liczba odśmiecań pamięci oraz kopiowania obrazów na sekundę – akcelerowane i programowe, osobno
+ * dla sprite'ów, tła, HUD i bufora klatki ({@link BlitCounters}) – i odtworzenia bufora ({@link BackBuffer}).
+ * <p>
+ * Tekst jest składany co {@link #REFRESH_NANOS} do nieprzezroczystego obrazu, a w każdej klatce
+ * kopiowany na ekran jednym {@code drawImage}. Przy każdym odświeżeniu histogramy bieżące są
+ * i liczniki kopiowań są zerowane, więc percentyle i liczby kopiowań dotyczą ostatniego pół sekundy.
+ * </p>
+ */
+public final class PerfOverlay {
+
+    /** Odstęp między odświeżeniami tekstu (ns). */
+    private static final long REFRESH_NANOS = 500_000_000L;
+
+    /** Szerokość nakładki. */
+    private static final int WIDTH = 330;
+
+    /** Wysokość wiersza tekstu. */
+    private static final int LINE_H = 15;
+
+    /** Liczba wierszy tekstu. */
+    private static final int LINES = 8;
+
+    /** Wysokość nakładki. */
+    private static final int HEIGHT = LINES * LINE_H + 8;
+
+    /** Tło nakładki. */
+    private static final Color FILL = new Color(20, 20, 20);
+
+    /** Kolor tekstu. */
+    private static final Color TEXT = new Color(120, 255, 120);
+
+    /** Czcionka nakładki. */
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+
+    /** Źródło pomiarów. */
+    private final PerfStats stats;
+
+    /** Bufor klatki renderera (rodzaj bufora i liczba odtworzeń). */
+    private final BackBuffer buffer;
+
+    /** Liczniki kopiowań obrazów renderera. */
+    private final BlitCounters blits;
+
+    /** Obraz z tekstem nakładki. */
+    private BufferedImage image;
+
+    /** Czas ostatniego odświeżenia tekstu (ns). */
+    private long lastRefresh;
+
+    /** Liczba klatek od ostatniego odświeżenia. */
+    private int frames;
+
+    /**
+     * Tworzy nakładkę.
+     *
+     * @param stats źródło pomiarów
+     * @param buffer bufor klatki renderera (rodzaj bufora i liczba odtworzeń)
+     * @param blits liczniki kopiowań obrazów renderera
+     */
+    public PerfOverlay(PerfStats stats, BackBuffer buffer, BlitCounters blits) {
+        this.stats = stats;
+        this.buffer = buffer;
+        this.blits = blits;
+    }
+
+    /**
+     * Zwraca szerokość nakładki.
+     *
+     * @return szerokość w pikselach
+     */
+    public int getWidth() { return WIDTH; }
+
+    /**
+     * Zwraca wysokość nakładki.
+     *
+     * @return wysokość w pikselach
+     */
+    public int getHeight() { return HEIGHT; }
+
+    /**
+     * Rysuje nakładkę (raz na klatkę – liczy też klatki do FPS).
+     *
+     * @param g obiekt graficzny ekranu
+     * @param x pozycja X
+     * @param y pozycja Y
+     * @param world stan świata (liczba obiektów)
+     */
+    public void draw(Graphics g, int x, int y, GameWorld world) {
+        frames++;
+        long now = System.nanoTime();
+        if (image == null || now - lastRefresh >= REFRESH_NANOS) {
+            rebuild(now, world);
+        }
+        g.drawImage(image, x, y, null);
+    }
+
+    /**
+     * Składa tekst nakładki z bieżących histogramów i zeruje je.
+     *
+     * @param now bieżący czas (ns)
+     * @param world stan świata
+     */
+    private void rebuild(long now, GameWorld world) {
+        if (image == null) {
+            image = ScaledImageCache.createCompatible(WIDTH, HEIGHT, Transparency.OPAQUE);
+            lastRefresh = now;
+        }
+        double seconds = (now - lastRefresh) / 1e9;
+        double fps = seconds > 0 ? frames / seconds : 0.0;
+
+        LatencyHistogram tick = stats.recent(PerfStats.TICK);
+        LatencyHistogram paint = stats.recent(PerfStats.PAINT);
+        int obstacles = world.getObstacles().size();
+        int trash = world.getTrashItems().size();
+        String[] lines = {
+                String.format(Locale.ROOT, "FPS %5.1f   kroki/s %5.1f", fps, seconds > 0 ? tick.count() / seconds : 0.0),
+                String.format(Locale.ROOT, "krok      p50 %6.3f  p99 %6.3f ms", ms(tick.percentile(0.5)), ms(tick.percentile(0.99))),
+                String.format(Locale.ROOT, "rysowanie p50 %6.3f  p99 %6.3f ms", ms(paint.percentile(0.5)), ms(paint.percentile(0.99))),
+                String.format(Locale.ROOT, "p99 µs: gen %d prz %d odp %d kol %d gr %d",
+                        us(PerfStats.SPAWN), us(PerfStats.OBSTACLES), us(PerfStats.TRASH),
+                        us(PerfStats.COLLISION), us(PerfStats.PLAYER)),
+                String.format(Locale.ROOT, "obiekty %d (przeszkody %d, odpady %d)", obstacles + trash, obstacles, trash),
+                String.format(Locale.ROOT, "GC %d (%d ms)", PerfStats.gcCount(), PerfStats.gcTimeMillis()),
+                String.format(Locale.ROOT, "blity/s akc/prog: spr %d/%d tło %d/%d",
+                        perSecond(blits.accelerated(BlitCounters.SPRITE), seconds),
+                        perSecond(blits.software(BlitCounters.SPRITE), seconds),
+                        perSecond(blits.accelerated(BlitCounters.BACKGROUND), seconds),
+                        perSecond(blits.software(BlitCounters.BACKGROUND), seconds)),
+                String.format(Locale.ROOT, "HUD %d/%d  %s na ekran %d/%d  odtw %d",
+                        perSecond(blits.accelerated(BlitCounters.HUD), seconds),
+                        perSecond(blits.software(BlitCounters.HUD), seconds),
+                        buffer.isVolatile() ? "VI" : "BI",
+                        perSecond(blits.accelerated(BlitCounters.PRESENT), seconds),
+                        perSecond(blits.software(BlitCounters.PRESENT), seconds), buffer.getRestores()),
+        };
+
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(FILL);
+            g.fillRect(0, 0, WIDTH, HEIGHT);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setFont(FONT);
+            g.setColor(TEXT);
+            for (int i = 0; i < lines.length; i++) {
+                g.drawString(lines[i], 6, 4 + LINE_H * (i + 1) - 3);
+            }
+        } finally {
+            g.dispose();
+        }
+
+        stats.resetRecent();
+        blits.reset();
+        frames = 0;
+        lastRefresh = now;
+    }
+
+    /**
+     * Zamienia nanosekundy na milisekundy.
+     *
+     * @param nanos czas w nanosekundach
+     * @return czas w milisekundach
+     */
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * Przelicza liczbę zdarzeń na liczbę na sekundę.
+     *
+     * @param count liczba zdarzeń
+     * @param seconds czas w sekundach
+     * @return liczba zdarzeń na sekundę (0, gdy czas jest zerowy)
+     */
+    private static long perSecond(long count, double seconds) {
+        return seconds > 0 ? Math.round(count / seconds) : 0;
+    }
+
+    /**
+     * Zwraca p99 bieżącego histogramu fazy w mikrosekundach.
+     *
+     * @param phase faza
+     * @return p99 w mikrosekundach
+     */
+    private long us(int phase) {
+        return stats.recent(phase).percentile(0.99) / 1000;
+    }
+}
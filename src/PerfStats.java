@@ -0,0 +1,229 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Pomiary czasu faz kroku symulacji i rysowania klatek.
+ * <p>
+ * {@link GameWorld} zgłasza czas faz kroku ({@link #add(int, long)}, {@link #endTick(long)}),
+ * a {@link GamePanel} czas rysowania klatki ({@link #recordPaint(long)}). Każda faza ma dwa
+ * histogramy {@link LatencyHistogram}: od uruchomienia gry (zrzucany do CSV i JSON przy zamknięciu)
+ * oraz bieżący, zerowany przez nakładkę diagnostyczną ({@link PerfOverlay}) po każdym odczycie.
+ * </p>
+ */
+public final class PerfStats {
+
+    /** Faza: generowanie przeszkód i odpadów. */
+    public static final int SPAWN = 0;
+    /** Faza: przesunięcie przeszkód. */
+    public static final int OBSTACLES = 1;
+    /** Faza: przesunięcie odpadów. */
+    public static final int TRASH = 2;
+    /** Faza: kolizje z przeszkodami i zbieranie odpadów. */
+    public static final int COLLISION = 3;
+    /** Faza: wejście i ruch gracza. */
+    public static final int PLAYER = 4;
+    /** Cały krok symulacji. */
+    public static final int TICK = 5;
+    /** Rysowanie klatki. */
+    public static final int PAINT = 6;
+
+    /** Nazwy faz (w CSV, JSON i na nakładce). */
+    static final String[] NAMES = {"spawn", "obstacles", "trash", "collision", "player", "tick", "paint"};
+
+    /** Liczba faz kroku symulacji (zbieranych przez {@link #add(int, long)}). */
+    private static final int STEP_PHASES = 5;
+
+    /** Histogramy faz od uruchomienia gry. */
+    private final LatencyHistogram[] total = new LatencyHistogram[NAMES.length];
+
+    /** Histogramy faz od ostatniego odczytu nakładki. */
+    private final LatencyHistogram[] recent = new LatencyHistogram[NAMES.length];
+
+    /** Czasy faz bieżącego kroku (zbierane w wątku pętli gry do {@link #endTick(long)}). */
+    private final long[] pending = new long[STEP_PHASES];
+
+    /** Czas rozpoczęcia pomiarów (ns). */
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * Tworzy puste pomiary.
+     */
+    public PerfStats() {
+        for (int i = 0; i < NAMES.length; i++) {
+            total[i] = new LatencyHistogram();
+            recent[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Dolicza czas fazy do bieżącego kroku (faza może wystąpić w kroku kilka razy).
+     *
+     * @param phase faza kroku ({@link #SPAWN}..{@link #PLAYER})
+     * @param nanos czas w nanosekundach
+     */
+    public void add(int phase, long nanos) {
+        pending[phase] += nanos;
+    }
+
+    /**
+     * Kończy krok: zapisuje zebrane czasy faz i czas całego kroku.
+     *
+     * @param nanos czas całego kroku w nanosekundach
+     */
+    public void endTick(long nanos) {
+        for (int i = 0; i < STEP_PHASES; i++) {
+            record(i, pending[i]);
+            pending[i] = 0;
+        }
+        record(TICK, nanos);
+    }
+
+    /**
+     * Zapisuje czas rysowania klatki.
+     *
+     * @param nanos czas w nanosekundach
+     */
+    public void recordPaint(long nanos) {
+        record(PAINT, nanos);
+    }
+
+    /**
+     * Zapisuje czas fazy w obu histogramach.
+     *
+     * @param phase faza
+     * @param nanos czas w nanosekundach
+     */
+    private void record(int phase, long nanos) {
+        total[phase].record(nanos);
+        recent[phase].record(nanos);
+    }
+
+    /**
+     * Zwraca histogram fazy od uruchomienia gry.
+     *
+     * @param phase faza
+     * @return histogram
+     */
+    public LatencyHistogram total(int phase) {
+        return total[phase];
+    }
+
+    /**
+     * Zwraca histogram fazy od ostatniego zerowania.
+     *
+     * @param phase faza
+     * @return histogram
+     */
+    public LatencyHistogram recent(int phase) {
+        return recent[phase];
+    }
+
+    /**
+     * Zeruje histogramy bieżące (wszystkich faz).
+     */
+    public void resetRecent() {
+        for (LatencyHistogram h : recent) h.reset();
+    }
+
+    /**
+     * Zwraca łączną liczbę odśmiecań pamięci od uruchomienia JVM (wszystkie kolektory).
+     *
+     * @return liczba odśmiecań
+     */
+    public static long gcCount() {
+        long n = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            n += Math.max(0, gc.getCollectionCount());
+        }
+        return n;
+    }
+
+    /**
+     * Zwraca łączny czas odśmiecań pamięci od uruchomienia JVM.
+     *
+     * @return czas w milisekundach
+     */
+    public static long gcTimeMillis() {
+        long t = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            t += Math.max(0, gc.getCollectionTime());
+        }
+        return t;
+    }
+
+    /**
+     * Zapisuje podsumowanie histogramów od uruchomienia gry do pliku CSV
+     * (jeden wiersz na fazę, czasy w mikrosekundach).
+     *
+     * @param file plik docelowy
+     * @throws IOException gdy zapis się nie powiedzie
+     */
+    public void writeCsv(Path file) throws IOException {
+        try (Writer w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            w.write("phase,count,mean_us,p50_us,p90_us,p99_us,p999_us,max_us\n");
+            for (int i = 0; i < NAMES.length; i++) {
+                LatencyHistogram h = total[i];
+                w.write(String.format(Locale.ROOT, "%s,%d,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f%n",
+                        NAMES[i], h.count(), h.mean() / 1e3,
+                        h.percentile(0.5) / 1e3, h.percentile(0.9) / 1e3, h.percentile(0.99) / 1e3,
+                        h.percentile(0.999) / 1e3, h.max() / 1e3));
+            }
+        }
+    }
+
+    /**
+     * Zapisuje histogramy od uruchomienia gry do pliku JSON: podsumowanie każdej fazy
+     * oraz niepuste kubełki (górna granica w ns i liczba wartości), a także czas pomiaru
+     * i odśmiecania pamięci.
+     *
+     * @param file plik docelowy
+     * @throws IOException gdy zapis się nie powiedzie
+     */
+    public void writeJson(Path file) throws IOException {
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append(String.format(Locale.ROOT, "{\n  \"uptimeMs\": %d,\n  \"gcCount\": %d,\n  \"gcTimeMs\": %d,\n  \"phases\": {",
+                (System.nanoTime() - startNanos) / 1_000_000, gcCount(), gcTimeMillis()));
+        for (int i = 0; i < NAMES.length; i++) {
+            LatencyHistogram h = total[i];
+            sb.append(i == 0 ? "\n" : ",\n");
+            sb.append(String.format(Locale.ROOT,
+                    "    \"%s\": {\"count\": %d, \"meanNs\": %.1f, \"p50Ns\": %d, \"p90Ns\": %d, \"p99Ns\": %d, "
+                            + "\"p999Ns\": %d, \"maxNs\": %d, \"buckets\": [",
+                    NAMES[i], h.count(), h.mean(), h.percentile(0.5), h.percentile(0.9), h.percentile(0.99),
+                    h.percentile(0.999), h.max()));
+            boolean first = true;
+            for (int b = 0; b < h.buckets(); b++) {
+                long c = h.bucketCount(b);
+                if (c == 0) continue;
+                if (!first) sb.append(", ");
+                sb.append('[').append(LatencyHistogram.upperBound(b)).append(", ").append(c).append(']');
+                first = false;
+            }
+            sb.append("]}");
+        }
+        sb.append("\n  }\n}\n");
+        Files.writeString(file, sb);
+    }
+
+    /**
+     * Zapisuje pomiary do {@code perf.csv} i {@code perf.json} w podanym katalogu.
+     * Błąd zapisu jest tylko wypisywany.
+     *
+     * @param dir katalog docelowy
+     */
+    public void dump(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            writeCsv(dir.resolve("perf.csv"));
+            writeJson(dir.resolve("perf.json"));
+        } catch (IOException e) {
+            System.out.println("Nie udało się zapisać pomiarów wydajności: " + e.getMessage());
+        }
+    }
+}
@@ -1,14 +1,14 @@
-import javax.swing.*;
 import java.awt.*;
-import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
 
 /**
  * Reprezentuje postać gracza (player) w części platformowej gry.
  * Klasa obsługuje:
  * <ul>
- *   <li>Ruch w lewo/prawo (flagi klawiszy),</li>
+ *   <li>Ruch w lewo/prawo (maska wejścia {@link GameInput}),</li>
  *   <li>Skok i grawitację (velY, gravity, jumpStrength),</li>
- *   <li>Kolizje poprzez {@link #getBounds()},</li>
+ *   <li>Kolizje poprzez {@link #getX()}, {@link #getY()} i {@link #getSize()} (bez tworzenia obiektów),</li>
  *   <li>Animację sprite'a (zmiana klatek podczas ruchu),</li>
  *   <li>Kierunek patrzenia (facingRight).</li>
  * </ul>
@@ -23,6 +23,10 @@ public class Player {
     private int y;
     /** Docelowy rozmiar gracza na ekranie (kwadrat size x size). */
     private int size;
+    /** Pozycja X sprzed ostatniej aktualizacji (do interpolacji przy rysowaniu). */
+    private int prevX;
+    /** Pozycja Y sprzed ostatniej aktualizacji (do interpolacji przy rysowaniu). */
+    private int prevY;
     /** Pozycja ziemi (Y) – gdy gracz ma y >= groundY, stoi na ziemi. */
     private int groundY;
 
@@ -49,8 +53,10 @@ public class Player {
         this.moveSpeed = speed;
     }
 
-    /** Sprite sheet gracza ( 2x2 ). */
+    /** Sprite sheet gracza ( 2x2 ), pobierany przy pierwszym rysowaniu. */
     private Image sprite;
+    /** Czy sprite sheet został już pobrany z {@link SpriteRegistry} (symulacja bez ekranu go nie potrzebuje). */
+    private boolean spriteLoaded = false;
     /** Szerokość pojedynczej klatki w sprite sheet. */
     private int frameWidth;
     /** Wysokość pojedynczej klatki w sprite sheet. */
@@ -65,6 +71,15 @@ public class Player {
     /** Kierunek, w którym patrzy gracz: true = prawo, false = lewo. */
     private boolean facingRight = true;
 
+    /**
+     * Klatki animacji przeskalowane do rozmiaru gracza (z {@link ScaledImageCache}):
+     * indeksy 0..3 – patrzy w prawo, 4..7 – odbite w poziomie (patrzy w lewo).
+     */
+    private final BufferedImage[] scaledFrames = new BufferedImage[8];
+
+    /** Numer unieważnienia {@link ScaledImageCache}, z którego pochodzą {@link #scaledFrames}. */
+    private int scaledGeneration = -1;
+
     /**
      * Tworzy nową postać gracza.
      *
@@ -76,34 +91,25 @@ public class Player {
     public Player(int x, int y, int size, int groundY) {
         this.x = x;
         this.y = y;
+        this.prevX = x;
+        this.prevY = y;
         this.size = size;
         this.groundY = groundY;
-
-        loadSprite();
     }
 
     /**
-     * Wczytuje sprite sheet gracza z zasobów (np. assets/player.png)
+     * Pobiera sprite sheet gracza z {@link SpriteRegistry}
      * i wylicza wymiary pojedynczej klatki.
-     * Jeśli wczytanie się nie powiedzie, sprite pozostaje null
+     * Jeśli obraz nie jest dostępny, sprite pozostaje null
      * i gracz będzie rysowany jako prostokąt (fallback).
      */
     private void loadSprite() {
-        try {
-            ImageIcon icon = new ImageIcon("assets/player.png");
-            sprite = icon.getImage();
-
-            int imgW = icon.getIconWidth();
-            int imgH = icon.getIconHeight();
-
-            frameWidth = imgW / 2;
-            frameHeight = imgH / 2;
-
-            System.out.println("Sprite loaded: " + imgW + "x" + imgH +
-                    "  single frame: " + frameWidth + "x" + frameHeight);
-        } catch (Exception e) {
-            e.printStackTrace();
-            sprite = null;
+        spriteLoaded = true;
+        BufferedImage sheet = SpriteRegistry.get(SpriteRegistry.PLAYER);
+        sprite = sheet;
+        if (sheet != null) {
+            frameWidth = sheet.getWidth() / 2;
+            frameHeight = sheet.getHeight() / 2;
         }
     }
     /**
@@ -116,6 +122,9 @@ public class Player {
      * </ul>
      */
     public void update() {
+        prevX = x;
+        prevY = y;
+
         if (movingLeft)  x -= moveSpeed;
         if (movingRight) x += moveSpeed;
 
@@ -155,40 +164,82 @@ public class Player {
 
     /**
      * Rysuje gracza w aktualnej pozycji.
-     * Jeśli sprite sheet jest dostępny, rysuje odpowiedni fragment obrazka (klatkę),
-     * a jeśli gracz patrzy w lewo – odbija klatkę w poziomie.*
+     *
      * @param g kontekst graficzny komponentu Swing
      */
     public void draw(Graphics g) {
-        if (sprite != null) {
-            int col = currentFrame % 2;    // 0 lub 1
-            int row = currentFrame / 2;    // 0 lub 1
+        draw(g, 1.0);
+    }
+
+    /**
+     * Rysuje gracza w pozycji interpolowanej między dwiema ostatnimi aktualizacjami.
+     * Jeśli sprite sheet jest dostępny, rysuje odpowiednią klatkę (przeskalowaną wcześniej
+     * do rozmiaru gracza), a jeśli gracz patrzy w lewo – klatkę odbitą w poziomie.
+     * @param g kontekst graficzny komponentu Swing
+     * @param alpha współczynnik interpolacji (0 – poprzednia pozycja, 1 – aktualna)
+     */
+    public void draw(Graphics g, double alpha) {
+        int x = drawX(alpha);
+        int y = drawY(alpha);
 
-            int sx1 = col * frameWidth;
-            int sy1 = row * frameHeight;
-            int sx2 = sx1 + frameWidth;
-            int sy2 = sy1 + frameHeight;
-
-            if (facingRight) {
-                g.drawImage(
-                        sprite,
-                        x, y, x + size, y + size,
-                        sx1, sy1, sx2, sy2,
-                        null
-                );
-            } else {
-                g.drawImage(
-                        sprite,
-                        x + size, y, x, y + size,
-                        sx1, sy1, sx2, sy2,
-                        null
-                );
-            }
+        BufferedImage frame = frameImage();
+        if (frame != null) {
+            g.drawImage(frame, x, y, null);
         } else {
             g.setColor(Color.GREEN.darker());
             g.fillRect(x, y, size, size);
         }
     }
+
+    /**
+     * Zwraca bieżącą klatkę animacji przeskalowaną do rozmiaru gracza
+     * (odbitą w poziomie, jeśli gracz patrzy w lewo).
+     *
+     * @return obraz klatki z {@link ScaledImageCache} lub {@code null}, jeśli sprite jest niedostępny
+     */
+    BufferedImage frameImage() {
+        if (!spriteLoaded) loadSprite();
+        if (sprite == null) return null;
+
+        int gen = ScaledImageCache.generation();
+        if (scaledGeneration != gen) {
+            Arrays.fill(scaledFrames, null);
+            scaledGeneration = gen;
+        }
+
+        int index = facingRight ? currentFrame : currentFrame + 4;
+        BufferedImage frame = scaledFrames[index];
+        if (frame == null) {
+            int col = currentFrame % 2;    // 0 lub 1
+            int row = currentFrame / 2;    // 0 lub 1
+
+            frame = ScaledImageCache.getRegion(sprite,
+                    col * frameWidth, row * frameHeight, frameWidth, frameHeight,
+                    size, size, !facingRight);
+            scaledFrames[index] = frame;
+        }
+        return frame;
+    }
+    /**
+     * Zwraca pozycję X do rysowania, interpolowaną między dwiema ostatnimi aktualizacjami.
+     *
+     * @param alpha współczynnik interpolacji (0..1)
+     * @return pozycja X do rysowania
+     */
+    public int drawX(double alpha) {
+        return (int) Math.round(prevX + (x - prevX) * alpha);
+    }
+
+    /**
+     * Zwraca pozycję Y do rysowania, interpolowaną między dwiema ostatnimi aktualizacjami.
+     *
+     * @param alpha współczynnik interpolacji (0..1)
+     * @return pozycja Y do rysowania
+     */
+    public int drawY(double alpha) {
+        return (int) Math.round(prevY + (y - prevY) * alpha);
+    }
+
     /**
      * Wykonuje skok gracza, jeśli znajduje się on na ziemi.
      */
@@ -205,6 +256,8 @@ public class Player {
     public void resetPosition() {
         x = 100;
         y = groundY;
+        prevX = x;
+        prevY = y;
         velY = 0;
         movingLeft = false;
         movingRight = false;
@@ -214,6 +267,8 @@ public class Player {
 
     /**
      * Zwraca prostokąt kolizji gracza.
+     * W pętli symulacji używane są współrzędne ({@link #getX()}, {@link #getY()}, {@link #getSize()}),
+     * żeby nie tworzyć obiektów w każdym kroku.
      *
      * @return obszar zajmowany przez gracza (do kolizji z przeszkodami i śmieciami)
      */
@@ -221,6 +276,20 @@ public class Player {
         return new Rectangle(x, y, size, size);
     }
 
+    /**
+     * Zwraca aktualną pozycję X gracza.
+     *
+     * @return pozycja X
+     */
+    public int getX() { return x; }
+
+    /**
+     * Zwraca aktualną pozycję Y gracza.
+     *
+     * @return pozycja Y
+     */
+    public int getY() { return y; }
+
     /**
      * Zwraca współrzędną Y poziomu ziemi.
      *
@@ -236,39 +305,28 @@ public class Player {
     public int getSize()   { return size; }
 
     /**
-     * Obsługa wciśnięcia klawisza:
+     * Stosuje wejście gracza z bieżącego kroku symulacji:
      * <ul>
-     *   <li>LEFT/A – ruch w lewo</li>
-     *   <li>RIGHT/D – ruch w prawo</li>
-     *   <li>SPACE/UP – skok</li>
+     *   <li>{@link GameInput#LEFT} – ruch w lewo</li>
+     *   <li>{@link GameInput#RIGHT} – ruch w prawo</li>
+     *   <li>{@link GameInput#JUMP} – skok</li>
      * </ul>
+     * Kierunek patrzenia zmienia się w chwili wciśnięcia klawisza ruchu.
      *
-     * @param e zdarzenie klawiatury
+     * @param input maska wejścia ({@link GameInput})
      */
-    public void keyPressed(KeyEvent e) {
-        int key = e.getKeyCode();
+    public void applyInput(int input) {
+        boolean left = (input & GameInput.LEFT) != 0;
+        boolean right = (input & GameInput.RIGHT) != 0;
 
-        if (key == KeyEvent.VK_LEFT || key == KeyEvent.VK_A) {
-            movingLeft = true;
-            facingRight = false;
-        }
-        if (key == KeyEvent.VK_RIGHT || key == KeyEvent.VK_D) {
-            movingRight = true;
-            facingRight = true;
-        }
-        if (key == KeyEvent.VK_SPACE || key == KeyEvent.VK_UP) {
+        if (left && !movingLeft) facingRight = false;
+        if (right && !movingRight) facingRight = true;
+
+        movingLeft = left;
+        movingRight = right;
+
+        if ((input & GameInput.JUMP) != 0) {
             jump();
         }
     }
-    /**
-     * Obsługa puszczenia klawisza – wyłącza flagi ruchu.
-     *
-     * @param e zdarzenie klawiatury
-     */
-    public void keyReleased(KeyEvent e) {
-        int key = e.getKeyCode();
-
-        if (key == KeyEvent.VK_LEFT || key == KeyEvent.VK_A)  movingLeft = false;
-        if (key == KeyEvent.VK_RIGHT || key == KeyEvent.VK_D) movingRight = false;
-    }
 }
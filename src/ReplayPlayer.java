@@ -0,0 +1,196 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Odtwarzacz nagrań poziomów ({@link InputRecording}) uruchamiany z linii poleceń.
+ * <p>
+ * Bez opcji {@code --render} odtwarza każde nagranie bez wyświetlacza, tak szybko jak to możliwe,
+ * i wypisuje wynik symulacji oraz to, czy zgadza się z wynikiem zapisanym w nagraniu.
+ * Z opcją {@code --render} pokazuje przebieg w oknie, przyspieszony {@code --speed} razy
+ * (symulacja w {@link GameLoop}, rysowanie przez {@link WorldRenderer} – jak w grze, tylko z wątku pętli,
+ * dopóki nagranie trwa).
+ * </p>
+ *
+ * <pre>
+ * java ReplayPlayer [--render] [--speed X] plik.ejr...
+ * </pre>
+ * <p>
+ * Kod wyjścia to 1, gdy choć jedno nagranie jest uszkodzone albo daje inny wynik niż zapisany.
+ * </p>
+ */
+public class ReplayPlayer {
+
+    /** Częstotliwość symulacji w grze (kroki na sekundę) – podstawa przyspieszenia. */
+    private static final int UPDATES_PER_SECOND = Integer.getInteger("ecojumper.ups", 60);
+
+    /** Częstotliwość rysowania w trybie z oknem. */
+    private static final int FRAMES_PER_SECOND = 60;
+
+    /**
+     * Odtwarza nagranie bez wyświetlacza i wypisuje jego wynik.
+     *
+     * @param file plik nagrania
+     * @param world świat używany do odtwarzania (zostanie zresetowany)
+     * @return true, jeśli wynik symulacji zgadza się z zapisanym
+     */
+    static boolean verify(Path file, GameWorld world) {
+        InputRecording recording;
+        try {
+            recording = InputRecording.read(file);
+        } catch (IOException e) {
+            System.out.println(file + ": nie można odczytać nagrania – " + e.getMessage());
+            return false;
+        }
+
+        long start = System.nanoTime();
+        recording.replay(world);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        boolean ok = recording.matches(world);
+        System.out.printf(Locale.ROOT,
+                "%s: poziom %d, %d kroków (%d zmian wejścia), %s, %d pkt, zdrowie %d – %s (%.1f ms, %.0fx szybciej niż gra)%n",
+                file.getFileName(), recording.getLevel(), world.getTick(), recording.getChanges(),
+                world.getStatus(), world.getScore(), world.getHealth(),
+                ok ? "zgodny" : "NIEZGODNY (zapisano: " + recording.getStatus() + ", " + recording.getTicks()
+                        + " kroków, " + recording.getScore() + " pkt, zdrowie " + recording.getHealth() + ")",
+                seconds * 1000, seconds > 0 ? world.getTick() / (double) UPDATES_PER_SECOND / seconds : 0.0);
+        return ok;
+    }
+
+    /**
+     * Pokazuje przebieg nagrania w oknie. Okno zamyka się po zamknięciu przez użytkownika;
+     * po końcu nagrania ostatnia klatka pozostaje widoczna.
+     *
+     * @param file plik nagrania
+     * @param speed przyspieszenie względem gry (1 – czas rzeczywisty)
+     * @throws IOException gdy nagrania nie można odczytać
+     */
+    static void show(Path file, double speed) throws IOException {
+        InputRecording recording = InputRecording.read(file);
+        GameWorld world = new GameWorld();
+        WorldRenderer renderer = new WorldRenderer();
+        InputRecording.Playback playback = recording.playback(world);
+        // renderer nie jest bezpieczny wątkowo – gdy pętla działa, rysuje tylko jej wątek
+        AtomicBoolean fullRepaint = new AtomicBoolean(true);
+        GameLoop[] loop = new GameLoop[1];
+
+        Canvas canvas = new Canvas() {
+            @Override
+            public void paint(Graphics g) {
+                // gdy pętla działa, kolejna klatka i tak zaraz zostanie narysowana aktywnie – w całości
+                if (loop[0].isRunning()) {
+                    fullRepaint.set(true);
+                } else {
+                    renderer.render(g, world, getWidth(), getHeight(), 1.0);
+                }
+            }
+
+            @Override
+            public void update(Graphics g) {
+                paint(g);
+            }
+        };
+        canvas.setPreferredSize(new Dimension(recording.getWidth(), 600));
+
+        loop[0] = new GameLoop("EcoJumper-Replay", new GameLoop.Callbacks() {
+            @Override
+            public void update() {
+                if (!playback.step()) {
+                    loop[0].stop();
+                    System.out.printf("Koniec nagrania: %s, %d pkt, %s%n", world.getStatus(), world.getScore(),
+                            recording.matches(world) ? "zgodny" : "NIEZGODNY");
+                    canvas.repaint();
+                }
+            }
+
+            @Override
+            public void render(double alpha) {
+                Graphics g = canvas.getGraphics();
+                if (g == null) return;
+                try {
+                    renderer.renderIncremental(g, world, canvas.getWidth(), canvas.getHeight(), alpha,
+                            fullRepaint.getAndSet(false));
+                } finally {
+                    g.dispose();
+                }
+                Toolkit.getDefaultToolkit().sync();
+            }
+        }, (int) Math.round(UPDATES_PER_SECOND * speed), FRAMES_PER_SECOND);
+
+        SwingUtilities.invokeLater(() -> {
+            JFrame frame = new JFrame("EcoJumper – nagranie " + file.getFileName());
+            frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+            frame.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosed(WindowEvent e) {
+                    loop[0].stop();
+                }
+            });
+            frame.add(canvas);
+            frame.pack();
+            frame.setLocationRelativeTo(null);
+            frame.setVisible(true);
+            loop[0].start();
+        });
+    }
+
+    /**
+     * Punkt wejścia odtwarzacza.
+     *
+     * @param args argumenty linii poleceń (opis w dokumentacji klasy)
+     */
+    public static void main(String[] args) {
+        boolean render = false;
+        double speed = 1.0;
+        List<Path> files = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--render" -> render = true;
+                    case "--speed" -> speed = Double.parseDouble(args[++i]);
+                    default -> {
+                        if (args[i].startsWith("--")) throw new IllegalArgumentException("Nieznany argument: " + args[i]);
+                        files.add(Path.of(args[i]));
+                    }
+                }
+            }
+            if (files.isEmpty()) throw new IllegalArgumentException("Nie podano pliku nagrania");
+            if (!(speed > 0)) throw new IllegalArgumentException("Przyspieszenie musi być dodatnie");
+            if (render && files.size() > 1) throw new IllegalArgumentException("Tryb --render odtwarza jedno nagranie");
+            if (render && GraphicsEnvironment.isHeadless()) throw new IllegalArgumentException("Tryb --render wymaga wyświetlacza");
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Użycie: java ReplayPlayer [--render] [--speed X] plik.ejr...");
+            System.exit(2);
+            return;
+        }
+
+        if (render) {
+            try {
+                show(files.get(0), speed);
+            } catch (IOException e) {
+                System.out.println(files.get(0) + ": nie można odczytać nagrania – " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+
+        GameWorld world = new GameWorld();
+        int failed = 0;
+        for (Path file : files) {
+            if (!verify(file, world)) failed++;
+        }
+        if (files.size() > 1) {
+            System.out.printf("Zgodne: %d z %d%n", files.size() - failed, files.size());
+        }
+        if (failed > 0) System.exit(1);
+    }
+}
@@ -0,0 +1,180 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Zapis całej sesji gry zgłaszany do weryfikacji wyniku ({@link ScoreVerifier}).
+ * <p>
+ * Zawiera wejście kolejnych poziomów ({@link InputRecording} – ziarno, szerokość planszy
+ * i zmiany wejścia), liczbę pomyłek przy sortowaniu w każdym poziomie oraz wynik, jaki gra
+ * zgłosiła przez {@link EcoJumperGame#registerScore(int)}: punkty ostatniego poziomu
+ * i punkty łączne. Wyników poszczególnych poziomów nie zapisujemy – ustala je ponowna symulacja.
+ * </p>
+ *
+ * <pre>
+ * "EJRN" | wersja (bajt) | punkty poziomu | punkty łączne | liczba poziomów
+ *        | poziomy (pomyłki, wejście poziomu)... | CRC32 całości      (liczby jako varint)
+ * </pre>
+ */
+public final class RunRecord {
+
+    /** Znacznik początku zapisu ("EJRN"). */
+    private static final int MAGIC = 0x454A524E;
+
+    /** Wersja formatu. */
+    private static final int VERSION = 1;
+
+    /** Rozmiar sumy kontrolnej na końcu zapisu. */
+    private static final int CRC_BYTES = 4;
+
+    /** Nagrania kolejnych poziomów sesji. */
+    private final List<InputRecording> levels = new ArrayList<>();
+
+    /** Liczba pomyłek przy sortowaniu w kolejnych poziomach. */
+    private int[] mistakes = new int[8];
+
+    /** Zgłoszone punkty ostatniego poziomu. */
+    private int claimedLevelScore;
+
+    /** Zgłoszone punkty łączne (wartość przekazana do {@link EcoJumperGame#registerScore(int)}). */
+    private int claimedTotalScore;
+
+    /**
+     * Dopisuje nagranie kolejnego poziomu.
+     *
+     * @param recording zakończone nagranie poziomu
+     */
+    public void addLevel(InputRecording recording) {
+        if (levels.size() == mistakes.length) mistakes = Arrays.copyOf(mistakes, mistakes.length * 2);
+        levels.add(recording);
+    }
+
+    /**
+     * Zlicza pomyłkę przy sortowaniu (zły kosz) w ostatnim poziomie.
+     */
+    public void addMistake() {
+        if (!levels.isEmpty()) mistakes[levels.size() - 1]++;
+    }
+
+    /**
+     * Ustawia zgłaszany wynik.
+     *
+     * @param levelScore punkty ostatniego poziomu
+     * @param totalScore punkty łączne
+     */
+    public void claim(int levelScore, int totalScore) {
+        this.claimedLevelScore = levelScore;
+        this.claimedTotalScore = totalScore;
+    }
+
+    /**
+     * Zwraca liczbę poziomów.
+     *
+     * @return liczba poziomów
+     */
+    public int levels() {
+        return levels.size();
+    }
+
+    /**
+     * Zwraca nagranie poziomu.
+     *
+     * @param i indeks poziomu (od 0)
+     * @return nagranie
+     */
+    public InputRecording level(int i) {
+        return levels.get(i);
+    }
+
+    /**
+     * Zwraca liczbę pomyłek przy sortowaniu w poziomie.
+     *
+     * @param i indeks poziomu (od 0)
+     * @return liczba pomyłek
+     */
+    public int mistakes(int i) {
+        return mistakes[i];
+    }
+
+    /**
+     * Zwraca zgłoszone punkty ostatniego poziomu.
+     *
+     * @return punkty
+     */
+    public int getClaimedLevelScore() {
+        return claimedLevelScore;
+    }
+
+    /**
+     * Zwraca zgłoszone punkty łączne.
+     *
+     * @return punkty
+     */
+    public int getClaimedTotalScore() {
+        return claimedTotalScore;
+    }
+
+    /**
+     * Zapisuje sesję w zwartym formacie binarnym.
+     *
+     * @return zawartość zapisu
+     */
+    public byte[] toBytes() {
+        int bound = 4 + 1 + 5 * 3 + CRC_BYTES;
+        for (InputRecording r : levels) bound += 5 + r.inputsBound();
+        ByteBuffer buf = ByteBuffer.allocate(bound);
+        buf.putInt(MAGIC).put((byte) VERSION);
+        InputRecording.putVarint(buf, claimedLevelScore);
+        InputRecording.putVarint(buf, claimedTotalScore);
+        InputRecording.putVarint(buf, levels.size());
+        for (int i = 0; i < levels.size(); i++) {
+            InputRecording.putVarint(buf, mistakes[i]);
+            levels.get(i).writeInputs(buf);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), 0, buf.position());
+        buf.putInt((int) crc.getValue());
+        return Arrays.copyOf(buf.array(), buf.position());
+    }
+
+    /**
+     * Odczytuje sesję z formatu binarnego.
+     *
+     * @param data zawartość zapisu
+     * @param maxLevels największa akceptowana liczba poziomów
+     * @return sesja
+     * @throws IOException gdy dane są uszkodzone albo mają nieznany format
+     */
+    public static RunRecord fromBytes(byte[] data, int maxLevels) throws IOException {
+        if (data.length < 4 + 1 + 3 + CRC_BYTES) throw new IOException("Zapis sesji jest za krótki");
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - CRC_BYTES);
+        if (ByteBuffer.wrap(data).getInt(data.length - CRC_BYTES) != (int) crc.getValue()) {
+            throw new IOException("Zapis sesji jest uszkodzony (niezgodna suma kontrolna)");
+        }
+        ByteBuffer buf = ByteBuffer.wrap(data, 0, data.length - CRC_BYTES);
+        if (buf.getInt() != MAGIC) throw new IOException("To nie jest zapis sesji");
+        int version = buf.get();
+        if (version != VERSION) throw new IOException("Nieobsługiwana wersja zapisu sesji: " + version);
+
+        RunRecord run = new RunRecord();
+        try {
+            run.claimedLevelScore = InputRecording.getVarint(buf);
+            run.claimedTotalScore = InputRecording.getVarint(buf);
+            int count = InputRecording.getVarint(buf);
+            if (count > maxLevels) throw new IOException("Za dużo poziomów w zapisie sesji: " + count);
+            for (int i = 0; i < count; i++) {
+                int mistakes = InputRecording.getVarint(buf);
+                run.addLevel(InputRecording.readInputs(buf));
+                run.mistakes[i] = mistakes;
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Niepełny zapis sesji", e);
+        }
+        if (buf.hasRemaining()) throw new IOException("Nadmiarowe dane w zapisie sesji");
+        return run;
+    }
+}
@@ -0,0 +1,252 @@
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pamięć podręczna przeskalowanych obrazów dla ścieżki renderowania.
+ * <p>
+ * Oryginalne zasoby mają rozmiar 1920x1080, a na ekranie rysowane są jako sprite'y 48–96 px
+ * albo tło o rozmiarze panelu. Zamiast skalować je przy każdym {@code drawImage},
+ * obraz jest skalowany raz do docelowego rozmiaru i zapisywany w formacie zgodnym z ekranem
+ * ({@link GraphicsConfiguration#createCompatibleImage}). Rysowanie w każdej klatce to wtedy
+ * zwykłe kopiowanie bez skalowania, które Java2D może akcelerować.
+ * </p>
+ * Kluczem jest obraz źródłowy (współdzielony przez {@link SpriteRegistry}), wycinek źródła,
+ * rozmiar docelowy i odbicie w poziomie.
+ * <p>
+ * Dla każdego obrazu zapamiętywane jest też, czy Java2D przechowuje go na karcie graficznej
+ * ({@link #isAccelerated}) – do liczników kopiowań ({@link BlitCounters}). Java2D przenosi obraz
+ * na kartę dopiero po kilku kopiowaniach, więc odczyt z utworzenia jest odświeżany
+ * ({@link #refreshAcceleration}).
+ * </p>
+ */
+public final class ScaledImageCache {
+
+    /**
+     * Klucz wpisu w pamięci podręcznej.
+     *
+     * @param source obraz źródłowy
+     * @param sx lewy górny róg wycinka (X)
+     * @param sy lewy górny róg wycinka (Y)
+     * @param sw szerokość wycinka
+     * @param sh wysokość wycinka
+     * @param w docelowa szerokość
+     * @param h docelowa wysokość
+     * @param flip czy odbić obraz w poziomie
+     */
+    private record Key(Image source, int sx, int sy, int sw, int sh, int w, int h, boolean flip) {}
+
+    /** Przeskalowane obrazy. */
+    private static final Map<Key, BufferedImage> cache = new ConcurrentHashMap<>();
+
+    /** Czy przeskalowany obraz był przy ostatnim sprawdzeniu akcelerowany. */
+    private static final Map<BufferedImage, Boolean> accelerated = new ConcurrentHashMap<>();
+
+    /**
+     * Licznik unieważnień – zwiększany przy każdym {@link #invalidate(Image)}.
+     * Obiekty, które trzymają u siebie przeskalowany obraz, porównują go, żeby wiedzieć,
+     * kiedy pobrać obraz ponownie. Unieważnienia przychodzą z wątku EDT (zmiana rozmiaru)
+     * i z wątku pętli gry, więc zwiększanie musi być atomowe.
+     */
+    private static final AtomicInteger generation = new AtomicInteger();
+
+    /** Klasa narzędziowa – brak instancji. */
+    private ScaledImageCache() {}
+
+    /**
+     * Zwraca cały obraz przeskalowany do podanego rozmiaru.
+     *
+     * @param source obraz źródłowy
+     * @param w docelowa szerokość
+     * @param h docelowa wysokość
+     * @return przeskalowany obraz lub {@code null}, jeśli źródło jest niedostępne
+     */
+    public static BufferedImage get(Image source, int w, int h) {
+        if (source == null) return null;
+        return getRegion(source, 0, 0, source.getWidth(null), source.getHeight(null), w, h, false);
+    }
+
+    /**
+     * Zwraca wycinek obrazu (np. klatkę sprite sheetu) przeskalowany do podanego rozmiaru.
+     *
+     * @param source obraz źródłowy
+     * @param sx lewy górny róg wycinka (X)
+     * @param sy lewy górny róg wycinka (Y)
+     * @param sw szerokość wycinka
+     * @param sh wysokość wycinka
+     * @param w docelowa szerokość
+     * @param h docelowa wysokość
+     * @param flip czy odbić wycinek w poziomie
+     * @return przeskalowany obraz lub {@code null}, jeśli źródło jest niedostępne
+     */
+    public static BufferedImage getRegion(Image source, int sx, int sy, int sw, int sh,
+                                          int w, int h, boolean flip) {
+        if (source == null || w <= 0 || h <= 0 || sw <= 0 || sh <= 0) return null;
+        Key key = new Key(source, sx, sy, sw, sh, w, h, flip);
+        BufferedImage img = cache.get(key);
+        if (img == null) {
+            img = scale(source, sx, sy, sw, sh, w, h, flip);
+            BufferedImage prev = cache.putIfAbsent(key, img);
+            if (prev != null) {
+                img = prev;
+            } else {
+                accelerated.put(img, isAccelerated(img, defaultConfiguration()));
+            }
+        }
+        return img;
+    }
+
+    /**
+     * Informuje, czy przeskalowany obraz był akcelerowany przy ostatnim sprawdzeniu
+     * (przy utworzeniu albo {@link #refreshAcceleration}). Nie alokuje pamięci.
+     *
+     * @param img obraz zwrócony przez {@link #get} albo {@link #getRegion}
+     * @return true, jeśli obraz jest akcelerowany; false także dla obrazów spoza pamięci podręcznej
+     */
+    public static boolean isAccelerated(BufferedImage img) {
+        return img != null && accelerated.getOrDefault(img, Boolean.FALSE);
+    }
+
+    /**
+     * Sprawdza na nowo, które przeskalowane obrazy są akcelerowane na podanym ekranie.
+     * Każde sprawdzenie tworzy obiekt {@link ImageCapabilities}, więc metoda jest wywoływana
+     * co kilkaset klatek, a nie przy każdym rysowaniu.
+     *
+     * @param gc konfiguracja graficzna ekranu (może być {@code null} – wtedy nic nie jest akcelerowane)
+     */
+    public static void refreshAcceleration(GraphicsConfiguration gc) {
+        for (BufferedImage img : cache.values()) {
+            accelerated.put(img, isAccelerated(img, gc));
+        }
+        accelerated.keySet().retainAll(cache.values());
+    }
+
+    /**
+     * Sprawdza, czy obraz jest akcelerowany na podanym ekranie.
+     *
+     * @param img obraz
+     * @param gc konfiguracja graficzna ekranu (może być {@code null})
+     * @return true, jeśli obraz jest akcelerowany
+     */
+    static boolean isAccelerated(BufferedImage img, GraphicsConfiguration gc) {
+        return gc != null && img.getCapabilities(gc).isAccelerated();
+    }
+
+    /**
+     * Usuwa wszystkie przeskalowane wersje danego obrazu (np. tła po zmianie rozmiaru panelu).
+     *
+     * @param source obraz źródłowy
+     */
+    public static void invalidate(Image source) {
+        cache.keySet().removeIf(k -> k.source() == source);
+        accelerated.keySet().retainAll(cache.values());
+        generation.incrementAndGet();
+    }
+
+    /** Usuwa wszystkie wpisy (np. po zmianie konfiguracji ekranu). */
+    public static void invalidateAll() {
+        cache.clear();
+        accelerated.clear();
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Zwraca bieżący numer unieważnienia.
+     *
+     * @return licznik unieważnień
+     */
+    public static int generation() {
+        return generation.get();
+    }
+
+    /**
+     * Zwraca liczbę obrazów w pamięci podręcznej.
+     *
+     * @return liczba wpisów
+     */
+    public static int size() {
+        return cache.size();
+    }
+
+    /**
+     * Szacuje pamięć zajmowaną przez przeskalowane obrazy.
+     *
+     * @return rozmiar danych pikseli w bajtach
+     */
+    public static long getMemoryUsageBytes() {
+        long total = 0;
+        for (BufferedImage img : cache.values()) {
+            total += SpriteRegistry.imageBytes(img);
+        }
+        return total;
+    }
+
+    /**
+     * Tworzy obraz w formacie zgodnym z domyślnym ekranem
+     * (albo zwykły {@link BufferedImage}, gdy środowisko nie ma ekranu).
+     *
+     * @param w szerokość
+     * @param h wysokość
+     * @param transparency rodzaj przezroczystości ({@link Transparency})
+     * @return nowy, pusty obraz
+     */
+    static BufferedImage createCompatible(int w, int h, int transparency) {
+        GraphicsConfiguration gc = defaultConfiguration();
+        if (gc != null) {
+            return gc.createCompatibleImage(w, h, transparency);
+        }
+        int type = transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        return new BufferedImage(w, h, type);
+    }
+
+    /**
+     * Zwraca konfigurację graficzną domyślnego ekranu.
+     *
+     * @return konfiguracja albo {@code null}, gdy środowisko nie ma ekranu
+     */
+    static GraphicsConfiguration defaultConfiguration() {
+        if (GraphicsEnvironment.isHeadless()) return null;
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    }
+
+    /**
+     * Skaluje wycinek obrazu metodą kolejnych połówek (dwuliniowo), co przy dużym
+     * zmniejszeniu daje wyraźnie lepszą jakość niż jednorazowe skalowanie.
+     */
+    private static BufferedImage scale(Image source, int sx, int sy, int sw, int sh,
+                                       int w, int h, boolean flip) {
+        int transparency = source instanceof BufferedImage b
+                ? b.getColorModel().getTransparency() : Transparency.TRANSLUCENT;
+
+        Image current = source;
+        int cx = sx, cy = sy, cw = sw, ch = sh;
+        while (cw / 2 >= w && ch / 2 >= h) {
+            int nw = cw / 2;
+            int nh = ch / 2;
+            BufferedImage step = new BufferedImage(nw, nh, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = step.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(current, 0, 0, nw, nh, cx, cy, cx + cw, cy + ch, null);
+            g.dispose();
+            current = step;
+            cx = 0;
+            cy = 0;
+            cw = nw;
+            ch = nh;
+        }
+
+        BufferedImage result = createCompatible(w, h, transparency);
+        Graphics2D g = result.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        if (flip) {
+            g.transform(new AffineTransform(-1, 0, 0, 1, w, 0));
+        }
+        g.drawImage(current, 0, 0, w, h, cx, cy, cx + cw, cy + ch, null);
+        g.dispose();
+        return result;
+    }
+}
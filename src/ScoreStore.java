@@ -0,0 +1,655 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Trwały magazyn wyników graczy – dziennik rekordów dopisywanych na końcu pliku.
+ * <p>
+ * Każdy rekord ma długość i sumę kontrolną CRC32, a po zapisie plik jest synchronizowany
+ * z dyskiem ({@link FileChannel#force(boolean)}). Przy otwarciu dziennik jest odczytywany
+ * od początku; pierwszy niepełny lub uszkodzony rekord (np. po zaniku zasilania w trakcie zapisu)
+ * kończy odczyt, a plik jest do niego obcinany.
+ * </p>
+ * <p>
+ * Rekordy są zapisywane w osobnym wątku, więc {@link #recordScore} i {@link #recordLevel}
+ * nie blokują wątku EDT. Rekordy i historie graczy są trzymane w pamięci, więc
+ * {@link #bestScore(String)} i {@link #bestLevel(String)} nie czytają pliku. Każdy wpis
+ * (odtworzony i nowy) trafia też do słuchacza podanego przy otwarciu (np. {@link Leaderboard}).
+ * </p>
+ * <p>
+ * Gdy w pliku jest dwa razy więcej rekordów niż potrzeba, dziennik jest przepisywany
+ * (kompaktowany): z kolejnych wyników jednej sesji (sumy punktów po poziomach) zostaje
+ * najlepszy, a z sesji każdego gracza – {@link #HISTORY_LIMIT} ostatnich i {@link #BEST_SESSIONS}
+ * najlepszych; z rekordów poziomu zostaje najwyższy poziom każdego gracza. Rozmiar pliku
+ * zależy więc od liczby graczy, a nie od długości historii. Nowy plik zastępuje stary atomowo.
+ * </p>
+ */
+public final class ScoreStore implements AutoCloseable {
+
+    /** Rodzaj rekordu – wynik punktowy po poziomie. */
+    public static final int SCORE = 1;
+
+    /** Rodzaj rekordu – osiągnięty poziom na koniec sesji. */
+    public static final int LEVEL = 2;
+
+    /** Liczba ostatnich wyników gracza trzymanych w pamięci ({@link #history(String)}). */
+    public static final int HISTORY_LIMIT = 100;
+
+    /** Liczba najlepszych sesji gracza zachowywanych przy kompaktowaniu (obok ostatnich). */
+    public static final int BEST_SESSIONS = 100;
+
+    /** Znacznik początku pliku ("EJSC"). */
+    private static final int MAGIC = 0x454A5343;
+
+    /** Wersja formatu pliku. */
+    private static final int VERSION = 1;
+
+    /** Rozmiar nagłówka pliku (znacznik i wersja). */
+    private static final int HEADER_BYTES = 8;
+
+    /** Rozmiar nagłówka rekordu (długość i CRC32). */
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    /** Rozmiar stałej części rekordu: rodzaj, sesja, czas, wartość, poziom, długość nazwy. */
+    private static final int FIXED_PAYLOAD_BYTES = 1 + 8 + 8 + 4 + 4 + 2;
+
+    /** Największa długość nazwy gracza (bajty UTF-8). */
+    private static final int MAX_NAME_BYTES = 256;
+
+    /** Najmniejsza liczba rekordów w pliku, od której opłaca się kompaktowanie. */
+    private static final int COMPACT_MIN_RECORDS = 1024;
+
+    /**
+     * Wpis dziennika wyników.
+     *
+     * @param kind rodzaj ({@link #SCORE} lub {@link #LEVEL})
+     * @param player nazwa gracza
+     * @param session identyfikator sesji gry (od wyjścia z menu do powrotu do menu)
+     * @param time czas zapisu (ms od epoki)
+     * @param value wynik punktowy albo osiągnięty poziom
+     * @param level poziom, na którym zapisano wynik
+     */
+    public record Entry(int kind, String player, long session, long time, int value, int level) {}
+
+    /** Ścieżka pliku dziennika ({@code null} – magazyn tylko w pamięci). */
+    private final Path path;
+
+    /** Kanał pliku dziennika, używany wyłącznie w wątku zapisu. */
+    private FileChannel channel;
+
+    /** Wątek zapisu rekordów i kompaktowania. */
+    private final ExecutorService writer;
+
+    /** Wyniki graczy w pamięci (dostęp pod blokadą {@code this}). */
+    private final Scores scores = new Scores();
+
+    /** Słuchacz wszystkich wpisów (wywoływany pod blokadą {@code this}). */
+    private final Consumer<Entry> listener;
+
+    /** Liczba rekordów w pliku (wątek zapisu). */
+    private long fileRecords;
+
+    /** Liczba rekordów odczytanych przy otwarciu. */
+    private final long recoveredRecords;
+
+    /** Liczba bajtów obciętych przy otwarciu (uszkodzony koniec pliku). */
+    private final long discardedBytes;
+
+    /** Liczba wykonanych kompaktowań. */
+    private volatile int compactions;
+
+    /**
+     * Tworzy magazyn i odtwarza jego stan z dziennika.
+     *
+     * @param path ścieżka pliku lub {@code null}
+     * @param listener słuchacz wpisów
+     * @throws IOException gdy pliku nie da się otworzyć albo ma nieznany format
+     */
+    private ScoreStore(Path path, Consumer<Entry> listener) throws IOException {
+        this.path = path;
+        this.listener = listener;
+        long recovered = 0;
+        long discarded = 0;
+        if (path != null) {
+            Path dir = path.toAbsolutePath().getParent();
+            if (dir != null) Files.createDirectories(dir);
+            channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = channel.size();
+            long end = read(channel, e -> {
+                scores.add(e);
+                listener.accept(e);
+            });
+            recovered = scores.count;
+            if (end < size) {
+                channel.truncate(end);
+                channel.force(true);
+                discarded = size - end;
+            }
+            channel.position(end);
+            fileRecords = recovered;
+        }
+        recoveredRecords = recovered;
+        discardedBytes = discarded;
+        writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "EcoJumper-ScoreStore");
+            t.setDaemon(true);
+            return t;
+        });
+        if (path != null) writer.execute(this::compactIfNeeded);
+    }
+
+    /**
+     * Otwiera (lub tworzy) dziennik wyników i odtwarza z niego stan.
+     *
+     * @param path ścieżka pliku
+     * @param listener słuchacz wpisów – dostaje wszystkie wpisy odtworzone z pliku, a potem nowe
+     * @return magazyn wyników
+     * @throws IOException gdy pliku nie da się otworzyć albo ma nieznany format
+     */
+    public static ScoreStore open(Path path, Consumer<Entry> listener) throws IOException {
+        return new ScoreStore(path, listener);
+    }
+
+    /**
+     * Tworzy magazyn trzymający wyniki tylko w pamięci (np. gdy pliku nie da się otworzyć).
+     *
+     * @param listener słuchacz nowych wpisów
+     * @return magazyn wyników
+     */
+    public static ScoreStore inMemory(Consumer<Entry> listener) {
+        try {
+            return new ScoreStore(null, listener);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Zapisuje wynik punktowy gracza. Nie czeka na zapis na dysk.
+     *
+     * @param player nazwa gracza
+     * @param session identyfikator sesji gry
+     * @param score wynik punktowy
+     * @param level poziom, na którym zdobyto wynik
+     */
+    public void recordScore(String player, long session, int score, int level) {
+        append(new Entry(SCORE, player, session, System.currentTimeMillis(), score, level));
+    }
+
+    /**
+     * Zapisuje poziom osiągnięty przez gracza w sesji. Nie czeka na zapis na dysk.
+     *
+     * @param player nazwa gracza
+     * @param session identyfikator sesji gry
+     * @param level osiągnięty poziom
+     */
+    public void recordLevel(String player, long session, int level) {
+        append(new Entry(LEVEL, player, session, System.currentTimeMillis(), level, level));
+    }
+
+    /**
+     * Dodaje wpis do stanu w pamięci i zleca jego zapis wątkowi zapisu.
+     *
+     * @param e wpis
+     */
+    private void append(Entry e) {
+        synchronized (this) {
+            scores.add(e);
+            listener.accept(e);
+        }
+        if (path == null) return;
+        writer.execute(() -> {
+            try {
+                write(channel, e);
+                channel.force(false);
+                fileRecords++;
+                compactIfNeeded();
+            } catch (IOException ex) {
+                System.out.println("Błąd zapisu wyników: " + ex.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Zwraca najlepszy wynik punktowy gracza.
+     *
+     * @param player nazwa gracza
+     * @return najlepszy wynik (0, jeśli gracz nie ma wyników)
+     */
+    public synchronized int bestScore(String player) {
+        PlayerScores p = scores.players.get(player);
+        return p == null ? 0 : p.bestScore;
+    }
+
+    /**
+     * Zwraca najwyższy poziom osiągnięty przez gracza.
+     *
+     * @param player nazwa gracza
+     * @return najwyższy poziom (0, jeśli gracz nie ma wyników)
+     */
+    public synchronized int bestLevel(String player) {
+        PlayerScores p = scores.players.get(player);
+        return p == null ? 0 : p.bestLevel;
+    }
+
+    /**
+     * Zwraca ostatnie wyniki punktowe gracza (najstarsze pierwsze).
+     *
+     * @param player nazwa gracza
+     * @return kopia historii wyników
+     */
+    public synchronized List<Entry> history(String player) {
+        PlayerScores p = scores.players.get(player);
+        List<Entry> out = new ArrayList<>();
+        if (p != null) out.addAll(p.history);
+        return out;
+    }
+
+    /**
+     * Zwraca liczbę rekordów odczytanych z dziennika przy otwarciu.
+     *
+     * @return liczba rekordów
+     */
+    public long getRecoveredRecords() {
+        return recoveredRecords;
+    }
+
+    /**
+     * Zwraca liczbę bajtów uszkodzonego końca dziennika obciętych przy otwarciu.
+     *
+     * @return liczba bajtów
+     */
+    public long getDiscardedBytes() {
+        return discardedBytes;
+    }
+
+    /**
+     * Zwraca liczbę kompaktowań dziennika od otwarcia.
+     *
+     * @return liczba kompaktowań
+     */
+    public int getCompactions() {
+        return compactions;
+    }
+
+    /**
+     * Czeka na zapis wszystkich zleconych rekordów i zamyka plik.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                int dropped = writer.shutdownNow().size();
+                writer.awaitTermination(1, TimeUnit.SECONDS);
+                System.out.println("Nie zapisano " + dropped + " wyników przed zamknięciem");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.out.println("Błąd zamykania pliku wyników: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Kompaktuje dziennik, jeśli zawiera co najmniej dwa razy więcej rekordów niż potrzeba.
+     * Wywoływane w wątku zapisu.
+     */
+    private void compactIfNeeded() {
+        if (fileRecords < COMPACT_MIN_RECORDS) return;
+        long live;
+        synchronized (this) {
+            live = scores.retainedCount();
+        }
+        if (fileRecords < 2 * live) return;
+        try {
+            compact();
+        } catch (IOException e) {
+            System.out.println("Błąd kompaktowania pliku wyników: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Przepisuje dziennik, zostawiając tylko zachowywane rekordy, i atomowo podmienia plik.
+     * Stan jest odczytywany z samego pliku, więc rekordy jeszcze czekające w kolejce zapisu
+     * zostaną dopisane już do nowego pliku. Wywoływane w wątku zapisu.
+     * <p>
+     * Pierwszy odczyt wyznacza najwyższe poziomy graczy oraz ostatnie i najlepsze sesje
+     * każdego gracza, drugi przepisuje rekordy strumieniowo, trzymając w pamięci tylko
+     * najlepszy wynik bieżącej sesji.
+     * </p>
+     *
+     * @throws IOException gdy zapis się nie powiedzie (stary plik zostaje wtedy bez zmian)
+     */
+    private void compact() throws IOException {
+        Scores fromFile = new Scores();
+        Map<String, SessionPicks> picks = new HashMap<>();
+        readSessions(channel, fromFile::add, (best, index) ->
+                picks.computeIfAbsent(best.player(), k -> new SessionPicks()).add(best.value(), index));
+        Set<Long> keep = new HashSet<>();
+        for (SessionPicks p : picks.values()) {
+            p.collect(keep);
+        }
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        long[] kept = {0};
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeHeader(out);
+            long[] seq = {0};
+            try {
+                readSessions(channel, e -> {
+                    long n = seq[0]++;
+                    if (e.kind() == LEVEL && fromFile.players.get(e.player()).bestLevelSeq == n) {
+                        writeUnchecked(out, e);
+                        kept[0]++;
+                    }
+                }, (best, index) -> {
+                    if (keep.contains(index)) {
+                        writeUnchecked(out, best);
+                        kept[0]++;
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.force(true);
+        }
+        channel.close();
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+
+        fileRecords = kept[0];
+        compactions++;
+    }
+
+    /**
+     * Odczytuje dziennik, przekazując każdy wpis, a na koniec każdej sesji – jej najlepszy wynik
+     * z kolejnym numerem sesji (numeracja jest ta sama przy każdym odczycie tego samego pliku).
+     *
+     * @param ch kanał pliku
+     * @param entries odbiorca wszystkich wpisów
+     * @param sessions odbiorca najlepszego wyniku każdej sesji i numeru sesji
+     * @throws IOException gdy odczyt się nie powiedzie
+     */
+    private static void readSessions(FileChannel ch, Consumer<Entry> entries,
+                                     ObjLongConsumer<Entry> sessions) throws IOException {
+        Entry[] best = {null};
+        long[] index = {0};
+        read(ch, e -> {
+            entries.accept(e);
+            if (e.kind() != SCORE) return;
+            Entry b = best[0];
+            if (b != null && !Scores.sameSession(b, e)) {
+                sessions.accept(b, index[0]++);
+                b = null;
+            }
+            if (b == null || e.value() > b.value()) best[0] = e;
+        });
+        if (best[0] != null) sessions.accept(best[0], index[0]);
+    }
+
+    /**
+     * Dopisuje rekord, zamieniając błąd zapisu na wyjątek niekontrolowany (do użycia w słuchaczu odczytu).
+     *
+     * @param ch kanał pliku
+     * @param e wpis
+     */
+    private static void writeUnchecked(FileChannel ch, Entry e) {
+        try {
+            write(ch, e);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Odczytuje poprawne rekordy dziennika (pusty plik dostaje nagłówek).
+     *
+     * @param ch kanał pliku
+     * @param into odbiorca kolejnych rekordów
+     * @return pozycja końca ostatniego poprawnego rekordu
+     * @throws IOException gdy odczyt się nie powiedzie albo plik ma nieznany format
+     */
+    private static long read(FileChannel ch, Consumer<Entry> into) throws IOException {
+        long size = ch.size();
+        if (size < HEADER_BYTES) {
+            ch.truncate(0);
+            writeHeader(ch);
+            ch.force(true);
+            return HEADER_BYTES;
+        }
+        if (size > Integer.MAX_VALUE) throw new IOException("Plik wyników jest zbyt duży");
+
+        ByteBuffer buf = ByteBuffer.allocate((int) size);
+        long pos = 0;
+        while (buf.hasRemaining()) {
+            int n = ch.read(buf, pos);
+            if (n < 0) break;
+            pos += n;
+        }
+        buf.flip();
+        if (buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+            throw new IOException("Nieznany format pliku wyników");
+        }
+
+        CRC32 crc = new CRC32();
+        int end = buf.position();
+        while (buf.remaining() >= RECORD_HEADER_BYTES) {
+            int len = buf.getInt();
+            int sum = buf.getInt();
+            if (len < FIXED_PAYLOAD_BYTES || len > FIXED_PAYLOAD_BYTES + MAX_NAME_BYTES
+                    || len > buf.remaining()) break;
+
+            crc.reset();
+            crc.update(buf.array(), buf.position(), len);
+            if ((int) crc.getValue() != sum) break;
+
+            Entry e = decode(buf, len);
+            if (e == null) break;
+            into.accept(e);
+            end = buf.position();
+        }
+        return end;
+    }
+
+    /**
+     * Dekoduje treść rekordu.
+     *
+     * @param buf bufor ustawiony na początku treści
+     * @param len długość treści
+     * @return wpis lub {@code null}, gdy treść jest niespójna
+     */
+    private static Entry decode(ByteBuffer buf, int len) {
+        int kind = buf.get();
+        long session = buf.getLong();
+        long time = buf.getLong();
+        int value = buf.getInt();
+        int level = buf.getInt();
+        int nameLen = buf.getShort() & 0xFFFF;
+        if (nameLen != len - FIXED_PAYLOAD_BYTES || (kind != SCORE && kind != LEVEL)) return null;
+        String player = new String(buf.array(), buf.position(), nameLen, StandardCharsets.UTF_8);
+        buf.position(buf.position() + nameLen);
+        return new Entry(kind, player, session, time, value, level);
+    }
+
+    /**
+     * Zapisuje nagłówek pliku na bieżącej pozycji kanału.
+     *
+     * @param ch kanał pliku
+     * @throws IOException gdy zapis się nie powiedzie
+     */
+    private static void writeHeader(FileChannel ch) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES);
+        buf.putInt(MAGIC).putInt(VERSION).flip();
+        while (buf.hasRemaining()) ch.write(buf);
+    }
+
+    /**
+     * Dopisuje rekord na bieżącej pozycji kanału (bez synchronizacji z dyskiem).
+     *
+     * @param ch kanał pliku
+     * @param e wpis
+     * @throws IOException gdy zapis się nie powiedzie
+     */
+    private static void write(FileChannel ch, Entry e) throws IOException {
+        byte[] name = e.player().getBytes(StandardCharsets.UTF_8);
+        int nameLen = Math.min(name.length, MAX_NAME_BYTES);
+        int len = FIXED_PAYLOAD_BYTES + nameLen;
+
+        ByteBuffer buf = ByteBuffer.allocate(RECORD_HEADER_BYTES + len);
+        buf.putInt(len).putInt(0);
+        buf.put((byte) e.kind()).putLong(e.session()).putLong(e.time())
+                .putInt(e.value()).putInt(e.level()).putShort((short) nameLen).put(name, 0, nameLen);
+
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), RECORD_HEADER_BYTES, len);
+        buf.putInt(4, (int) crc.getValue());
+        buf.flip();
+        while (buf.hasRemaining()) ch.write(buf);
+    }
+
+    /**
+     * Wyniki jednego gracza.
+     */
+    private static final class PlayerScores {
+        /** Najlepszy wynik punktowy. */
+        int bestScore;
+        /** Najwyższy osiągnięty poziom. */
+        int bestLevel;
+        /** Numer kolejny wpisu z najwyższym poziomem (-1 – brak). */
+        long bestLevelSeq = -1;
+        /** Liczba sesji z wynikami. */
+        long sessions;
+        /** Ostatnie wyniki punktowe (najwyżej {@link #HISTORY_LIMIT}). */
+        final ArrayDeque<Entry> history = new ArrayDeque<>();
+    }
+
+    /**
+     * Sesje jednego gracza zachowywane przy kompaktowaniu: {@link #HISTORY_LIMIT} ostatnich
+     * i {@link #BEST_SESSIONS} najlepszych (numery sesji z {@link #readSessions}).
+     */
+    private static final class SessionPicks {
+        /** Numery ostatnich sesji. */
+        final ArrayDeque<Long> recent = new ArrayDeque<>();
+        /** Najlepsze sesje jako pary {wynik, numer sesji}; na szczycie najsłabsza z nich. */
+        final PriorityQueue<long[]> best = new PriorityQueue<>(Comparator.comparingLong(a -> a[0]));
+
+        /**
+         * Uwzględnia kolejną sesję gracza.
+         *
+         * @param value najlepszy wynik sesji
+         * @param index numer sesji
+         */
+        void add(int value, long index) {
+            recent.addLast(index);
+            if (recent.size() > HISTORY_LIMIT) recent.removeFirst();
+            best.add(new long[]{value, index});
+            if (best.size() > BEST_SESSIONS) best.poll();
+        }
+
+        /**
+         * Dodaje numery zachowywanych sesji do zbioru.
+         *
+         * @param into zbiór numerów sesji
+         */
+        void collect(Set<Long> into) {
+            into.addAll(recent);
+            for (long[] b : best) {
+                into.add(b[1]);
+            }
+        }
+    }
+
+    /**
+     * Stan magazynu: wyniki wszystkich graczy.
+     */
+    private static final class Scores {
+        /** Wyniki graczy według nazwy. */
+        final Map<String, PlayerScores> players = new HashMap<>();
+        /** Liczba dodanych wpisów (numer kolejny następnego wpisu). */
+        long count;
+        /** Liczba sesji z wynikami (kolejnych serii wyników tej samej sesji). */
+        long sessions;
+        /** Ostatni wpis z wynikiem punktowym. */
+        Entry lastScore;
+
+        /**
+         * Dodaje wpis i aktualizuje rekordy gracza.
+         *
+         * @param e wpis
+         */
+        void add(Entry e) {
+            long seq = count++;
+            PlayerScores p = players.computeIfAbsent(e.player(), k -> new PlayerScores());
+            if (e.kind() == SCORE) {
+                p.bestScore = Math.max(p.bestScore, e.value());
+                p.history.addLast(e);
+                if (p.history.size() > HISTORY_LIMIT) p.history.removeFirst();
+                if (lastScore == null || !sameSession(lastScore, e)) {
+                    sessions++;
+                    p.sessions++;
+                }
+                lastScore = e;
+            } else if (p.bestLevelSeq < 0 || e.value() > p.bestLevel) {
+                p.bestLevel = e.value();
+                p.bestLevelSeq = seq;
+            }
+        }
+
+        /**
+         * Zwraca górne oszacowanie liczby wpisów zachowanych przy kompaktowaniu:
+         * po jednym wyniku na sesję (najwyżej ostatnie i najlepsze sesje gracza)
+         * i po jednym poziomie na gracza.
+         *
+         * @return liczba wpisów
+         */
+        long retainedCount() {
+            long n = 0;
+            for (PlayerScores p : players.values()) {
+                n += Math.min(p.sessions, HISTORY_LIMIT + BEST_SESSIONS);
+                if (p.bestLevelSeq >= 0) n++;
+            }
+            return n;
+        }
+
+        /**
+         * Sprawdza, czy dwa wpisy należą do tej samej sesji gracza.
+         *
+         * @param a wpis
+         * @param b wpis
+         * @return true, jeśli sesja i gracz są te same
+         */
+        static boolean sameSession(Entry a, Entry b) {
+            return a.session() == b.session() && a.player().equals(b.player());
+        }
+    }
+}
@@ -0,0 +1,440 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Usługa weryfikacji zgłaszanych wyników przez ponowną symulację sesji ({@link RunRecord}).
+ * <p>
+ * Każdy poziom sesji jest odtwarzany bez wyświetlacza ({@link InputRecording#replay(GameWorld)}),
+ * a z wyników symulacji i pomyłek przy sortowaniu liczone są punkty według tych samych reguł co
+ * w grze ({@link GamePanel}, {@link SortingPanel}, {@link EcoJumperGame}). Wynik jest przyjmowany
+ * tylko wtedy, gdy zgadza się ze zgłoszonym.
+ * </p>
+ * <p>
+ * Zgłoszenia trafiają do ograniczonej kolejki i są weryfikowane równolegle przez stałą pulę
+ * zwykłych wątków (domyślnie tyle, ile rdzeni). Symulacja tylko liczy i nie czeka na wejście/wyjście,
+ * więc wątki wirtualne nic by tu nie dały, a liczba wątków puli to faktyczny limit równoległości;
+ * wątki wirtualne obsługują tylko połączenia serwera. Gdy kolejka jest pełna, zgłoszenie
+ * jest od razu odrzucane, zamiast zwiększać opóźnienie pozostałych. Każdy wątek używa własnego,
+ * wielokrotnie resetowanego {@link GameWorld}.
+ * </p>
+ *
+ * <pre>
+ * java ScoreVerifier --bench N [--levels L] [--threads P] [--queue Q]
+ * java ScoreVerifier --port P [--threads P] [--queue Q]
+ * </pre>
+ * <p>
+ * Serwer nasłuchuje tylko na adresie lokalnym; żądanie to długość zapisu (int) i zapis sesji,
+ * odpowiedź – bajt 1/0 (przyjęty/odrzucony), punkty poziomu, punkty łączne (int) i powód (UTF).
+ * </p>
+ */
+public final class ScoreVerifier implements AutoCloseable {
+
+    /** Największa liczba poziomów w jednej sesji. */
+    public static final int MAX_LEVELS = 1000;
+
+    /** Największa liczba kroków jednego poziomu (30 minut gry). */
+    public static final int MAX_TICKS = 60 * 60 * 30;
+
+    /** Największy rozmiar zapisu sesji przyjmowany przez serwer. */
+    private static final int MAX_RUN_BYTES = 1 << 20;
+
+    /** Największa szerokość planszy w zapisie. */
+    private static final int MAX_WIDTH = 8192;
+
+    /**
+     * Wynik weryfikacji.
+     *
+     * @param accepted czy wynik został przyjęty
+     * @param levelScore punkty ostatniego poziomu według symulacji (-1, gdy zapis był niepoprawny)
+     * @param totalScore punkty łączne według symulacji (-1, gdy zapis był niepoprawny)
+     * @param ticks liczba odtworzonych kroków
+     * @param reason powód odrzucenia (pusty dla przyjętych)
+     */
+    public record Verdict(boolean accepted, int levelScore, int totalScore, long ticks, String reason) {
+        /**
+         * Tworzy wynik odrzucenia bez symulacji.
+         *
+         * @param reason powód odrzucenia
+         * @return wynik weryfikacji
+         */
+        static Verdict rejected(String reason) {
+            return new Verdict(false, -1, -1, 0, reason);
+        }
+    }
+
+    /** Świat symulacji każdego wątku weryfikującego. */
+    private static final ThreadLocal<GameWorld> WORLD = ThreadLocal.withInitial(GameWorld::new);
+
+    /** Wątki weryfikujące z ograniczoną kolejką zgłoszeń. */
+    private final ThreadPoolExecutor executor;
+
+    /** Liczba przyjętych wyników. */
+    private final LongAdder accepted = new LongAdder();
+
+    /** Liczba odrzuconych wyników. */
+    private final LongAdder rejected = new LongAdder();
+
+    /** Liczba zgłoszeń odrzuconych bez weryfikacji (pełna kolejka). */
+    private final LongAdder refused = new LongAdder();
+
+    /** Liczba odtworzonych kroków symulacji. */
+    private final LongAdder ticks = new LongAdder();
+
+    /** Czas utworzenia usługi (ns) – podstawa liczenia przepustowości. */
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * Tworzy usługę weryfikacji.
+     *
+     * @param threads liczba równoległych weryfikacji
+     * @param queueCapacity liczba zgłoszeń czekających w kolejce
+     */
+    public ScoreVerifier(int threads, int queueCapacity) {
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("EcoJumper-Verifier-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Zgłasza sesję do weryfikacji. Nie blokuje – gdy kolejka jest pełna,
+     * zwraca od razu odrzucenie.
+     *
+     * @param run zapis sesji ({@link RunRecord#toBytes()})
+     * @return przyszły wynik weryfikacji
+     */
+    public CompletableFuture<Verdict> submit(byte[] run) {
+        try {
+            return CompletableFuture.supplyAsync(() -> verifyCounted(run), executor);
+        } catch (RejectedExecutionException e) {
+            refused.increment();
+            return CompletableFuture.completedFuture(Verdict.rejected("Kolejka weryfikacji jest pełna"));
+        }
+    }
+
+    /**
+     * Weryfikuje sesję w bieżącym wątku i aktualizuje liczniki.
+     *
+     * @param run zapis sesji
+     * @return wynik weryfikacji
+     */
+    private Verdict verifyCounted(byte[] run) {
+        Verdict v = verify(run, WORLD.get());
+        (v.accepted() ? accepted : rejected).increment();
+        ticks.add(v.ticks());
+        return v;
+    }
+
+    /**
+     * Odczytuje i weryfikuje zapis sesji.
+     *
+     * @param data zapis sesji
+     * @param world świat używany do symulacji (zostanie zresetowany)
+     * @return wynik weryfikacji
+     */
+    public static Verdict verify(byte[] data, GameWorld world) {
+        RunRecord run;
+        try {
+            run = RunRecord.fromBytes(data, MAX_LEVELS);
+        } catch (IOException e) {
+            return Verdict.rejected(e.getMessage());
+        }
+        return verify(run, world);
+    }
+
+    /**
+     * Symuluje wszystkie poziomy sesji i porównuje punkty ze zgłoszonymi.
+     * <p>
+     * Reguły jak w grze: poziomy muszą iść po kolei od 1 i każdy oprócz ostatniego musi być
+     * ukończony. Punkty ukończonych poziomów sumują się; sortowanie odejmuje
+     * {@link SortingPanel#WRONG_BIN_PENALTY} za pomyłkę od punktów poziomu i od sumy (nie mniej niż 0),
+     * a zgłaszana jest suma. Gdy ostatni poziom nie został ukończony (przegrana albo wyjście do menu),
+     * zgłaszane są punkty z samej planszy tego poziomu.
+     * </p>
+     *
+     * @param run zapis sesji
+     * @param world świat używany do symulacji (zostanie zresetowany)
+     * @return wynik weryfikacji
+     */
+    public static Verdict verify(RunRecord run, GameWorld world) {
+        int n = run.levels();
+        if (n == 0) return Verdict.rejected("Brak poziomów w zapisie sesji");
+
+        long replayed = 0;
+        int sum = 0;
+        int levelScore = 0;
+        int totalScore = 0;
+        for (int i = 0; i < n; i++) {
+            InputRecording level = run.level(i);
+            if (level.getLevel() != i + 1) return Verdict.rejected("Poziom " + level.getLevel() + " poza kolejnością");
+            if (level.getTicks() > MAX_TICKS) return Verdict.rejected("Poziom " + (i + 1) + " jest za długi");
+            if (level.getWidth() <= 0 || level.getWidth() > MAX_WIDTH) {
+                return Verdict.rejected("Niepoprawna szerokość planszy: " + level.getWidth());
+            }
+
+            GameWorld.Status status = level.replay(world);
+            replayed += world.getTick();
+            if (world.getTick() != level.getTicks()) {
+                return new Verdict(false, -1, -1, replayed, "Poziom " + (i + 1) + " skończył się przed końcem nagrania");
+            }
+
+            int penalty = SortingPanel.WRONG_BIN_PENALTY * run.mistakes(i);
+            if (status == GameWorld.Status.LEVEL_COMPLETE) {
+                sum += world.getScore();
+                levelScore = Math.max(0, world.getScore() - penalty);
+                totalScore = Math.max(0, sum - penalty);
+            } else if (i < n - 1) {
+                return new Verdict(false, -1, -1, replayed, "Poziom " + (i + 1) + " nie został ukończony");
+            } else if (penalty > 0) {
+                return new Verdict(false, -1, -1, replayed, "Sortowanie w nieukończonym poziomie");
+            } else {
+                levelScore = world.getScore();
+                totalScore = world.getScore();
+            }
+        }
+
+        boolean ok = levelScore == run.getClaimedLevelScore() && totalScore == run.getClaimedTotalScore();
+        String reason = ok ? "" : String.format("Zgłoszono %d/%d pkt, symulacja daje %d/%d pkt",
+                run.getClaimedLevelScore(), run.getClaimedTotalScore(), levelScore, totalScore);
+        return new Verdict(ok, levelScore, totalScore, replayed, reason);
+    }
+
+    /**
+     * Zwraca liczbę przyjętych wyników.
+     *
+     * @return liczba wyników
+     */
+    public long getAccepted() { return accepted.sum(); }
+
+    /**
+     * Zwraca liczbę odrzuconych wyników (niezgodnych albo z niepoprawnym zapisem).
+     *
+     * @return liczba wyników
+     */
+    public long getRejected() { return rejected.sum(); }
+
+    /**
+     * Zwraca liczbę zgłoszeń odrzuconych bez weryfikacji, bo kolejka była pełna.
+     *
+     * @return liczba zgłoszeń
+     */
+    public long getRefused() { return refused.sum(); }
+
+    /**
+     * Zwraca średnią liczbę weryfikacji na sekundę od utworzenia usługi.
+     *
+     * @return weryfikacje na sekundę
+     */
+    public double getVerificationsPerSecond() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds > 0 ? (getAccepted() + getRejected()) / seconds : 0.0;
+    }
+
+    /**
+     * Zwraca średnią liczbę odtworzonych kroków symulacji na sekundę od utworzenia usługi.
+     *
+     * @return kroki na sekundę
+     */
+    public double getTicksPerSecond() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds > 0 ? ticks.sum() / seconds : 0.0;
+    }
+
+    /**
+     * Kończy przyjmowanie zgłoszeń i czeka na zakończenie tych w kolejce.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) executor.shutdownNow();
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Tworzy zapis sesji grając losowym wejściem ({@link BatchSimulator#randomPolicy()})
+     * – do testu przepustowości.
+     *
+     * @param seed ziarno sesji
+     * @param levels największa liczba poziomów sesji
+     * @param cheat czy zawyżyć zgłoszony wynik o 10 punktów (zamiast zgłosić wynik z symulacji)
+     * @param world świat używany do symulacji
+     * @return zapis sesji
+     */
+    static byte[] randomRun(long seed, int levels, boolean cheat, GameWorld world) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        RunRecord run = new RunRecord();
+        for (int lvl = 1; lvl <= levels; lvl++) {
+            world.startLevel(lvl, rnd.nextLong());
+            InputRecording recording = InputRecording.start(world);
+            BatchSimulator.InputPolicy policy = BatchSimulator.randomPolicy();
+            GameWorld.Status status;
+            do {
+                int input = policy.next(world, rnd);
+                recording.record(input);
+                status = world.step(input);
+            } while (status == GameWorld.Status.RUNNING && world.getTick() < MAX_TICKS);
+            recording.finish(world);
+            run.addLevel(recording);
+            if (status != GameWorld.Status.LEVEL_COMPLETE) break;
+            for (int m = rnd.nextInt(3); m > 0; m--) run.addMistake();
+        }
+        Verdict v = verify(run, world);
+        run.claim(v.levelScore(), cheat ? v.totalScore() + 10 : v.totalScore());
+        return run.toBytes();
+    }
+
+    /**
+     * Test przepustowości: zgłasza {@code count} losowych sesji (co dziesiątą z zawyżonym wynikiem)
+     * i wypisuje liczbę weryfikacji na sekundę.
+     *
+     * @param count liczba zgłoszeń
+     * @param levels największa liczba poziomów sesji
+     * @param queue pojemność kolejki (tyle zgłoszeń jest w toku naraz)
+     */
+    private void bench(int count, int levels, int queue) {
+        System.out.printf("Przygotowanie %d zgłoszeń...%n", count);
+        GameWorld world = new GameWorld();
+        byte[][] runs = new byte[Math.min(count, 1000)][];
+        long bytes = 0;
+        for (int i = 0; i < runs.length; i++) {
+            runs[i] = randomRun(i, levels, i % 10 == 9, world);
+            bytes += runs[i].length;
+        }
+        System.out.printf("Średni rozmiar zgłoszenia: %d B%n", bytes / runs.length);
+
+        long start = System.nanoTime();
+        ArrayDeque<CompletableFuture<Verdict>> pending = new ArrayDeque<>();
+        for (int i = 0; i < count; i++) {
+            if (pending.size() == queue) pending.poll().join();
+            pending.add(submit(runs[i % runs.length]));
+        }
+        pending.forEach(CompletableFuture::join);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf(Locale.ROOT, "Zweryfikowano %d zgłoszeń w %.2f s: %.0f weryfikacji/s, %.0f klatek/s%n",
+                count, seconds, count / seconds, ticks.sum() / seconds);
+        System.out.printf("Przyjęte: %d, odrzucone: %d, pełna kolejka: %d%n", getAccepted(), getRejected(), getRefused());
+    }
+
+    /**
+     * Serwer weryfikacji na adresie lokalnym – każde połączenie obsługuje osobny wątek wirtualny.
+     *
+     * @param port numer portu
+     * @throws IOException gdy nie można otworzyć gniazda
+     */
+    private void serve(int port) throws IOException {
+        try (ServerSocket server = new ServerSocket(port, 128, InetAddress.getLoopbackAddress())) {
+            System.out.println("Weryfikacja wyników: nasłuch na " + server.getLocalSocketAddress());
+            Thread.ofVirtual().name("EcoJumper-VerifierStats").start(() -> {
+                while (!server.isClosed()) {
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    System.out.printf(Locale.ROOT, "Przyjęte: %d, odrzucone: %d, pełna kolejka: %d, %.1f weryfikacji/s%n",
+                            getAccepted(), getRejected(), getRefused(), getVerificationsPerSecond());
+                }
+            });
+            while (true) {
+                Socket socket = server.accept();
+                Thread.ofVirtual().name("EcoJumper-VerifierClient").start(() -> handle(socket));
+            }
+        }
+    }
+
+    /**
+     * Obsługuje połączenie klienta: kolejne zgłoszenia aż do zamknięcia połączenia.
+     *
+     * @param socket gniazdo klienta
+     */
+    private void handle(Socket socket) {
+        try (socket;
+             DataInputStream in = new DataInputStream(socket.getInputStream());
+             DataOutputStream out = new DataOutputStream(socket.getOutputStream())) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                if (length <= 0 || length > MAX_RUN_BYTES) return;
+                byte[] run = in.readNBytes(length);
+                if (run.length != length) return;
+
+                Verdict v = submit(run).join();
+                out.writeBoolean(v.accepted());
+                out.writeInt(v.levelScore());
+                out.writeInt(v.totalScore());
+                out.writeUTF(v.reason());
+                out.flush();
+            }
+        } catch (IOException e) {
+            // klient rozłączył się w trakcie – nic do zrobienia
+        }
+    }
+
+    /**
+     * Punkt wejścia usługi weryfikacji.
+     *
+     * @param args argumenty linii poleceń (opis w dokumentacji klasy)
+     */
+    public static void main(String[] args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int queue = 1024;
+        int bench = 0;
+        int levels = 3;
+        int port = -1;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--bench" -> bench = Integer.parseInt(value);
+                    case "--levels" -> levels = Integer.parseInt(value);
+                    case "--threads" -> threads = Integer.parseInt(value);
+                    case "--queue" -> queue = Integer.parseInt(value);
+                    case "--port" -> port = Integer.parseInt(value);
+                    default -> throw new IllegalArgumentException("Nieznany argument: " + args[i]);
+                }
+                i++;
+            }
+            if ((bench > 0) == (port >= 0)) throw new IllegalArgumentException("Podaj --bench albo --port");
+            if (threads < 1 || queue < 1 || levels < 1) throw new IllegalArgumentException("Niepoprawne parametry");
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Użycie: java ScoreVerifier --bench N [--levels L] [--threads P] [--queue Q]");
+            System.err.println("        java ScoreVerifier --port P [--threads P] [--queue Q]");
+            System.exit(2);
+            return;
+        }
+
+        try (ScoreVerifier verifier = new ScoreVerifier(threads, queue)) {
+            if (bench > 0) {
+                verifier.bench(bench, levels, queue);
+            } else {
+                verifier.serve(port);
+            }
+        } catch (IOException e) {
+            System.out.println("Nie udało się uruchomić serwera weryfikacji: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
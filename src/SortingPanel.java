@@ -1,16 +1,51 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Random;
 
 /**
  * Panel sortowania odpadów.
  * Umożliwia przeciąganie zebranych śmieci do odpowiednich koszy
  * oraz podsumowuje wyniki poziomu.
+ * Błędny kosz jest sygnalizowany animowanym powiadomieniem, a podsumowanie – dialogiem
+ * rysowanym na panelu ({@link DialogOverlay}), bez modalnych okien.
+ * <p>
+ * Śmieci leżą w tacce nad koszami ({@link SortingTray}) – w rzędach, których widać tyle,
+ * ile mieści się nad koszami. Gdy śmieci jest więcej, tackę przewija się kółkiem myszy
+ * albo paskiem przewijania po prawej stronie; rysowane są tylko widoczne rzędy, więc liczba
+ * śmieci nie wpływa na czas rysowania. Wrzucenie śmiecia do właściwego kosza z wciśniętym
+ * klawiszem Shift usuwa wszystkie widoczne śmieci tego typu naraz.
+ * </p>
+ * <p>
+ * Tło, kosze i widoczne śmieci są składane w jednym obrazie (warstwa statyczna), odświeżanym
+ * tylko po zmianie planszy (podniesienie lub wrzucenie śmiecia, przewinięcie, zmiana rozmiaru).
+ * Przy przeciąganiu przerysowywany jest tylko prostokąt obejmujący starą i nową pozycję
+ * przeciąganego śmiecia, a śmieć pod kursorem wynika wprost z układu slotów tacki.
+ * </p>
  */
 public class SortingPanel extends JPanel implements MouseListener, MouseMotionListener {
+    /** Kara punktowa za wrzucenie odpadu do złego kosza. */
+    public static final int WRONG_BIN_PENALTY = 5;
+    /** Rozmiar śmiecia w tacce. */
+    private static final int ITEM_SIZE = 48;
+    /** Lewa krawędź tacki. */
+    private static final int TRAY_X = 50;
+    /** Górna krawędź tacki. */
+    private static final int TRAY_Y = 100;
+    /** Odstęp między kolumnami tacki. */
+    private static final int SPACING_X = ITEM_SIZE + 15;
+    /** Odstęp między rzędami tacki. */
+    private static final int SPACING_Y = ITEM_SIZE + 20;
+    /** Szerokość kosza. */
+    private static final int BIN_W = 330;
+    /** Wysokość kosza. */
+    private static final int BIN_H = 240;
+    /** Szerokość paska przewijania tacki. */
+    private static final int SCROLLBAR_W = 12;
+    /** Czcionka opisu tacki. */
+    private static final Font INFO_FONT = new Font("Arial", Font.BOLD, 14);
     /** Referencja do głównego okna gry (zarządza zmianą paneli i poziomami). */
     private EcoJumperGame parent;
     /** Generator losowości używany do tasowania śmieci i losowania wariantów sprite'ów. */
@@ -22,32 +57,6 @@ public class SortingPanel extends JPanel implements MouseListener, MouseMotionLi
     /** Ikona kosza na szkło (PNG). */
     private Image binGlassImg;
 
-    /**
-     * Pojedynczy element odpadu widoczny w panelu sortowania.
-     * Zawiera prostokąt kolizji (pozycję), typ odpadu oraz sprite używany do rysowania.
-     */
-    private static class SortingTrash {
-        /** Obszar (pozycja i rozmiar) śmiecia na panelu sortowania. */
-        Rectangle rect;
-        /** Typ odpadu (PAPER/PLASTIC/GLASS) potrzebny do sprawdzania poprawnego kosza. */
-        TrashType type;
-        /** Obrazek przypisany do śmiecia. */
-        Image sprite;
-
-        /**
-         * Tworzy obiekt śmiecia do sortowania.
-         *
-         * @param rect obszar rysowania/kolizji
-         * @param type typ odpadu
-         * @param sprite obrazek odpadu
-         */
-        SortingTrash(Rectangle rect, TrashType type, Image sprite) {
-            this.rect = rect;
-            this.type = type;
-            this.sprite = sprite;
-        }
-    }
-
     /**
      * Kosz na odpady w panelu sortowania.
      * Kosz ma obszar kolizji (Rectangle) i typ odpadu, który akceptuje.
@@ -73,13 +82,26 @@ public class SortingPanel extends JPanel implements MouseListener, MouseMotionLi
             this.label = label;
         }
     }
-    /** Lista śmieci (prostokąt + typ + sprite), które gracz musi posortować. */
-    private ArrayList<SortingTrash> trashList = new ArrayList<>();
+    /** Śmieci do posortowania (typ i wariant obrazka w każdym slocie tacki). */
+    private final SortingTray tray = new SortingTray();
     /** Lista koszy do sortowania (prostokąt + typ). */
     private ArrayList<Bin> bins = new ArrayList<>();
-
-    /** Aktualnie przeciągany element śmiecia (lub {@code null} jeśli nic nie jest przeciągane). */
-    private SortingTrash dragged = null;
+    /** Warstwa statyczna: tło, kosze i widoczne śmieci. */
+    private BufferedImage staticLayer;
+    /** Czy warstwa statyczna wymaga ponownego złożenia. */
+    private boolean staticDirty = true;
+
+    /** Liczba kolumn tacki (zależna od szerokości panelu). */
+    private int columns = 1;
+    /** Liczba widocznych rzędów tacki (zależna od miejsca nad koszami). */
+    private int visibleRows = 1;
+    /** Pierwszy widoczny rząd tacki. */
+    private int scrollRow;
+
+    /** Slot przeciąganego śmiecia (lub -1, jeśli nic nie jest przeciągane). */
+    private int dragged = -1;
+    /** Obszar przeciąganego śmiecia na panelu. */
+    private final Rectangle dragRect = new Rectangle(0, 0, ITEM_SIZE, ITEM_SIZE);
     /** Przesunięcie kursora względem lewego górnego rogu przeciąganego śmiecia (oś X i Y). */
     private int offsetX, offsetY;
 
@@ -89,6 +111,8 @@ public class SortingPanel extends JPanel implements MouseListener, MouseMotionLi
     private Image[] glassVariants;
     /** Dostępne warianty obrazów dla papieru (różne kolory). */
     private Image[] paperVariants;
+    /** Obrazy używane w bieżącym poziomie: dla każdego typu ({@link TrashType#ordinal()}) – według numeru wariantu. */
+    private Image[][] sprites = new Image[TrashType.values().length][0];
 
     /** Numer aktualnego poziomu (wyświetlany w podsumowaniu). */
     private int levelNumber;
@@ -104,6 +128,10 @@ public class SortingPanel extends JPanel implements MouseListener, MouseMotionLi
     private boolean lastLevel;
     /** Tło panelu sortowania (PNG). */
     private Image backgroundImage;
+    /** Dialog podsumowania i powiadomienia o błędnym koszu rysowane na panelu. */
+    private final DialogOverlay dialog = new DialogOverlay();
+    /** Zegar animacji powiadomienia – przerysowuje jego obszar, dopóki jest widoczne. */
+    private final Timer toastTimer = new Timer(16, e -> animateToast());
 
     /**
      * Tworzy panel sortowania, wczytuje tło i ikony koszy oraz rejestruje obsługę myszy.
@@ -114,73 +142,60 @@ public class SortingPanel extends JPanel implements MouseListener, MouseMotionLi
         this.parent = parent;
         addMouseListener(this);
         addMouseMotionListener(this);
+        addMouseWheelListener(e -> scrollBy(e.getWheelRotation()));
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                ScaledImageCache.invalidate(backgroundImage);
+                layoutBoard();
+            }
+        });
 
-        backgroundImage = new ImageIcon("assets/sort_bg.png").getImage();
+        backgroundImage = SpriteRegistry.get(SpriteRegistry.SORT_BACKGROUND);
 
-        binPaperImg   = new ImageIcon("assets/bin_paper.png").getImage();
-        binPlasticImg = new ImageIcon("assets/bin_plastic.png").getImage();
-        binGlassImg   = new ImageIcon("assets/bin_glass.png").getImage();
+        binPaperImg   = SpriteRegistry.get(SpriteRegistry.BIN_PAPER);
+        binPlasticImg = SpriteRegistry.get(SpriteRegistry.BIN_PLASTIC);
+        binGlassImg   = SpriteRegistry.get(SpriteRegistry.BIN_GLASS);
 
         loadSprites();
     }
 
-    /** Wczytuje zestawy sprite'ów dla papieru, plastiku i szkła (różne warianty kolorystyczne). */
+    /** Pobiera zestawy sprite'ów dla papieru, plastiku i szkła (różne warianty kolorystyczne). */
     private void loadSprites() {
-        plasticVariants = new Image[]{
-                loadImage("assets/plastic_yellow.png"),
-                loadImage("assets/plastic_red.png"),
-                loadImage("assets/plastic_green.png")
-        };
-
-        glassVariants = new Image[]{
-                loadImage("assets/glass_green.png"),
-                loadImage("assets/glass_yellow.png"),
-                loadImage("assets/glass_blue.png")
-        };
-
-        paperVariants = new Image[]{
-                loadImage("assets/paper_grey.png"),
-                loadImage("assets/paper_blue.png"),
-                loadImage("assets/paper_yellow.png")
-        };
+        plasticVariants = loadVariants(SpriteRegistry.PLASTIC_VARIANTS);
+        glassVariants   = loadVariants(SpriteRegistry.GLASS_VARIANTS);
+        paperVariants   = loadVariants(SpriteRegistry.PAPER_VARIANTS);
     }
 
     /**
-     * Wczytuje obrazek z pliku. Jeśli obraz nie został poprawnie załadowany, zwraca {@code null}.
+     * Pobiera z {@link SpriteRegistry} obrazy dla podanych ścieżek.
+     * Brakujące obrazy są reprezentowane przez {@code null}.
      *
-     * @param path ścieżka do pliku PNG w katalogu assets
-     * @return wczytany obraz lub {@code null} w razie błędu
+     * @param paths ścieżki do plików PNG w katalogu assets
+     * @return tablica obrazów w tej samej kolejności co ścieżki
      */
-    private Image loadImage(String path) {
-        try {
-            Image img = new ImageIcon(path).getImage();
-            if (img.getWidth(null) <= 0) {
-                System.out.println("Nie udało się wczytać: " + path);
-                return null;
-            }
-            return img;
-        } catch (Exception e) {
-            System.out.println("Błąd wczytywania: " + path);
-            e.printStackTrace();
-            return null;
+    private Image[] loadVariants(String[] paths) {
+        Image[] result = new Image[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            result[i] = SpriteRegistry.get(paths[i]);
         }
+        return result;
     }
 
     /**
-     * Losuje jeden wariant obrazu z tablicy (maksymalnie z pierwszych {@code maxCount} elementów).
-     * Używane do utrudniania gry (kolory odpadów mogą być mylące na wyższych poziomach).
+     * Wybiera warianty obrazu, które mogą się pojawić (z pierwszych {@code maxCount} elementów,
+     * bez brakujących). Używane do utrudniania gry (kolory odpadów mogą być mylące na wyższych poziomach).
      *
      * @param variants tablica dostępnych wariantów obrazków
      * @param maxCount ile pierwszych wariantów wolno użyć (np. 1 na łatwych poziomach)
-     * @return wylosowany obrazek lub {@code null}, jeśli brak poprawnych obrazków
+     * @return dostępne obrazki (pusta tablica, jeśli brak poprawnych obrazków)
      */
-    private Image chooseRandom(Image[] variants, int maxCount) {
+    private Image[] usableVariants(Image[] variants, int maxCount) {
         ArrayList<Image> nonNull = new ArrayList<>();
         for (int i = 0; i < variants.length && i < maxCount; i++) {
             if (variants[i] != null) nonNull.add(variants[i]);
         }
-        if (nonNull.isEmpty()) return null;
-        return nonNull.get(rand.nextInt(nonNull.size()));
+        return nonNull.toArray(new Image[0]);
     }
 
     /**
@@ -213,170 +228,379 @@ public class SortingPanel extends JPanel implements MouseListener, MouseMotionLi
         this.totalTimeMs = totalTimeMs;
         this.lastLevel = lastLevel;
 
-        trashList.clear();
-        bins.clear();
+        dialog.hide();
 
-        int level = parent.getCurrentLevel();
-        boolean easyColors = level <= 2;
+        boolean easyColors = levelNumber <= 2;
 
         int plasticVariantsCount = easyColors ? 1 : plasticVariants.length;
         int glassVariantsCount   = easyColors ? 1 : glassVariants.length;
         int paperVariantsCount   = easyColors ? 1 : paperVariants.length;
 
-        ArrayList<TrashType> types = new ArrayList<>();
-        for (int i = 0; i < paperCount; i++)   types.add(TrashType.PAPER);
-        for (int i = 0; i < plasticCount; i++) types.add(TrashType.PLASTIC);
-        for (int i = 0; i < glassCount; i++)   types.add(TrashType.GLASS);
+        sprites[TrashType.PAPER.ordinal()]   = usableVariants(paperVariants,   paperVariantsCount);
+        sprites[TrashType.PLASTIC.ordinal()] = usableVariants(plasticVariants, plasticVariantsCount);
+        sprites[TrashType.GLASS.ordinal()]   = usableVariants(glassVariants,   glassVariantsCount);
 
-        Collections.shuffle(types, rand); // tasowanie śmieci, żeby elementy tego samego typu nie leżały obok siebie.
+        int[] variantCounts = new int[sprites.length];
+        for (int i = 0; i < sprites.length; i++) variantCounts[i] = sprites[i].length;
 
-        int size     = 48;
-        int startX   = 50;
-        int startY   = 100;
-        int spacingX = size + 15;
-        int spacingY = size + 20;
-        int perRow   = 8;
+        // tasowanie śmieci, żeby elementy tego samego typu nie leżały obok siebie
+        tray.load(paperCount, plasticCount, glassCount, rand, variantCounts);
 
-        for (int i = 0; i < types.size(); i++) {
-            TrashType type = types.get(i);
+        dragged = -1;
+        scrollRow = 0;
+        layoutBoard();
+        repaint();
+    }
 
-            int col = i % perRow;
-            int row = i / perRow;
+    /**
+     * Rozmieszcza kosze przy dolnej krawędzi panelu i dopasowuje tackę (liczbę kolumn
+     * i widocznych rzędów) do miejsca nad nimi.
+     */
+    private void layoutBoard() {
+        int panelW = getWidth()  > 0 ? getWidth()  : 800;
+        int panelH = getHeight() > 0 ? getHeight() : 600;
 
-            int x = startX + col * spacingX;
-            int y = startY + row * spacingY;
+        int binY = panelH - BIN_H - 40;
 
-            Image sprite = null;
-            switch (type) {
-                case PLASTIC -> sprite = chooseRandom(plasticVariants, plasticVariantsCount);
-                case GLASS   -> sprite = chooseRandom(glassVariants,   glassVariantsCount);
-                case PAPER   -> sprite = chooseRandom(paperVariants,   paperVariantsCount);
-            }
+        int x1 = 0;
+        int x3 =  BIN_W * 2;
 
-            Rectangle rect = new Rectangle(x, y, size, size);
-            trashList.add(new SortingTrash(rect, type, sprite));
-        }
+        bins.clear();
+        bins.add(new Bin(new Rectangle(x1, binY, BIN_W, BIN_H), TrashType.PAPER,   "PAPIER"));
+        bins.add(new Bin(new Rectangle(BIN_W, binY, BIN_W, BIN_H), TrashType.PLASTIC, "PLASTIK"));
+        bins.add(new Bin(new Rectangle(x3, binY, BIN_W, BIN_H), TrashType.GLASS,   "SZKŁO"));
+
+        // po prawej zostaje miejsce na pasek przewijania
+        columns = Math.max(1, (panelW - TRAY_X - 50 + SPACING_X - ITEM_SIZE) / SPACING_X);
+        visibleRows = Math.max(1, (binY - 10 - TRAY_Y + SPACING_Y - ITEM_SIZE) / SPACING_Y);
+        scrollRow = Math.min(scrollRow, maxScrollRow());
+        staticDirty = true;
+    }
 
-        int panelW = getWidth()  > 0 ? getWidth()  : 800;
-        int panelH = getHeight() > 0 ? getHeight() : 600;
+    /**
+     * Zwraca liczbę rzędów tacki.
+     *
+     * @return liczba rzędów
+     */
+    private int totalRows() {
+        return (tray.size() + columns - 1) / columns;
+    }
 
-        int binW = 330;
-        int binH = 240;
+    /**
+     * Zwraca największy numer pierwszego widocznego rzędu.
+     *
+     * @return numer rzędu (0, gdy cała tacka się mieści)
+     */
+    private int maxScrollRow() {
+        return Math.max(0, totalRows() - visibleRows);
+    }
 
+    /**
+     * Zwraca pierwszy widoczny slot tacki.
+     *
+     * @return numer slotu
+     */
+    private int firstVisibleSlot() {
+        return scrollRow * columns;
+    }
 
-        int binY = panelH - binH - 40;
+    /**
+     * Zwraca slot za ostatnim widocznym slotem tacki.
+     *
+     * @return numer slotu (nie większy niż liczba slotów)
+     */
+    private int endVisibleSlot() {
+        return Math.min(tray.size(), (scrollRow + visibleRows) * columns);
+    }
 
-        int x1 = 0;
-        int x3 =  binW * 2;
+    /**
+     * Przewija tackę o podaną liczbę rzędów (w granicach tacki).
+     * Nie działa w trakcie przeciągania ani przy otwartym dialogu.
+     *
+     * @param rows liczba rzędów (ujemna – w górę)
+     */
+    private void scrollBy(int rows) {
+        if (dragged >= 0 || dialog.isVisible()) return;
+        int row = Math.max(0, Math.min(maxScrollRow(), scrollRow + rows));
+        if (row == scrollRow) return;
+        scrollRow = row;
+        staticDirty = true;
+        repaint();
+    }
 
-        bins.add(new Bin(new Rectangle(x1, binY, binW, binH), TrashType.PAPER,   "PAPIER"));
-        bins.add(new Bin(new Rectangle(binW, binY, binW, binH), TrashType.PLASTIC, "PLASTIK"));
-        bins.add(new Bin(new Rectangle(x3, binY, binW, binH), TrashType.GLASS,   "SZKŁO"));
+    /**
+     * Zwraca obszar paska przewijania tacki.
+     *
+     * @return prostokąt paska
+     */
+    private Rectangle scrollbarTrack() {
+        return new Rectangle(getWidth() - 30, TRAY_Y, SCROLLBAR_W, (visibleRows - 1) * SPACING_Y + ITEM_SIZE);
+    }
 
-        repaint();
+    /**
+     * Zwraca obszar suwaka paska przewijania (proporcjonalny do widocznej części tacki).
+     *
+     * @param track obszar paska
+     * @return prostokąt suwaka
+     */
+    private Rectangle scrollbarThumb(Rectangle track) {
+        int rows = Math.max(1, totalRows());
+        int h = Math.max(20, track.height * Math.min(visibleRows, rows) / rows);
+        int max = maxScrollRow();
+        int y = track.y + (max == 0 ? 0 : (track.height - h) * scrollRow / max);
+        return new Rectangle(track.x, y, track.width, h);
+    }
+
+    /**
+     * Zwraca niepusty widoczny slot tacki pod kursorem.
+     *
+     * @param x pozycja X kursora
+     * @param y pozycja Y kursora
+     * @return numer slotu lub -1
+     */
+    private int slotAt(int x, int y) {
+        int dx = x - TRAY_X;
+        int dy = y - TRAY_Y;
+        if (dx < 0 || dy < 0 || dx % SPACING_X >= ITEM_SIZE || dy % SPACING_Y >= ITEM_SIZE) return -1;
+        int col = dx / SPACING_X;
+        int row = dy / SPACING_Y;
+        if (col >= columns || row >= visibleRows) return -1;
+        int slot = (scrollRow + row) * columns + col;
+        return slot < tray.size() && !tray.isEmpty(slot) ? slot : -1;
     }
 
     /**
-     * Rysuje panel sortowania: kosze, śmieci oraz interfejs użytkownika.
+     * Rysuje panel sortowania: warstwę statyczną (tło, kosze, widoczne śmieci),
+     * przeciągany śmieć oraz dialog i powiadomienia.
+     * Przy przeciąganiu obszar przycięcia obejmuje tylko okolice przeciąganego śmiecia.
+     *
      * @param g kontekst graficzny używany do rysowania
      */
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+        int w = getWidth();
+        int h = getHeight();
+        if (w <= 0 || h <= 0) return;
 
-        if (backgroundImage != null) {
-            g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
+        if (staticDirty || staticLayer == null
+                || staticLayer.getWidth() != w || staticLayer.getHeight() != h) {
+            buildStaticLayer(w, h);
         }
+        g.drawImage(staticLayer, 0, 0, null);
 
-        for (Bin bin : bins) {
-            Image icon = switch (bin.type) {
-                case PAPER   -> binPaperImg;
-                case PLASTIC -> binPlasticImg;
-                case GLASS   -> binGlassImg;
-            };
+        if (dragged >= 0) drawTrash(g, dragged, dragRect.x, dragRect.y);
 
-            if (icon != null) {
-                g.drawImage(icon, bin.rect.x, bin.rect.y,
-                        bin.rect.width, bin.rect.height, null);
-            } else {
-                g.setColor(Color.GRAY);
-                g.fillRect(bin.rect.x, bin.rect.y, bin.rect.width, bin.rect.height);
-            }
+        dialog.paint(g, w, h);
+    }
+
+    /**
+     * Składa warstwę statyczną: tło, kosze, widoczne rzędy tacki (bez przeciąganego śmiecia)
+     * i – gdy tacka się nie mieści – pasek przewijania z liczbą pozostałych śmieci.
+     *
+     * @param w szerokość panelu
+     * @param h wysokość panelu
+     */
+    private void buildStaticLayer(int w, int h) {
+        if (staticLayer == null || staticLayer.getWidth() != w || staticLayer.getHeight() != h) {
+            staticLayer = ScaledImageCache.createCompatible(w, h, Transparency.OPAQUE);
         }
+        Graphics2D g = staticLayer.createGraphics();
+        try {
+            g.setColor(getBackground());
+            g.fillRect(0, 0, w, h);
+            if (backgroundImage != null) {
+                g.drawImage(ScaledImageCache.get(backgroundImage, w, h), 0, 0, null);
+            }
 
-        for (SortingTrash t : trashList) {
-            if (t.sprite != null) {
-                g.drawImage(t.sprite, t.rect.x, t.rect.y, t.rect.width, t.rect.height, null);
-            } else {
-                switch (t.type) {
-                    case PAPER   -> g.setColor(Color.WHITE);
-                    case PLASTIC -> g.setColor(Color.YELLOW);
-                    case GLASS   -> g.setColor(Color.CYAN);
+            for (Bin bin : bins) {
+                Image icon = switch (bin.type) {
+                    case PAPER   -> binPaperImg;
+                    case PLASTIC -> binPlasticImg;
+                    case GLASS   -> binGlassImg;
+                };
+
+                if (icon != null) {
+                    g.drawImage(ScaledImageCache.get(icon, bin.rect.width, bin.rect.height),
+                            bin.rect.x, bin.rect.y, null);
+                } else {
+                    g.setColor(Color.GRAY);
+                    g.fillRect(bin.rect.x, bin.rect.y, bin.rect.width, bin.rect.height);
                 }
-                g.fillRect(t.rect.x, t.rect.y, t.rect.width, t.rect.height);
             }
+
+            int first = firstVisibleSlot();
+            int end = endVisibleSlot();
+            for (int slot = first; slot < end; slot++) {
+                if (slot == dragged || tray.isEmpty(slot)) continue;
+                int i = slot - first;
+                drawTrash(g, slot, TRAY_X + (i % columns) * SPACING_X, TRAY_Y + (i / columns) * SPACING_Y);
+            }
+
+            if (maxScrollRow() > 0) drawScrollInfo(g);
+        } finally {
+            g.dispose();
         }
+        staticDirty = false;
+    }
+
+    /**
+     * Rysuje pasek przewijania tacki i liczbę pozostałych śmieci każdego typu.
+     *
+     * @param g obiekt graficzny warstwy statycznej
+     */
+    private void drawScrollInfo(Graphics2D g) {
+        Rectangle track = scrollbarTrack();
+        Rectangle thumb = scrollbarThumb(track);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(new Color(0, 0, 0, 90));
+        g.fillRoundRect(track.x, track.y, track.width, track.height, 8, 8);
+        g.setColor(Color.WHITE);
+        g.fillRoundRect(thumb.x, thumb.y, thumb.width, thumb.height, 8, 8);
+
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setFont(INFO_FONT);
+        g.setColor(Color.BLACK);
+        g.drawString(String.format("Pozostało: %d (papier %d, plastik %d, szkło %d) – rzędy %d–%d z %d",
+                tray.remaining(), tray.remaining(TrashType.PAPER), tray.remaining(TrashType.PLASTIC),
+                tray.remaining(TrashType.GLASS), scrollRow + 1, Math.min(totalRows(), scrollRow + visibleRows),
+                totalRows()), TRAY_X, track.y + track.height + 22);
     }
 
     /**
-     * Obsługuje rozpoczęcie przeciągania śmiecia przez gracza.
+     * Rysuje śmieć ze slotu tacki (sprite albo kolorowy prostokąt, gdy brak obrazka).
+     *
+     * @param g obiekt graficzny
+     * @param slot slot tacki
+     * @param x pozycja X
+     * @param y pozycja Y
+     */
+    private void drawTrash(Graphics g, int slot, int x, int y) {
+        TrashType type = tray.type(slot);
+        Image[] variants = sprites[type.ordinal()];
+        if (variants.length > 0) {
+            g.drawImage(ScaledImageCache.get(variants[tray.variant(slot)], ITEM_SIZE, ITEM_SIZE), x, y, null);
+        } else {
+            switch (type) {
+                case PAPER   -> g.setColor(Color.WHITE);
+                case PLASTIC -> g.setColor(Color.YELLOW);
+                case GLASS   -> g.setColor(Color.CYAN);
+            }
+            g.fillRect(x, y, ITEM_SIZE, ITEM_SIZE);
+        }
+    }
+
+    /**
+     * Krok animacji powiadomienia: przerysowuje jego obszar, a po zniknięciu zatrzymuje zegar
+     * (ostatnie przerysowanie zasłania powiadomienie tłem).
+     */
+    private void animateToast() {
+        repaint(dialog.toastBounds(getWidth()));
+        if (!dialog.isToastActive()) toastTimer.stop();
+    }
+
+    /**
+     * Obsługuje rozpoczęcie przeciągania śmiecia przez gracza
+     * oraz kliknięcia paska przewijania tacki (przewinięcie o stronę).
      *
      * @param e zdarzenie myszy
      */
     @Override
     public void mousePressed(MouseEvent e) {
-        for (SortingTrash t : trashList) {
-            if (t.rect.contains(e.getPoint())) {
-                dragged = t;
-                offsetX = e.getX() - t.rect.x;
-                offsetY = e.getY() - t.rect.y;
-                break;
+        if (dialog.click(e.getX(), e.getY())) {
+            repaint();
+            return;
+        }
+        if (maxScrollRow() > 0) {
+            Rectangle track = scrollbarTrack();
+            if (track.contains(e.getPoint())) {
+                Rectangle thumb = scrollbarThumb(track);
+                if (e.getY() < thumb.y) scrollBy(-visibleRows);
+                else if (e.getY() >= thumb.y + thumb.height) scrollBy(visibleRows);
+                return;
             }
         }
+
+        int slot = slotAt(e.getX(), e.getY());
+        if (slot >= 0) {
+            int i = slot - firstVisibleSlot();
+            dragged = slot;
+            dragRect.setLocation(TRAY_X + (i % columns) * SPACING_X, TRAY_Y + (i / columns) * SPACING_Y);
+            offsetX = e.getX() - dragRect.x;
+            offsetY = e.getY() - dragRect.y;
+            // podniesiony śmieć znika z warstwy statycznej i jest rysowany osobno
+            staticDirty = true;
+            repaint(dragRect);
+        }
     }
 
     /**
      * Sprawdza poprawność sortowania po upuszczeniu śmiecia do kosza.
+     * Śmieć upuszczony poza koszem lub do złego kosza wraca na swoje miejsce w tacce.
      *
      * @param e zdarzenie myszy
      */
     @Override
     public void mouseReleased(MouseEvent e) {
-        if (dragged != null) {
+        if (dragged >= 0) {
             Bin hitBin = null;
             for (Bin bin : bins) {
-                if (bin.rect.contains(dragged.rect.getCenterX(), dragged.rect.getCenterY())) {
+                if (bin.rect.contains(dragRect.getCenterX(), dragRect.getCenterY())) {
                     hitBin = bin;
                     break;
                 }
             }
 
+            int slot = dragged;
+            dragged = -1;
+            staticDirty = true;
+
             if (hitBin != null) {
-                if (hitBin.type == dragged.type) {
-                    trashList.remove(dragged);
-                    if (trashList.isEmpty()) {
+                if (hitBin.type == tray.type(slot)) {
+                    if (e.isShiftDown()) {
+                        tray.clearType(hitBin.type, firstVisibleSlot(), endVisibleSlot());
+                    } else {
+                        tray.remove(slot);
+                    }
+                    compactIfSparse();
+                    if (tray.remaining() == 0) {
                         levelFinished();
                     }
                 } else {
                     // kara za zły kosz
-                    levelScore = Math.max(0, levelScore - 5);
-                    totalScore = Math.max(0, totalScore - 5);
+                    levelScore = Math.max(0, levelScore - WRONG_BIN_PENALTY);
+                    totalScore = Math.max(0, totalScore - WRONG_BIN_PENALTY);
+                    parent.sortingMistake();
 
-                    JOptionPane.showMessageDialog(this,
-                            "To nie jest właściwy kosz! -5 punktów.",
-                            "Błąd",
-                            JOptionPane.WARNING_MESSAGE);
+                    dialog.toast("To nie jest właściwy kosz! -" + WRONG_BIN_PENALTY + " punktów.");
+                    toastTimer.start();
                 }
             }
 
-            dragged = null;
             repaint();
         }
     }
+
     /**
-     * Kończy etap sortowania i wyświetla podsumowanie poziomu:
+     * Usuwa puste sloty z tacki, gdy jest ich więcej niż śmieci albo gdy widoczna część
+     * tacki jest pusta. Pierwszy widoczny rząd jest dobierany tak, żeby pokazywał
+     * śmieci leżące wcześniej na górze widoku.
+     */
+    private void compactIfSparse() {
+        if (tray.remaining() == 0) return;
+        boolean pageEmpty = true;
+        for (int slot = firstVisibleSlot(); slot < endVisibleSlot() && pageEmpty; slot++) {
+            pageEmpty = tray.isEmpty(slot);
+        }
+        if (!pageEmpty && tray.holes() <= tray.remaining()) return;
+
+        int first = tray.compact(firstVisibleSlot());
+        scrollRow = Math.min(first / columns, maxScrollRow());
+    }
+
+    /**
+     * Kończy etap sortowania i wyświetla dialog z podsumowaniem poziomu:
      * czas, punkty za poziom (po karach za błędne sortowanie) oraz sumę punktów i czasu w sesji.
-     * Następnie pozwala przejść do kolejnego poziomu lub wrócić do menu.
+     * Wybór w dialogu pozwala przejść do kolejnego poziomu lub wrócić do menu.
      */
     private void levelFinished() {
         String msg = String.format(
@@ -392,39 +616,39 @@ public class SortingPanel extends JPanel implements MouseListener, MouseMotionLi
                 totalScore
         );
 
-        Object[] options;
+        String[] options;
         String title;
 
         if (lastLevel) {
             title = "Koniec gry";
-            options = new Object[]{"Nowa gra", "Powrót do menu"};
+            options = new String[]{"Nowa gra", "Powrót do menu"};
         } else {
             title = "Koniec poziomu";
-            options = new Object[]{"Następny poziom", "Powrót do menu"};
+            options = new String[]{"Następny poziom", "Powrót do menu"};
         }
 
-        int choice = JOptionPane.showOptionDialog(
-                this,
-                msg,
-                title,
-                JOptionPane.YES_NO_OPTION,
-                JOptionPane.INFORMATION_MESSAGE,
-                null,
-                options,
-                options[0]
-        );
+        dialog.show(title, msg, this::summaryChosen, options);
+        repaint();
+    }
 
+    /**
+     * Obsługuje wybór w dialogu podsumowania: zapisuje wynik i przechodzi do kolejnego poziomu,
+     * nowej gry albo menu.
+     *
+     * @param choice indeks wybranego przycisku (0 – dalej, 1 – powrót do menu)
+     */
+    private void summaryChosen(int choice) {
         parent.registerScore(totalScore);
 
         if (lastLevel) {
-            if (choice == JOptionPane.YES_OPTION) {
+            if (choice == 0) {
                 parent.levelCompleted();
                 parent.showGamePanel();
             } else {
                 parent.levelCompleted();
             }
         } else {
-            if (choice == JOptionPane.YES_OPTION) {
+            if (choice == 0) {
                 parent.showGamePanel();
             } else {
                 parent.levelCompleted();
@@ -439,9 +663,11 @@ public class SortingPanel extends JPanel implements MouseListener, MouseMotionLi
 
     @Override
     public void mouseDragged(MouseEvent e) {
-        if (dragged != null) {
-            dragged.rect.setLocation(e.getX() - offsetX, e.getY() - offsetY);
-            repaint();
+        if (dragged >= 0) {
+            Rectangle dirty = new Rectangle(dragRect);
+            dragRect.setLocation(e.getX() - offsetX, e.getY() - offsetY);
+            dirty.add(dragRect);
+            repaint(dirty);
         }
     }
 
@@ -458,7 +684,12 @@ public class SortingPanel extends JPanel implements MouseListener, MouseMotionLi
      */
     public void mouseExited(MouseEvent e) {}
     /**
-     * Metody interfejsu MouseListener – niewykorzystywane w logice gry.
+     * Zaznacza przycisk dialogu podsumowania pod kursorem.
+     *
+     * @param e zdarzenie myszy
      */
-    public void mouseMoved(MouseEvent e) {}
+    @Override
+    public void mouseMoved(MouseEvent e) {
+        if (dialog.hover(e.getX(), e.getY())) repaint();
+    }
 }
@@ -0,0 +1,210 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zwarty stan śmieci do posortowania: każdy śmieć to jedno miejsce (slot) w tacce
+ * z typem i numerem wariantu obrazka zapisanymi w tablicach bajtów.
+ * <p>
+ * Pozycja śmiecia na ekranie wynika z numeru slotu ({@link SortingPanel} układa sloty w rzędy),
+ * więc nie ma obiektów ani prostokątów na śmieć – 5000 śmieci to ok. 10 KB. Posortowany śmieć
+ * zostawia pusty slot (reszta tacki się nie przesuwa); puste sloty można usunąć
+ * przez {@link #compact(int)}.
+ * </p>
+ */
+public final class SortingTray {
+
+    /** Wartość typu oznaczająca pusty slot. */
+    private static final byte EMPTY = -1;
+
+    /** Typy odpadów (indeksy {@link TrashType#ordinal()}). */
+    private static final TrashType[] TYPES = TrashType.values();
+
+    /** Typ śmiecia w slocie ({@link TrashType#ordinal()} lub {@link #EMPTY}). */
+    private byte[] types = new byte[0];
+
+    /** Numer wariantu obrazka śmiecia w slocie. */
+    private byte[] variants = new byte[0];
+
+    /** Liczba slotów (także pustych). */
+    private int size;
+
+    /** Liczba śmieci pozostałych w tacce. */
+    private int remaining;
+
+    /** Liczba pozostałych śmieci każdego typu. */
+    private final int[] remainingByType = new int[TYPES.length];
+
+    /**
+     * Wypełnia tackę podaną liczbą śmieci każdego typu w losowej kolejności
+     * (żeby śmieci tego samego typu nie leżały obok siebie).
+     *
+     * @param paper liczba papierów
+     * @param plastic liczba plastików
+     * @param glass liczba szkieł
+     * @param rand generator losowy (kolejność i warianty)
+     * @param variantCounts liczba dostępnych wariantów obrazka dla każdego typu (wg {@link TrashType#ordinal()})
+     */
+    public void load(int paper, int plastic, int glass, Random rand, int[] variantCounts) {
+        size = paper + plastic + glass;
+        if (types.length < size) {
+            types = new byte[size];
+            variants = new byte[size];
+        }
+        int i = 0;
+        i = fill(i, paper, TrashType.PAPER);
+        i = fill(i, plastic, TrashType.PLASTIC);
+        fill(i, glass, TrashType.GLASS);
+
+        // tasowanie Fishera-Yatesa bezpośrednio na tablicy typów
+        for (int j = size - 1; j > 0; j--) {
+            int k = rand.nextInt(j + 1);
+            byte t = types[j];
+            types[j] = types[k];
+            types[k] = t;
+        }
+        for (int j = 0; j < size; j++) {
+            int n = variantCounts[types[j]];
+            variants[j] = (byte) (n > 1 ? rand.nextInt(n) : 0);
+        }
+
+        remaining = size;
+        remainingByType[TrashType.PAPER.ordinal()] = paper;
+        remainingByType[TrashType.PLASTIC.ordinal()] = plastic;
+        remainingByType[TrashType.GLASS.ordinal()] = glass;
+    }
+
+    /**
+     * Wpisuje typ do kolejnych slotów.
+     *
+     * @param from pierwszy slot
+     * @param count liczba slotów
+     * @param type typ odpadu
+     * @return slot za ostatnim wpisanym
+     */
+    private int fill(int from, int count, TrashType type) {
+        Arrays.fill(types, from, from + count, (byte) type.ordinal());
+        return from + count;
+    }
+
+    /**
+     * Zwraca liczbę slotów (także pustych).
+     *
+     * @return liczba slotów
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Zwraca liczbę śmieci pozostałych w tacce.
+     *
+     * @return liczba śmieci
+     */
+    public int remaining() {
+        return remaining;
+    }
+
+    /**
+     * Zwraca liczbę pozostałych śmieci danego typu.
+     *
+     * @param type typ odpadu
+     * @return liczba śmieci
+     */
+    public int remaining(TrashType type) {
+        return remainingByType[type.ordinal()];
+    }
+
+    /**
+     * Informuje, czy slot jest pusty (śmieć został posortowany).
+     *
+     * @param slot numer slotu
+     * @return true, jeśli slot jest pusty
+     */
+    public boolean isEmpty(int slot) {
+        return types[slot] == EMPTY;
+    }
+
+    /**
+     * Zwraca typ śmiecia w slocie.
+     *
+     * @param slot numer niepustego slotu
+     * @return typ odpadu
+     */
+    public TrashType type(int slot) {
+        return TYPES[types[slot]];
+    }
+
+    /**
+     * Zwraca numer wariantu obrazka śmiecia w slocie.
+     *
+     * @param slot numer niepustego slotu
+     * @return numer wariantu
+     */
+    public int variant(int slot) {
+        return variants[slot];
+    }
+
+    /**
+     * Usuwa śmieć ze slotu (slot zostaje pusty).
+     *
+     * @param slot numer niepustego slotu
+     */
+    public void remove(int slot) {
+        remainingByType[types[slot]]--;
+        remaining--;
+        types[slot] = EMPTY;
+    }
+
+    /**
+     * Usuwa wszystkie śmieci danego typu z zakresu slotów.
+     *
+     * @param type typ odpadu
+     * @param from pierwszy slot (włącznie)
+     * @param to ostatni slot (wyłącznie; obcinany do liczby slotów)
+     * @return liczba usuniętych śmieci
+     */
+    public int clearType(TrashType type, int from, int to) {
+        byte t = (byte) type.ordinal();
+        int end = Math.min(to, size);
+        int removed = 0;
+        for (int i = Math.max(0, from); i < end; i++) {
+            if (types[i] == t) {
+                types[i] = EMPTY;
+                removed++;
+            }
+        }
+        remainingByType[t] -= removed;
+        remaining -= removed;
+        return removed;
+    }
+
+    /**
+     * Zwraca liczbę pustych slotów.
+     *
+     * @return liczba pustych slotów
+     */
+    public int holes() {
+        return size - remaining;
+    }
+
+    /**
+     * Usuwa puste sloty, zachowując kolejność śmieci.
+     *
+     * @param slot slot, którego nowy numer ma zostać zwrócony (np. pierwszy widoczny)
+     * @return nowy numer podanego slotu (liczba śmieci przed nim)
+     */
+    public int compact(int slot) {
+        int mapped = 0;
+        int w = 0;
+        for (int r = 0; r < size; r++) {
+            if (r == slot) mapped = w;
+            if (types[r] == EMPTY) continue;
+            types[w] = types[r];
+            variants[w] = variants[r];
+            w++;
+        }
+        if (slot >= size) mapped = w;
+        size = w;
+        return mapped;
+    }
+}
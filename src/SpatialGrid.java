@@ -0,0 +1,182 @@
+import java.util.Arrays;
+
+/**
+ * Jednowymiarowa siatka haszująca (spatial hash) dla obiektów {@link EntityStore}.
+ * <p>
+ * Obiekty są przypisane do komórek szerokości {@link #CELL} pikseli według lewej krawędzi
+ * w układzie przewijania (pozycja X plus przebyty dystans planszy). Obiekt poruszający się
+ * z prędkością świata ma w tym układzie stałą pozycję, więc nie zmienia komórki, dopóki
+ * nie zostanie usunięty. Komórki są odwzorowane na kubełki tablicy o rozmiarze potęgi dwójki;
+ * każdy kubełek to dwukierunkowa lista identyfikatorów, więc dodanie i usunięcie to O(1).
+ * </p>
+ * <p>
+ * Siatka nie alokuje niczego poza {@link #resize(int)} (wywoływanym przy powiększaniu magazynu).
+ * </p>
+ */
+public final class SpatialGrid {
+
+    /** Szerokość komórki w pikselach (nie mniejsza niż typowy obiekt planszy). */
+    public static final int CELL = 128;
+
+    /** Najmniejsza liczba kubełków. */
+    private static final int MIN_BUCKETS = 64;
+
+    /** Pierwszy identyfikator w kubełku (-1 – pusty). */
+    private int[] head;
+    /** Maska indeksu kubełka ({@code head.length - 1}). */
+    private int mask;
+    /** Następny identyfikator w kubełku (-1 – koniec). */
+    private int[] next;
+    /** Poprzedni identyfikator w kubełku (-1 – początek). */
+    private int[] prev;
+    /** Komórka, do której należy identyfikator. */
+    private long[] cellOf;
+
+    /**
+     * Tworzy siatkę dla identyfikatorów {@code 0..capacity-1}.
+     *
+     * @param capacity liczba identyfikatorów
+     */
+    public SpatialGrid(int capacity) {
+        next = new int[capacity];
+        prev = new int[capacity];
+        cellOf = new long[capacity];
+        head = new int[bucketsFor(capacity)];
+        mask = head.length - 1;
+        Arrays.fill(head, -1);
+    }
+
+    /**
+     * Zwraca komórkę zawierającą pozycję w układzie przewijania.
+     *
+     * @param scrollX pozycja X w układzie przewijania
+     * @return numer komórki
+     */
+    public static long cellOf(long scrollX) {
+        return Math.floorDiv(scrollX, CELL);
+    }
+
+    /**
+     * Dodaje identyfikator do komórki.
+     *
+     * @param id identyfikator obiektu
+     * @param cell numer komórki
+     */
+    public void insert(int id, long cell) {
+        int b = (int) cell & mask;
+        int h = head[b];
+        cellOf[id] = cell;
+        prev[id] = -1;
+        next[id] = h;
+        if (h >= 0) prev[h] = id;
+        head[b] = id;
+    }
+
+    /**
+     * Usuwa identyfikator z jego komórki.
+     *
+     * @param id identyfikator obiektu
+     */
+    public void remove(int id) {
+        int p = prev[id];
+        int n = next[id];
+        if (p >= 0) next[p] = n;
+        else head[(int) cellOf[id] & mask] = n;
+        if (n >= 0) prev[n] = p;
+    }
+
+    /**
+     * Przenosi identyfikator do innej komórki (nic nie robi, jeśli komórka się nie zmieniła).
+     *
+     * @param id identyfikator obiektu
+     * @param cell nowy numer komórki
+     */
+    public void move(int id, long cell) {
+        if (cellOf[id] == cell) return;
+        remove(id);
+        insert(id, cell);
+    }
+
+    /**
+     * Zwraca pierwszy identyfikator kubełka, do którego trafia komórka.
+     * Kubełek może zawierać też obiekty innych komórek – należy je odfiltrować przez {@link #cell(int)}.
+     *
+     * @param cell numer komórki
+     * @return identyfikator lub -1, jeśli kubełek jest pusty
+     */
+    public int first(long cell) {
+        return head[(int) cell & mask];
+    }
+
+    /**
+     * Zwraca następny identyfikator w tym samym kubełku.
+     *
+     * @param id bieżący identyfikator
+     * @return następny identyfikator lub -1
+     */
+    public int next(int id) {
+        return next[id];
+    }
+
+    /**
+     * Zwraca komórkę identyfikatora.
+     *
+     * @param id identyfikator obiektu
+     * @return numer komórki
+     */
+    public long cell(int id) {
+        return cellOf[id];
+    }
+
+    /**
+     * Zwraca liczbę kubełków (zakres komórek, który można przejrzeć bez powtórzeń).
+     *
+     * @return liczba kubełków
+     */
+    public int buckets() {
+        return head.length;
+    }
+
+    /**
+     * Usuwa wszystkie identyfikatory.
+     */
+    public void clear() {
+        Arrays.fill(head, -1);
+    }
+
+    /**
+     * Powiększa siatkę dla nowej liczby identyfikatorów, zachowując przypisania do komórek.
+     *
+     * @param capacity nowa liczba identyfikatorów
+     */
+    public void resize(int capacity) {
+        int[] oldHead = head;
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        cellOf = Arrays.copyOf(cellOf, capacity);
+
+        int buckets = bucketsFor(capacity);
+        if (buckets == oldHead.length) return;
+
+        head = new int[buckets];
+        mask = buckets - 1;
+        Arrays.fill(head, -1);
+        for (int h : oldHead) {
+            for (int id = h; id >= 0; ) {
+                int n = next[id];
+                insert(id, cellOf[id]);
+                id = n;
+            }
+        }
+    }
+
+    /**
+     * Wylicza liczbę kubełków: potęga dwójki nie mniejsza niż liczba identyfikatorów.
+     *
+     * @param capacity liczba identyfikatorów
+     * @return liczba kubełków
+     */
+    private static int bucketsFor(int capacity) {
+        return Math.max(MIN_BUCKETS, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+    }
+}
@@ -0,0 +1,254 @@
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Centralny rejestr sprite'ów gry.
+ * <p>
+ * Wszystkie obrazy z katalogu {@code assets/} są dekodowane raz, przy starcie aplikacji,
+ * a następnie współdzielone przez gracza, przeszkody, odpady i panele.
+ * Dzięki temu tworzenie nowych obiektów w pętli gry nie wykonuje już żadnych operacji
+ * wejścia/wyjścia ani dekodowania PNG.
+ * </p>
+ * <p>
+ * Gra dekoduje obrazy równolegle w tle ({@link #preloadAsync(int, IntConsumer)}), a okno z menu
+ * pokazuje się od razu. Obraz pobierany przez {@link #get(String)} w trakcie dekodowania
+ * nie jest dekodowany drugi raz – {@code get} czeka na jego wczytanie w tle.
+ * Narzędzia wsadowe używają {@link #preloadAll()}.
+ * </p>
+ * <p>
+ * Jeśli jest dostępny pakiet zasobów ({@link AssetBundle}), obrazy są tworzone z niego bez
+ * dekodowania PNG; obrazów, których w nim nie ma (albo gdy pakietu nie ma), szuka się
+ * w plikach PNG w katalogu {@code assets/}.
+ * </p>
+ */
+public final class SpriteRegistry {
+
+    /** Tło planszy platformowej. */
+    public static final String BACKGROUND = "assets/background.png";
+    /** Tło menu głównego. */
+    public static final String MENU_BACKGROUND = "assets/menu_bg.png";
+    /** Tło panelu sortowania. */
+    public static final String SORT_BACKGROUND = "assets/sort_bg.png";
+    /** Sprite sheet gracza (2x2 klatki). */
+    public static final String PLAYER = "assets/player.png";
+    /** Serce wyświetlane w HUD. */
+    public static final String HEART = "assets/heart.png";
+    /** Przeszkoda – chmura. */
+    public static final String CLOUD = "assets/cloud.png";
+    /** Przeszkoda – plama ropy. */
+    public static final String OIL_SPILL = "assets/pool.png";
+    /** Kosz na papier. */
+    public static final String BIN_PAPER = "assets/bin_paper.png";
+    /** Kosz na plastik. */
+    public static final String BIN_PLASTIC = "assets/bin_plastic.png";
+    /** Kosz na szkło. */
+    public static final String BIN_GLASS = "assets/bin_glass.png";
+    /** Warianty kolorystyczne plastiku (pierwszy jest używany na planszy). */
+    public static final String[] PLASTIC_VARIANTS = {
+            "assets/plastic_yellow.png", "assets/plastic_red.png", "assets/plastic_green.png"
+    };
+    /** Warianty kolorystyczne szkła (pierwszy jest używany na planszy). */
+    public static final String[] GLASS_VARIANTS = {
+            "assets/glass_green.png", "assets/glass_yellow.png", "assets/glass_blue.png"
+    };
+    /** Warianty kolorystyczne papieru (pierwszy jest używany na planszy). */
+    public static final String[] PAPER_VARIANTS = {
+            "assets/paper_grey.png", "assets/paper_blue.png", "assets/paper_yellow.png"
+    };
+
+    /** Katalog zasobów, od którego zaczynają się ścieżki obrazów. */
+    private static final String ASSET_DIR = "assets/";
+
+    /** Pakiet zasobów ({@code null}, gdy go nie ma – obrazy są dekodowane z plików PNG). */
+    private static final AssetBundle bundle = AssetBundle.openDefault();
+
+    /** Zdekodowane obrazy indeksowane ścieżką pliku. */
+    private static final Map<String, BufferedImage> images = new ConcurrentHashMap<>();
+
+    /** Ścieżki, których nie udało się wczytać (żeby nie próbować ponownie w pętli gry). */
+    private static final Map<String, Boolean> missing = new ConcurrentHashMap<>();
+
+    /** Obrazy dekodowane właśnie w tle ({@link #preloadAsync(int, IntConsumer)}). */
+    private static final Map<String, CompletableFuture<BufferedImage>> loading = new ConcurrentHashMap<>();
+
+    /** Klasa narzędziowa – brak instancji. */
+    private SpriteRegistry() {}
+
+    /**
+     * Zwraca listę wszystkich zasobów graficznych używanych przez grę.
+     *
+     * @return ścieżki do plików PNG
+     */
+    public static String[] allAssets() {
+        return new String[]{
+                BACKGROUND, MENU_BACKGROUND, SORT_BACKGROUND, PLAYER, HEART, CLOUD, OIL_SPILL,
+                BIN_PAPER, BIN_PLASTIC, BIN_GLASS,
+                PLASTIC_VARIANTS[0], PLASTIC_VARIANTS[1], PLASTIC_VARIANTS[2],
+                GLASS_VARIANTS[0], GLASS_VARIANTS[1], GLASS_VARIANTS[2],
+                PAPER_VARIANTS[0], PAPER_VARIANTS[1], PAPER_VARIANTS[2]
+        };
+    }
+
+    /**
+     * Wczytuje i dekoduje wszystkie zasoby graficzne gry.
+     * Wywoływane raz przy starcie aplikacji, przed utworzeniem paneli.
+     */
+    public static void preloadAll() {
+        for (String path : allAssets()) {
+            load(path);
+        }
+    }
+
+    /**
+     * Dekoduje wszystkie zasoby graficzne gry równolegle w tle (tło menu jako pierwsze).
+     * Wątki dekodujące są kończone po wczytaniu ostatniego obrazu.
+     *
+     * @param threads liczba wątków dekodujących
+     * @param progress wywoływane (w wątku dekodującym) z liczbą wczytanych obrazów po każdym z nich
+     * @return zadanie kończone po wczytaniu (lub nieudanej próbie wczytania) wszystkich obrazów
+     */
+    public static CompletableFuture<Void> preloadAsync(int threads, IntConsumer progress) {
+        List<String> paths = new ArrayList<>(List.of(allAssets()));
+        paths.remove(MENU_BACKGROUND);
+        paths.add(0, MENU_BACKGROUND);
+
+        AtomicInteger threadId = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "EcoJumper-Assets-" + threadId.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+        AtomicInteger done = new AtomicInteger();
+        CompletableFuture<?>[] all = new CompletableFuture<?>[paths.size()];
+        for (int i = 0; i < all.length; i++) {
+            String path = paths.get(i);
+            CompletableFuture<BufferedImage> f = new CompletableFuture<>();
+            CompletableFuture<BufferedImage> prev = loading.putIfAbsent(path, f);
+            if (prev != null) {
+                all[i] = prev;
+                continue;
+            }
+            all[i] = f;
+            pool.execute(() -> {
+                try {
+                    f.complete(load(path));
+                } catch (RuntimeException e) {
+                    f.completeExceptionally(e);
+                } finally {
+                    loading.remove(path, f);
+                    progress.accept(done.incrementAndGet());
+                }
+            });
+        }
+        pool.shutdown();
+        return CompletableFuture.allOf(all);
+    }
+
+    /**
+     * Zwraca współdzielony, zdekodowany obraz dla podanej ścieżki.
+     * Jeśli obraz nie był wcześniej wczytany, zostaje wczytany teraz (jednorazowo),
+     * a jeśli jest właśnie dekodowany w tle – metoda czeka na wynik.
+     *
+     * @param path ścieżka do pliku PNG (np. {@link #CLOUD})
+     * @return obraz lub {@code null}, jeśli nie udało się go wczytać
+     */
+    public static BufferedImage get(String path) {
+        BufferedImage img = images.get(path);
+        if (img != null || missing.containsKey(path)) return img;
+        CompletableFuture<BufferedImage> pending = loading.get(path);
+        if (pending != null) return pending.join();
+        return load(path);
+    }
+
+    /**
+     * Zwraca obraz tylko wtedy, gdy jest już wczytany (bez czekania i bez dekodowania).
+     *
+     * @param path ścieżka do pliku PNG
+     * @return obraz lub {@code null}, jeśli jeszcze nie jest wczytany
+     */
+    public static BufferedImage getIfLoaded(String path) {
+        return images.get(path);
+    }
+
+    /**
+     * Wczytuje obraz z pakietu zasobów albo dekoduje go z dysku i zapamiętuje w rejestrze.
+     *
+     * @param path ścieżka do pliku PNG
+     * @return obraz lub {@code null} w razie błędu
+     */
+    private static BufferedImage load(String path) {
+        BufferedImage cached = images.get(path);
+        if (cached != null) return cached;
+        try {
+            BufferedImage img = bundle != null && path.startsWith(ASSET_DIR)
+                    ? bundle.image(path.substring(ASSET_DIR.length()))
+                    : null;
+            if (img == null) img = ImageIO.read(new File(path));
+            if (img == null) {
+                System.out.println("Nie udało się wczytać: " + path);
+                missing.put(path, Boolean.TRUE);
+                return null;
+            }
+            BufferedImage prev = images.putIfAbsent(path, img);
+            return prev != null ? prev : img;
+        } catch (IOException e) {
+            System.out.println("Błąd wczytywania: " + path);
+            missing.put(path, Boolean.TRUE);
+            return null;
+        }
+    }
+
+    /**
+     * Zwraca plik pakietu zasobów, z którego są wczytywane obrazy.
+     *
+     * @return ścieżka pakietu lub {@code null}, gdy obrazy są dekodowane z plików PNG
+     */
+    public static Path getBundleFile() {
+        return bundle != null ? bundle.getFile() : null;
+    }
+
+    /**
+     * Zwraca liczbę obrazów przechowywanych w rejestrze.
+     *
+     * @return liczba wczytanych obrazów
+     */
+    public static int size() {
+        return images.size();
+    }
+
+    /**
+     * Szacuje pamięć zajmowaną przez zdekodowane piksele wszystkich obrazów.
+     *
+     * @return rozmiar danych pikseli w bajtach
+     */
+    public static long getMemoryUsageBytes() {
+        long total = 0;
+        for (BufferedImage img : images.values()) {
+            total += imageBytes(img);
+        }
+        return total;
+    }
+
+    /**
+     * Oblicza rozmiar danych pikseli pojedynczego obrazu.
+     *
+     * @param img obraz
+     * @return rozmiar w bajtach
+     */
+    static long imageBytes(BufferedImage img) {
+        int bits = img.getColorModel().getPixelSize();
+        return (long) img.getWidth() * img.getHeight() * ((bits + 7) / 8);
+    }
+}
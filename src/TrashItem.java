@@ -1,17 +1,20 @@
-import javax.swing.*;
-import java.awt.*;
-
 /**
- * Obiekt odpadu do zebrania podczas biegu.
- * Ma typ (papier/plastik/szkło), sprite oraz porusza się w lewo razem z "planszą".
+ * Opis odpadu do zebrania podczas biegu, dodawanego do planszy poza regułami generowania
+ * (np. w testach wydajności). Ma typ (papier/plastik/szkło) i porusza się w lewo razem z "planszą".
  * Po zebraniu zwiększa licznik śmieci i wynik.
+ * <p>
+ * {@link GameWorld} przechowuje odpady planszy w {@link EntityStore}; obiekt odpadu
+ * opisuje tylko jego typ, położenie, wymiary i prędkość przy dodawaniu
+ * ({@link GameWorld#addTrash(TrashItem)}). Ruch i kolizje obsługuje {@link EntityStore},
+ * a rysowanie – {@link WorldRenderer}.
+ * </p>
  */
 
 public class TrashItem {
-    /** Aktualna pozycja X odpadu na planszy. */
+    /** Pozycja X odpadu przy dodaniu do planszy. */
     private int x;
 
-    /** Aktualna pozycja Y odpadu na planszy. */
+    /** Pozycja Y odpadu na planszy. */
     private int y;
 
     /** Szerokość sprite'a odpadu (do rysowania i kolizji). */
@@ -23,13 +26,9 @@ public class TrashItem {
     /** Typ odpadu (papier, plastik lub szkło). */
     private TrashType type;
 
-    /** Obrazek (sprite) reprezentujący odpad. */
-    private Image sprite;
-
     /** Prędkość przesuwania się odpadu w lewo (prędkość świata). */
     private int speed = 5;
 
-
     /**
      * Tworzy nowy obiekt odpadu na planszy.
      *
@@ -45,12 +44,6 @@ public class TrashItem {
         this.width = width;
         this.height = height;
         this.type = type;
-
-        switch (type) {
-            case PLASTIC -> sprite = new ImageIcon("assets/plastic_yellow.png").getImage();
-            case GLASS   -> sprite = new ImageIcon("assets/glass_green.png").getImage();
-            case PAPER   -> sprite = new ImageIcon("assets/paper_grey.png").getImage();
-        }
     }
 
     /**
@@ -64,55 +57,47 @@ public class TrashItem {
     }
 
     /**
-     * Aktualizuje pozycję odpadu.
-     * Przesuwa go w lewo zgodnie z prędkością świata.
+     * Zwraca typ odpadu.
+     * Wykorzystywane do zliczania oraz panelu sortowania.
+     *
+     * @return typ odpadu
      */
-    public void update() {
-        x -= speed;
+    public TrashType getType() {
+        return type;
     }
 
     /**
-     * Sprawdza, czy odpad opuścił ekran gry.
+     * Zwraca pozycję X odpadu przy dodaniu do planszy.
      *
-     * @return true jeśli odpad znajduje się poza ekranem
+     * @return pozycja X
      */
-    public boolean isOutOfScreen() {
-        return x + width < 0;
-    }
+    public int getX() { return x; }
 
     /**
-     * Rysuje sprite odpadu na ekranie.
+     * Zwraca pozycję Y odpadu.
      *
-     * @param g obiekt Graphics używany do rysowania
+     * @return pozycja Y
      */
-    public void draw(Graphics g) {
-        g.drawImage(sprite, x, y, width, height, null);
-    }
+    public int getY() { return y; }
 
     /**
-     * Zwraca obszar kolizji odpadu.
-     * Wykorzystywane do sprawdzania kontaktu z graczem.
+     * Zwraca szerokość odpadu.
      *
-     * @return prostokąt kolizji odpadu
+     * @return szerokość
      */
-    public Rectangle getBounds() {
-        return new Rectangle(x, y, width, height);
-    }
+    public int getWidth() { return width; }
 
     /**
-     * Zwraca typ odpadu.
-     * Wykorzystywane do zliczania oraz panelu sortowania.
+     * Zwraca wysokość odpadu.
      *
-     * @return typ odpadu
+     * @return wysokość
      */
-    public TrashType getType() {
-        return type;
-    }
+    public int getHeight() { return height; }
 
     /**
-     * Zwraca aktualną pozycję X odpadu.
+     * Zwraca prędkość przesuwania odpadu.
      *
-     * @return pozycja X
+     * @return prędkość (piksele na krok)
      */
-    public int getX() { return x; }
+    public int getSpeed() { return speed; }
 }
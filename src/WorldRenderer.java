@@ -0,0 +1,627 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Rysuje stan poziomu ({@link GameWorld}) wraz z HUD na dowolnym kontekście graficznym.
+ * <p>
+ * Wydzielone z {@link GamePanel}, żeby ten sam kod rysował klatkę na płótnie gry,
+ * do obrazu poza ekranem (testy wydajności) albo przy odtwarzaniu nagrań.
+ * </p>
+ * <p>
+ * W grze używany jest tryb przyrostowy ({@link #renderIncremental}): klatka jest składana
+ * w trwałym buforze, a w każdej klatce odświeżane są tylko uszkodzone prostokąty
+ * ({@link DirtyRegions}) – poprzednie i bieżące położenia gracza i obiektów oraz HUD,
+ * gdy zmieniły się wyświetlane wartości. Tło w tych prostokątach pochodzi z pasów
+ * {@link ParallaxBackground} przeskalowanych raz do rozmiaru klatki; pas warstwy jest uszkodzony
+ * tylko w klatkach, w których warstwa przesunęła się o cały piksel. Gdy przesunęły się wszystkie
+ * pasy, klatka jest rysowana w całości bez zbierania prostokątów obiektów. Na ekran kopiowane są
+ * tylko uszkodzone prostokąty.
+ * </p>
+ * <p>
+ * Bufor klatki ({@link BackBuffer}) jest w miarę możliwości obrazem {@link java.awt.image.VolatileImage};
+ * gdy jego zawartość przepadnie, klatka jest rysowana od nowa w całości. Sprite'y, pasy tła i HUD
+ * są obrazami zgodnymi z ekranem ({@link ScaledImageCache#createCompatible}), które Java2D sama
+ * przechowuje na karcie graficznej. Każde ich kopiowanie i każde kopiowanie bufora na ekran jest
+ * zliczane w {@link BlitCounters} jako akcelerowane albo programowe; to, czy obraz jest akcelerowany,
+ * jest sprawdzane co {@link #ACCELERATION_REFRESH_FRAMES} klatek.
+ * </p>
+ */
+public class WorldRenderer {
+
+    /**
+     * Czy warstwy tła mają się przesuwać – właściwość systemowa {@code ecojumper.parallax}
+     * ({@code false} – nieruchome tło, przy którym odświeżane są tylko prostokąty obiektów i HUD).
+     */
+    private static final boolean PARALLAX =
+            Boolean.parseBoolean(System.getProperty("ecojumper.parallax", "true"));
+
+    /** Pozycja X ramki HUD. */
+    private static final int HUD_X = 15;
+
+    /** Pozycja Y ramki HUD. */
+    private static final int HUD_Y = 40;
+
+    /** Szerokość ramki HUD. */
+    private static final int HUD_W = 200;
+
+    /** Wysokość ramki HUD. */
+    private static final int HUD_H = 55;
+
+    /** Kolor wypełnienia ramki HUD. */
+    private static final Color HUD_FILL = new Color(255, 255, 255, 180);
+
+    /** Kolor obramowania ramki HUD. */
+    private static final Color HUD_BORDER = new Color(0, 0, 0, 120);
+
+    /** Czcionka napisów HUD. */
+    private static final Font HUD_FONT = new Font("Arial", Font.BOLD, 14);
+
+    /** Maksymalna liczba prób narysowania klatki, gdy w trakcie przepada zawartość bufora. */
+    private static final int MAX_FRAME_ATTEMPTS = 3;
+
+    /** Co ile klatek przyrostowych sprawdzać na nowo, które obrazy są akcelerowane (ok. 5 s). */
+    private static final int ACCELERATION_REFRESH_FRAMES = 300;
+
+    /** Warstwowe tło planszy rysowane w każdej klatce gry. */
+    private final ParallaxBackground background =
+            ParallaxBackground.forLevel(SpriteRegistry.get(SpriteRegistry.BACKGROUND), PARALLAX);
+
+    /** Obraz pełnego serca wykorzystywany do rysowania życia w HUD. */
+    private final Image heartFull = SpriteRegistry.get(SpriteRegistry.HEART);
+
+    /** Szerokość i wysokość serca na HUD. */
+    private final int heartW, heartH;
+
+    /** Maksymalna liczba serc wyświetlanych na HUD. */
+    private final int maxHearts = 10;
+
+    /** Przeskalowane sprite'y obiektów planszy indeksowane rodzajem ({@link EntityKind}). */
+    private final BufferedImage[] kindSprites = new BufferedImage[EntityKind.COUNT];
+
+    /** Szerokości, do których przeskalowano {@link #kindSprites}. */
+    private final int[] kindSpriteW = new int[EntityKind.COUNT];
+
+    /** Wysokości, do których przeskalowano {@link #kindSprites}. */
+    private final int[] kindSpriteH = new int[EntityKind.COUNT];
+
+    /** Numer unieważnienia {@link ScaledImageCache}, z którego pochodzą {@link #kindSprites}. */
+    private int kindGeneration = -1;
+
+    /** Trwały bufor klatki (tryb przyrostowy). */
+    private final BackBuffer frame = new BackBuffer();
+
+    /** Uszkodzone prostokąty bieżącej klatki. */
+    private final DirtyRegions dirty = new DirtyRegions();
+
+    /** Prostokąty narysowane w poprzedniej klatce (x, y, w, h kolejno). */
+    private int[] drawnRects = new int[64];
+
+    /** Liczba prostokątów w {@link #drawnRects}. */
+    private int drawnCount;
+
+    /** Prostokąty bieżącej klatki (x, y, w, h kolejno); po klatce zamieniane z {@link #drawnRects}. */
+    private int[] currentRects = new int[64];
+
+    /** Liczba prostokątów w {@link #currentRects}. */
+    private int currentCount;
+
+    /** Wartości pokazane ostatnio na HUD: punkty, zdrowie, zebrane, wymagane. */
+    private final int[] hudShown = {-1, -1, -1, -1};
+
+    /**
+     * Gotowy obraz HUD (serca, ramka i napisy) – rysowany w każdej klatce jednym
+     * {@code drawImage}, a budowany od nowa tylko po zmianie wyświetlanych wartości.
+     */
+    private BufferedImage hudImage;
+
+    /** Wartości, z których zbudowano {@link #hudImage}: punkty, zdrowie, zebrane, wymagane. */
+    private final int[] hudCached = {-1, -1, -1, -1};
+
+    /** Numer unieważnienia {@link ScaledImageCache}, z którego pochodzi {@link #hudImage}. */
+    private int hudGeneration = -1;
+
+    /** Przesunięcia warstw tła narysowane w poprzedniej klatce trybu przyrostowego. */
+    private int[] layerOffsets = new int[0];
+
+    /** Pole (w pikselach) odświeżone w ostatniej klatce trybu przyrostowego. */
+    private long lastDirtyPixels;
+
+    /** Liczniki kopiowań sprite'ów, pasów tła, HUD i bufora klatki na ekran. */
+    private final BlitCounters blits = new BlitCounters();
+
+    /** Czy {@link #hudImage} był akcelerowany przy ostatnim sprawdzeniu. */
+    private boolean hudAccelerated;
+
+    /** Liczba klatek przyrostowych od ostatniego sprawdzenia akceleracji obrazów. */
+    private int framesSinceAccelerationCheck;
+
+    /**
+     * Tworzy renderer i wylicza rozmiar serc HUD na podstawie proporcji obrazu.
+     */
+    public WorldRenderer() {
+        int targetH = 24;
+        heartH = targetH;
+        if (heartFull != null) {
+            int originalW = heartFull.getWidth(null);
+            int originalH = heartFull.getHeight(null);
+            heartW = (int) ((double) originalW / originalH * targetH);
+        } else {
+            heartW = targetH;
+        }
+    }
+
+    /**
+     * Zwraca bufor klatki trybu przyrostowego (rodzaj bufora i liczba odtworzeń).
+     *
+     * @return bufor klatki
+     */
+    public BackBuffer getBackBuffer() {
+        return frame;
+    }
+
+    /**
+     * Zwraca liczniki kopiowań obrazów (do nakładki diagnostycznej).
+     *
+     * @return liczniki kopiowań
+     */
+    public BlitCounters getBlits() {
+        return blits;
+    }
+
+    /**
+     * Zwraca obraz tła (np. do unieważnienia jego przeskalowanych wersji po zmianie rozmiaru).
+     *
+     * @return obraz tła
+     */
+    public Image getBackgroundImage() {
+        return background.getSource();
+    }
+
+    /**
+     * Rysuje wszystkie elementy gry:
+     * tło, gracza, przeszkody, śmieci oraz HUD
+     * (punkty, postęp i serca życia).
+     *
+     * @param g obiekt graficzny do rysowania
+     * @param world stan poziomu
+     * @param w szerokość obszaru rysowania
+     * @param h wysokość obszaru rysowania
+     * @param alpha współczynnik interpolacji pozycji obiektów (0..1)
+     */
+    public void render(Graphics g, GameWorld world, int w, int h, double alpha) {
+        background.draw(g, world.getScroll(alpha), w, h, blits);
+        drawPlayer(g, world.getPlayer(), alpha);
+        drawEntities(g, world.getObstacles(), alpha);
+        drawEntities(g, world.getTrashItems(), alpha);
+        drawHud(g, world);
+    }
+
+    /**
+     * Rysuje klatkę przyrostowo: odświeża w trwałym buforze tylko uszkodzone prostokąty
+     * i tylko je kopiuje na ekran.
+     * <p>
+     * Uszkodzone są prostokąty gracza i obiektów z poprzedniej i bieżącej klatki, pasy warstw
+     * tła, które się przesunęły, oraz HUD, gdy zmieniły się punkty, zdrowie lub postęp zbierania. Cała klatka jest rysowana,
+     * gdy {@code full} jest ustawione (np. po odsłonięciu okna), zmienił się rozmiar,
+     * przepadła zawartość bufora klatki albo przesunęły się wszystkie pasy tła.
+     * </p>
+     *
+     * @param screen kontekst graficzny ekranu (płótna)
+     * @param world stan poziomu
+     * @param w szerokość obszaru rysowania
+     * @param h wysokość obszaru rysowania
+     * @param alpha współczynnik interpolacji pozycji obiektów (0..1)
+     * @param full czy odświeżyć całą klatkę
+     */
+    public void renderIncremental(Graphics screen, GameWorld world, int w, int h, double alpha, boolean full) {
+        if (w <= 0 || h <= 0) return;
+        GraphicsConfiguration gc = screen instanceof Graphics2D g2 ? g2.getDeviceConfiguration() : null;
+        if (frame.validate(gc, w, h)) {
+            full = true;
+        }
+        if (++framesSinceAccelerationCheck >= ACCELERATION_REFRESH_FRAMES) {
+            framesSinceAccelerationCheck = 0;
+            ScaledImageCache.refreshAcceleration(gc);
+            if (hudImage != null) hudAccelerated = ScaledImageCache.isAccelerated(hudImage, gc);
+        }
+
+        if (layerOffsets.length != background.layers()) {
+            layerOffsets = new int[background.layers()];
+            full = true;
+        }
+
+        double scroll = world.getScroll(alpha);
+        collectRects(world, alpha);
+        dirty.reset(w, h);
+        if (full) {
+            dirty.addAll();
+        } else {
+            int movedHeight = 0;
+            for (int i = 0; i < layerOffsets.length; i++) {
+                if (background.offset(i, scroll, w) != layerOffsets[i]) {
+                    dirty.add(0, background.bandTop(i, h), w, background.bandHeight(i, h));
+                    movedHeight += background.bandHeight(i, h);
+                }
+            }
+            if (movedHeight >= h) {
+                // przesunęły się wszystkie pasy – prostokąty obiektów i tak leżą w całej klatce
+                dirty.addAll();
+            } else {
+                addRects(drawnRects, drawnCount);
+                addRects(currentRects, currentCount);
+                if (hudChanged(world)) {
+                    dirty.add(HUD_X, hudTop(), hudWidth(), hudHeight());
+                }
+            }
+        }
+        rememberHud(world);
+        for (int i = 0; i < layerOffsets.length; i++) {
+            layerOffsets[i] = background.offset(i, scroll, w);
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            Graphics2D g = frame.graphics();
+            for (int r = 0; r < dirty.count(); r++) {
+                int rx = dirty.x(r), ry = dirty.y(r), rw = dirty.width(r), rh = dirty.height(r);
+                g.setClip(rx, ry, rw, rh);
+                background.draw(g, scroll, w, h, blits);
+                drawInClip(g, world, alpha, rx, ry, rw, rh);
+            }
+            g.setClip(null);
+
+            for (int r = 0; r < dirty.count(); r++) {
+                frame.copyTo(screen, dirty.x(r), dirty.y(r), dirty.width(r), dirty.height(r));
+                blits.record(BlitCounters.PRESENT, frame.isAccelerated());
+            }
+            if (!frame.contentsLost()) break;
+            if (attempt == MAX_FRAME_ATTEMPTS) {
+                // zawartość wciąż przepada – bufor zostanie utworzony od nowa w następnej klatce
+                frame.release();
+                break;
+            }
+            // na ekran mogły trafić nieokreślone piksele: odtwarzamy bufor i rysujemy całą klatkę
+            frame.validate(gc, w, h);
+            dirty.reset(w, h);
+            dirty.addAll();
+        }
+        lastDirtyPixels = dirty.area();
+
+        int[] t = drawnRects;
+        drawnRects = currentRects;
+        currentRects = t;
+        drawnCount = currentCount;
+    }
+
+    /**
+     * Rysuje w prostokącie przycięcia gracza, obiekty i HUD, które go przecinają.
+     *
+     * @param g kontekst bufora klatki (z ustawionym przycięciem)
+     * @param world stan poziomu
+     * @param alpha współczynnik interpolacji pozycji (0..1)
+     * @param rx pozycja X prostokąta
+     * @param ry pozycja Y prostokąta
+     * @param rw szerokość prostokąta
+     * @param rh wysokość prostokąta
+     */
+    private void drawInClip(Graphics2D g, GameWorld world, double alpha, int rx, int ry, int rw, int rh) {
+        // currentRects: najpierw gracz, potem przeszkody i odpady w kolejności magazynów
+        if (overlaps(currentRects, 0, rx, ry, rw, rh)) drawPlayer(g, world.getPlayer(), alpha);
+
+        int k = 1;
+        EntityStore obstacles = world.getObstacles();
+        for (int i = 0; i < obstacles.size(); i++, k++) {
+            if (overlaps(currentRects, k, rx, ry, rw, rh)) drawEntity(g, obstacles, i, alpha);
+        }
+        EntityStore trash = world.getTrashItems();
+        for (int i = 0; i < trash.size(); i++, k++) {
+            if (overlaps(currentRects, k, rx, ry, rw, rh)) drawEntity(g, trash, i, alpha);
+        }
+
+        if (Bounds.intersects(HUD_X, hudTop(), hudWidth(), hudHeight(), rx, ry, rw, rh)) {
+            drawHud(g, world);
+        }
+    }
+
+    /**
+     * Sprawdza, czy zapamiętany prostokąt o numerze {@code k} przecina obszar.
+     *
+     * @param rects tablica prostokątów (x, y, w, h kolejno)
+     * @param k numer prostokąta
+     * @param rx pozycja X obszaru
+     * @param ry pozycja Y obszaru
+     * @param rw szerokość obszaru
+     * @param rh wysokość obszaru
+     * @return true, jeśli się przecinają
+     */
+    private static boolean overlaps(int[] rects, int k, int rx, int ry, int rw, int rh) {
+        int o = k * 4;
+        return Bounds.intersects(rects[o], rects[o + 1], rects[o + 2], rects[o + 3], rx, ry, rw, rh);
+    }
+
+    /**
+     * Zapisuje do {@link #currentRects} prostokąty gracza i wszystkich obiektów w bieżącej klatce.
+     *
+     * @param world stan poziomu
+     * @param alpha współczynnik interpolacji pozycji (0..1)
+     */
+    private void collectRects(GameWorld world, double alpha) {
+        EntityStore obstacles = world.getObstacles();
+        EntityStore trash = world.getTrashItems();
+        int needed = (1 + obstacles.size() + trash.size()) * 4;
+        if (currentRects.length < needed) {
+            currentRects = Arrays.copyOf(currentRects, Integer.highestOneBit(needed) << 1);
+        }
+
+        Player p = world.getPlayer();
+        currentCount = 0;
+        putRect(p.drawX(alpha), p.drawY(alpha), p.getSize(), p.getSize());
+        for (int i = 0; i < obstacles.size(); i++) {
+            putRect(obstacles.drawX(i, alpha), obstacles.y(i), obstacles.width(i), obstacles.height(i));
+        }
+        for (int i = 0; i < trash.size(); i++) {
+            putRect(trash.drawX(i, alpha), trash.y(i), trash.width(i), trash.height(i));
+        }
+    }
+
+    /**
+     * Dopisuje prostokąt do {@link #currentRects}.
+     *
+     * @param x pozycja X
+     * @param y pozycja Y
+     * @param w szerokość
+     * @param h wysokość
+     */
+    private void putRect(int x, int y, int w, int h) {
+        int o = currentCount * 4;
+        currentRects[o] = x;
+        currentRects[o + 1] = y;
+        currentRects[o + 2] = w;
+        currentRects[o + 3] = h;
+        currentCount++;
+    }
+
+    /**
+     * Dodaje prostokąty z tablicy do uszkodzonych obszarów.
+     *
+     * @param rects tablica prostokątów (x, y, w, h kolejno)
+     * @param count liczba prostokątów
+     */
+    private void addRects(int[] rects, int count) {
+        for (int k = 0; k < count; k++) {
+            int o = k * 4;
+            dirty.add(rects[o], rects[o + 1], rects[o + 2], rects[o + 3]);
+        }
+    }
+
+    /**
+     * Sprawdza, czy wartości wyświetlane na HUD zmieniły się od ostatniej klatki.
+     *
+     * @param world stan poziomu
+     * @return true, jeśli HUD trzeba narysować ponownie
+     */
+    private boolean hudChanged(GameWorld world) {
+        return hudShown[0] != world.getScore() || hudShown[1] != world.getHealth()
+                || hudShown[2] != world.getCollectedTrash() || hudShown[3] != world.getTrashToCollect();
+    }
+
+    /**
+     * Zapamiętuje wartości wyświetlane na HUD.
+     *
+     * @param world stan poziomu
+     */
+    private void rememberHud(GameWorld world) {
+        hudShown[0] = world.getScore();
+        hudShown[1] = world.getHealth();
+        hudShown[2] = world.getCollectedTrash();
+        hudShown[3] = world.getTrashToCollect();
+    }
+
+    /**
+     * Zwraca górną krawędź HUD (wiersz serc nad ramką).
+     *
+     * @return pozycja Y
+     */
+    private int hudTop() {
+        return HUD_Y - heartH - 6;
+    }
+
+    /**
+     * Zwraca szerokość HUD – ramki albo pełnego wiersza serc, jeśli jest szerszy.
+     *
+     * @return szerokość w pikselach
+     */
+    private int hudWidth() {
+        return Math.max(HUD_W + 1, 10 + maxHearts * (heartW + 3));
+    }
+
+    /**
+     * Zwraca wysokość HUD – od wiersza serc do dolnej krawędzi ramki.
+     *
+     * @return wysokość w pikselach
+     */
+    private int hudHeight() {
+        return HUD_Y + HUD_H + 1 - hudTop();
+    }
+
+    /**
+     * Zwraca pole (w pikselach) odświeżone w ostatniej klatce trybu przyrostowego.
+     *
+     * @return pole w pikselach
+     */
+    public long getLastDirtyPixels() {
+        return lastDirtyPixels;
+    }
+
+    /**
+     * Rysuje HUD: ramkę z punktami i postępem oraz serca życia.
+     * Kopiuje gotowy obraz HUD, więc w klatkach bez zmian punktów, zdrowia
+     * i postępu nie alokuje niczego.
+     *
+     * @param g obiekt graficzny do rysowania
+     * @param world stan poziomu
+     */
+    void drawHud(Graphics g, GameWorld world) {
+        g.drawImage(hudImage(world), HUD_X, hudTop(), null);
+        blits.record(BlitCounters.HUD, hudAccelerated);
+    }
+
+    /**
+     * Zwraca obraz HUD, budując go od nowa, jeśli zmieniły się wyświetlane wartości
+     * albo unieważniono przeskalowane obrazy.
+     *
+     * @param world stan poziomu
+     * @return obraz HUD o rozmiarze {@link #hudWidth()} na {@link #hudHeight()}
+     */
+    private BufferedImage hudImage(GameWorld world) {
+        int score = world.getScore();
+        int health = world.getHealth();
+        int collected = world.getCollectedTrash();
+        int toCollect = world.getTrashToCollect();
+        int gen = ScaledImageCache.generation();
+        if (hudImage != null && hudGeneration == gen && hudCached[0] == score && hudCached[1] == health
+                && hudCached[2] == collected && hudCached[3] == toCollect) {
+            return hudImage;
+        }
+
+        if (hudImage == null) {
+            hudImage = ScaledImageCache.createCompatible(hudWidth(), hudHeight(), Transparency.TRANSLUCENT);
+            hudAccelerated = ScaledImageCache.isAccelerated(hudImage, ScaledImageCache.defaultConfiguration());
+        }
+        Graphics2D g = hudImage.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, hudImage.getWidth(), hudImage.getHeight());
+            g.setComposite(AlphaComposite.SrcOver);
+            // obraz zaczyna się na górze wiersza serc, a nie na ramce
+            g.translate(-HUD_X, -hudTop());
+            paintHud(g, score, health, collected, toCollect);
+        } finally {
+            g.dispose();
+        }
+
+        hudCached[0] = score;
+        hudCached[1] = health;
+        hudCached[2] = collected;
+        hudCached[3] = toCollect;
+        hudGeneration = gen;
+        return hudImage;
+    }
+
+    /**
+     * Rysuje elementy HUD w ich docelowych pozycjach ekranu.
+     *
+     * @param g obiekt graficzny do rysowania
+     * @param score punkty
+     * @param health punkty życia gracza
+     * @param collected liczba zebranych śmieci
+     * @param toCollect liczba śmieci wymaganych do ukończenia poziomu
+     */
+    private void paintHud(Graphics2D g, int score, int health, int collected, int toCollect) {
+        int hudX = HUD_X;
+        int hudY = HUD_Y;
+
+        g.setColor(HUD_FILL);
+        g.fillRoundRect(hudX, hudY, HUD_W, HUD_H, 15, 15);
+        g.setColor(HUD_BORDER);
+        g.drawRoundRect(hudX, hudY, HUD_W, HUD_H, 15, 15);
+
+        drawHearts(g, health, hudX, hudY);
+
+        g.setColor(Color.BLACK);
+        g.setFont(HUD_FONT);
+        int textBaseY = hudY + 20;
+        g.drawString("Punkty: " + score, hudX + 10, textBaseY);
+        g.drawString("Śmieci: " + collected + "/" + toCollect, hudX + 10, textBaseY + 18);
+    }
+
+    /**
+     * Rysuje gracza w pozycji interpolowanej i zlicza kopiowanie jego klatki animacji.
+     *
+     * @param g obiekt graficzny do rysowania
+     * @param player gracz
+     * @param alpha współczynnik interpolacji pozycji (0..1)
+     */
+    private void drawPlayer(Graphics g, Player player, double alpha) {
+        player.draw(g, alpha);
+        BufferedImage image = player.frameImage();
+        if (image != null) blits.record(BlitCounters.SPRITE, ScaledImageCache.isAccelerated(image));
+    }
+
+    /**
+     * Rysuje wszystkie obiekty magazynu w pozycjach interpolowanych między dwoma ostatnimi krokami.
+     *
+     * @param g obiekt graficzny do rysowania
+     * @param store magazyn obiektów
+     * @param alpha współczynnik interpolacji pozycji (0..1)
+     */
+    private void drawEntities(Graphics g, EntityStore store, double alpha) {
+        for (int i = 0; i < store.size(); i++) {
+            drawEntity(g, store, i, alpha);
+        }
+    }
+
+    /**
+     * Rysuje jeden obiekt magazynu w pozycji interpolowanej.
+     *
+     * @param g obiekt graficzny do rysowania
+     * @param store magazyn obiektów
+     * @param i indeks wiersza
+     * @param alpha współczynnik interpolacji pozycji (0..1)
+     */
+    private void drawEntity(Graphics g, EntityStore store, int i, double alpha) {
+        BufferedImage sprite = kindSprite(store.kind(i), store.width(i), store.height(i));
+        g.drawImage(sprite, store.drawX(i, alpha), store.y(i), null);
+        if (sprite != null) blits.record(BlitCounters.SPRITE, ScaledImageCache.isAccelerated(sprite));
+    }
+
+    /**
+     * Zwraca sprite rodzaju obiektu przeskalowany do podanego rozmiaru.
+     * Obrazy są zapamiętywane dla każdego rodzaju do czasu unieważnienia {@link ScaledImageCache}
+     * albo zmiany rozmiaru, więc kolejne klatki nie odpytują pamięci podręcznej.
+     *
+     * @param kind rodzaj obiektu ({@link EntityKind})
+     * @param w szerokość obiektu
+     * @param h wysokość obiektu
+     * @return przeskalowany obraz lub {@code null}, jeśli sprite jest niedostępny
+     */
+    private BufferedImage kindSprite(int kind, int w, int h) {
+        int gen = ScaledImageCache.generation();
+        if (kindGeneration != gen) {
+            Arrays.fill(kindSprites, null);
+            kindGeneration = gen;
+        }
+        BufferedImage sprite = kindSprites[kind];
+        if (sprite == null || kindSpriteW[kind] != w || kindSpriteH[kind] != h) {
+            sprite = ScaledImageCache.get(SpriteRegistry.get(EntityKind.sprite(kind)), w, h);
+            kindSprites[kind] = sprite;
+            kindSpriteW[kind] = w;
+            kindSpriteH[kind] = h;
+        }
+        return sprite;
+    }
+
+    /**
+     * Rysuje serca życia nad ramką HUD.
+     * Liczba serc zależy od wartości health (0–100 → 0–10 serc).
+     *
+     * @param g kontekst graficzny do rysowania
+     * @param health punkty życia gracza
+     * @param hudX pozycja X HUD
+     * @param hudY pozycja Y HUD
+     */
+    private void drawHearts(Graphics g, int health, int hudX, int hudY) {
+        // 100–91 → 10 serc, 90–81 → 9, itd.
+        int heartsToDraw = Math.min(maxHearts, (health + 9) / 10);
+
+        int spacing = 3;
+        int startX = hudX + 10;
+        int y = hudY - heartH - 6;
+
+        Image heart = ScaledImageCache.get(heartFull, heartW, heartH);
+        for (int i = 0; i < heartsToDraw; i++) {
+            int x = startX + i * (heartW + spacing);
+            g.drawImage(heart, x, y, null);
+        }
+    }
+}